@@ -0,0 +1,173 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generators for synthetic, but representative, configuration data.
+ *
+ * <p>Generated trees are shaped like a typical application configuration: a
+ * small section of general settings, followed by a large list of records that
+ * each contain a mix of scalar types, a short list, and a nested map.</p>
+ */
+public final class ConfigData {
+
+    /**
+     * Approximate serialized size, in bytes, of one generated record.
+     */
+    private static final int APPROX_RECORD_SIZE = 240;
+
+    private static final String[] TAGS = {"common", "rare", "epic", "legendary", "consumable", "tool", "weapon", "armour"};
+
+    private ConfigData() {
+    }
+
+    /**
+     * Get the number of records needed to produce a document of
+     * roughly {@code targetBytes} bytes.
+     *
+     * @param targetBytes target size
+     * @return record count
+     */
+    static int recordCount(final int targetBytes) {
+        return Math.max(1, targetBytes / APPROX_RECORD_SIZE);
+    }
+
+    /**
+     * Create a tree that will be roughly {@code targetBytes} large once
+     * serialized as JSON.
+     *
+     * @param targetBytes target size
+     * @return a new node tree
+     */
+    static BasicConfigurationNode tree(final int targetBytes) {
+        try {
+            final BasicConfigurationNode root = BasicConfigurationNode.root();
+            root.node("catalog").set(Catalog.class, catalog(recordCount(targetBytes)));
+            return root;
+        } catch (final SerializationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Create a catalog object with a fixed number of records.
+     *
+     * @param records the number of records
+     * @return a new catalog
+     */
+    static Catalog catalog(final int records) {
+        final Random random = new Random(records); // deterministic across runs
+        final Catalog catalog = new Catalog();
+        catalog.name = "benchmark-catalog";
+        catalog.version = 3;
+        catalog.items = new ArrayList<>(records);
+        for (int i = 0; i < records; ++i) {
+            final Item item = new Item();
+            item.id = "item-" + i;
+            item.displayName = "Generated item number " + i;
+            item.enabled = random.nextBoolean();
+            item.weight = random.nextDouble() * 100;
+            item.stock = random.nextInt(10_000);
+            item.tags = Arrays.asList(TAGS[random.nextInt(TAGS.length)], TAGS[random.nextInt(TAGS.length)]);
+            item.limits = new Limits();
+            item.limits.min = random.nextInt(10);
+            item.limits.max = 10 + random.nextInt(1000);
+            catalog.items.add(item);
+        }
+        return catalog;
+    }
+
+    /**
+     * Paths into a tree produced by {@link #tree(int)}, used for lookups.
+     *
+     * @param node the root node
+     * @param count the number of paths to produce
+     * @return paths that exist in the tree
+     */
+    static Object[][] existingPaths(final ConfigurationNode node, final int count) {
+        final int items = node.node("catalog", "items").childrenList().size();
+        final Object[][] paths = new Object[count][];
+        for (int i = 0; i < count; ++i) {
+            paths[i] = new Object[] {"catalog", "items", (i * 31) % items, "limits", "max"};
+        }
+        return paths;
+    }
+
+    @ConfigSerializable
+    public static class Catalog {
+        String name = "";
+        int version;
+        List<Item> items = new ArrayList<>();
+    }
+
+    @ConfigSerializable
+    public static class Item {
+        String id = "";
+        String displayName = "";
+        boolean enabled;
+        double weight;
+        int stock;
+        List<String> tags = new ArrayList<>();
+        Limits limits = new Limits();
+    }
+
+    @ConfigSerializable
+    public static class Limits {
+        int min;
+        int max;
+    }
+
+    /**
+     * A writer that discards all output, so save benchmarks only measure
+     * the cost of serialization.
+     */
+    static final class DiscardingWriter extends Writer {
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) {
+        }
+
+        @Override
+        public void write(final int c) {
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
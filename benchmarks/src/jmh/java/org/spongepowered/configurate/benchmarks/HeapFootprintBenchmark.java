@@ -0,0 +1,92 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+
+/**
+ * Measures the heap retained by a large node tree.
+ *
+ * <p>Each invocation builds a tree of {@code width * width} scalar nodes
+ * under {@code width} map nodes, then reports the heap retained by the tree
+ * after a full collection as the {@code retainedBytes} and
+ * {@code bytesPerNode} secondary results. The timing is not meaningful, since
+ * it includes the forced collections.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class HeapFootprintBenchmark {
+
+    private static final int GC_ROUNDS = 4;
+
+    /**
+     * Number of children per level, for a tree of {@code width * width} leaves.
+     */
+    @Param({"1000"})
+    public int width;
+
+    /**
+     * Footprint results, reported alongside the benchmark timing.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedBytes;
+        public long bytesPerNode;
+
+    }
+
+    @Benchmark
+    public BasicConfigurationNode retained(final Footprint footprint) {
+        final long before = usedHeap();
+        final BasicConfigurationNode root = BasicConfigurationNode.root();
+        for (int i = 0; i < this.width; i++) {
+            final BasicConfigurationNode section = root.node("section-" + i);
+            for (int j = 0; j < this.width; j++) {
+                section.node("key-" + j).raw(j);
+            }
+        }
+        final long retained = usedHeap() - before;
+        final long nodes = (long) this.width * this.width + this.width + 1;
+        footprint.retainedBytes = retained;
+        footprint.bytesPerNode = retained / nodes;
+        return root; // keeps the tree reachable until measured
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.gson.GsonConfigurationLoader;
+import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
+import org.spongepowered.configurate.jackson.JacksonConfigurationLoader;
+import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
+import org.spongepowered.configurate.xml.XmlConfigurationLoader;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks for loading and saving documents with each format loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoaderBenchmark {
+
+    /**
+     * Formats under test.
+     */
+    public enum Format {
+        GSON(GsonConfigurationLoader::builder),
+        JACKSON(JacksonConfigurationLoader::builder),
+        HOCON(HoconConfigurationLoader::builder),
+        YAML(YamlConfigurationLoader::builder),
+        XML(XmlConfigurationLoader::builder);
+
+        private final Supplier<? extends AbstractConfigurationLoader.Builder<?, ?>> builder;
+
+        Format(final Supplier<? extends AbstractConfigurationLoader.Builder<?, ?>> builder) {
+            this.builder = builder;
+        }
+
+        AbstractConfigurationLoader.Builder<?, ?> builder() {
+            return this.builder.get();
+        }
+    }
+
+    @Param
+    public Format format;
+
+    /**
+     * Approximate size of the input document, in bytes.
+     */
+    @Param({"1024", "1048576", "52428800"})
+    public int size;
+
+    private AbstractConfigurationLoader<?> loader;
+    private ConfigurationNode loaded;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        final String document = this.format.builder().buildAndSaveString(ConfigData.tree(this.size));
+        this.loader = this.format.builder()
+            .source(() -> new BufferedReader(new StringReader(document)))
+            .sink(() -> new BufferedWriter(new ConfigData.DiscardingWriter()))
+            .build();
+        this.loaded = this.loader.load();
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+    @Benchmark
+    public void save() throws ConfigurateException {
+        this.loader.save(this.loaded);
+    }
+
+}
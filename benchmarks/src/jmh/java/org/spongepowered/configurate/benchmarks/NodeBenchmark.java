@@ -0,0 +1,138 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodeAccessor;
+import org.spongepowered.configurate.NodePath;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for operations on the node tree itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeBenchmark {
+
+    private static final int PATH_COUNT = 64;
+    private static final TypeToken<List<String>> STRING_LIST = new TypeToken<List<String>>() {};
+    private static final NodeAccessor<Integer> STOCK = NodeAccessor.of(NodePath.path("catalog", "items", 0, "stock"), Integer.class);
+
+    /**
+     * Approximate size of the generated tree when serialized, in bytes.
+     */
+    @Param({"1024", "1048576", "52428800"})
+    public int size;
+
+    private BasicConfigurationNode tree;
+    private BasicConfigurationNode defaults;
+    private Object[][] paths;
+    private ConfigurationNode leaf;
+    private ConfigurationNode tags;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        this.tree = ConfigData.tree(this.size);
+        // a tree with the same shape, as would be merged in from defaults
+        this.defaults = ConfigData.tree(1024);
+        this.paths = ConfigData.existingPaths(this.tree, PATH_COUNT);
+        this.leaf = this.tree.node("catalog", "items", 0, "stock");
+        this.tags = this.tree.node("catalog", "items", 0, "tags");
+    }
+
+    @Benchmark
+    public void nodeExisting(final Blackhole hole) {
+        for (final Object[] path : this.paths) {
+            hole.consume(this.tree.node(path));
+        }
+    }
+
+    @Benchmark
+    public void nodeMissing(final Blackhole hole) {
+        for (final Object[] path : this.paths) {
+            hole.consume(this.tree.node(path).node("absent", "child").getString());
+        }
+    }
+
+    @Benchmark
+    public void peekMissing(final Blackhole hole) {
+        for (final Object[] path : this.paths) {
+            final @Nullable ConfigurationNode node = this.tree.node(path).peek("absent", "child");
+            hole.consume(node == null ? null : node.getString());
+        }
+    }
+
+    @Benchmark
+    public @Nullable Integer getScalar() throws SerializationException {
+        return this.leaf.get(Integer.class);
+    }
+
+    @Benchmark
+    public @Nullable Integer getScalarAccessor() throws SerializationException {
+        return STOCK.get(this.tree);
+    }
+
+    @Benchmark
+    public @Nullable List<String> getList() throws SerializationException {
+        return this.tags.get(STRING_LIST);
+    }
+
+    @Benchmark
+    public ConfigurationNode setScalar() throws SerializationException {
+        return this.leaf.set(this.counter++);
+    }
+
+    @Benchmark
+    public ConfigurationNode copy() {
+        return this.tree.copy();
+    }
+
+    @Benchmark
+    public ConfigurationNode mergeIntoEmpty() {
+        return BasicConfigurationNode.root().mergeFrom(this.tree);
+    }
+
+    @Benchmark
+    public ConfigurationNode mergeDefaults() {
+        // once applied, merging defaults is mostly comparisons against existing values
+        return this.tree.mergeFrom(this.defaults);
+    }
+
+}
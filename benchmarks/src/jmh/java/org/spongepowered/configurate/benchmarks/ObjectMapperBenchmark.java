@@ -0,0 +1,85 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for loading and saving objects with the object mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ObjectMapperBenchmark {
+
+    /**
+     * Approximate size of the mapped data when serialized, in bytes.
+     */
+    @Param({"1024", "1048576", "52428800"})
+    public int size;
+
+    private ObjectMapper<ConfigData.Catalog> mapper;
+    private ConfigData.Catalog catalog;
+    private ConfigurationNode node;
+
+    @Setup
+    public void setup() throws SerializationException {
+        this.mapper = ObjectMapper.factory().get(ConfigData.Catalog.class);
+        this.catalog = ConfigData.catalog(ConfigData.recordCount(this.size));
+        this.node = BasicConfigurationNode.root();
+        this.mapper.save(this.catalog, this.node);
+    }
+
+    @Benchmark
+    public ConfigData.Catalog load() throws SerializationException {
+        return this.mapper.load(this.node);
+    }
+
+    @Benchmark
+    public ConfigurationNode save() throws SerializationException {
+        final ConfigurationNode target = BasicConfigurationNode.root();
+        this.mapper.save(this.catalog, target);
+        return target;
+    }
+
+    @Benchmark
+    public ConfigurationNode saveExisting() throws SerializationException {
+        // overwrite the already-populated tree, as happens when a config is saved back
+        this.mapper.save(this.catalog, this.node);
+        return this.node;
+    }
+
+}
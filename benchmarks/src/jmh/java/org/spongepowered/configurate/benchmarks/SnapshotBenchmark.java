@@ -0,0 +1,102 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.binary.BinaryConfigurationLoader;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a binary snapshot against loading the same document from
+ * the text formats it would be compiled from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    /**
+     * Formats the document is loaded from.
+     */
+    public enum Source {
+        BINARY,
+        HOCON,
+        YAML,
+        JACKSON
+    }
+
+    @Param
+    public Source source;
+
+    /**
+     * Approximate size of the document as JSON, in bytes.
+     */
+    @Param({"1024", "1048576", "52428800"})
+    public int size;
+
+    private ConfigurationLoader<?> loader;
+
+    @Setup
+    public void setup() throws ConfigurateException {
+        final BasicConfigurationNode tree = ConfigData.tree(this.size);
+        if (this.source == Source.BINARY) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            BinaryConfigurationLoader.builder()
+                .sink(() -> output)
+                .build()
+                .save(tree);
+            final byte[] snapshot = output.toByteArray();
+            this.loader = BinaryConfigurationLoader.builder()
+                .source(() -> new ByteArrayInputStream(snapshot))
+                .build();
+        } else {
+            final LoaderBenchmark.Format format = LoaderBenchmark.Format.valueOf(this.source.name());
+            final String document = format.builder().buildAndSaveString(tree);
+            this.loader = format.builder()
+                .source(() -> new BufferedReader(new StringReader(document)))
+                .build();
+        }
+    }
+
+    @Benchmark
+    public ConfigurationNode load() throws ConfigurateException {
+        return this.loader.load();
+    }
+
+}
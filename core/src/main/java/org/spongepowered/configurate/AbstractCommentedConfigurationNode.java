@@ -48,6 +48,7 @@ abstract class AbstractCommentedConfigurationNode<N extends CommentedConfigurati
     public N comment(final @Nullable String comment) {
         if (!Objects.equals(COMMENT_UPDATER.getAndSet(this, comment), comment)) {
             attachIfNecessary();
+            this.modified();
         }
         return self();
     }
@@ -56,6 +57,7 @@ abstract class AbstractCommentedConfigurationNode<N extends CommentedConfigurati
     public N commentIfAbsent(final String comment) {
         if (COMMENT_UPDATER.compareAndSet(this, null, comment)) {
             attachIfNecessary();
+            this.modified();
         }
         return self();
     }
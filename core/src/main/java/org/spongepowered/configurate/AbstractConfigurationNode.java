@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
 /**
@@ -45,6 +46,18 @@ import java.util.function.Supplier;
 abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>>
         implements ScopedConfigurationNode<N> {
 
+    /**
+     * Shared hints storage for nodes that have no hints set.
+     *
+     * <p>Most nodes never have hints applied, so the backing map is only
+     * allocated on the first write.</p>
+     */
+    private static final Map<RepresentationHint<?>, Object> NO_HINTS = Collections.emptyMap();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final AtomicReferenceFieldUpdater<AbstractConfigurationNode, Map> HINTS_HANDLE =
+        AtomicReferenceFieldUpdater.newUpdater(AbstractConfigurationNode.class, Map.class, "hints");
+
     /**
      * The options determining the behaviour of this node.
      */
@@ -75,8 +88,15 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     /**
      * Storage for representation hints.
+     *
+     * <p>This is {@link #NO_HINTS} until a hint is first set.</p>
+     */
+    volatile Map<RepresentationHint<?>, Object> hints;
+
+    /**
+     * Modification counter, shared between every node in a tree.
      */
-    final Map<RepresentationHint<?>, Object> hints;
+    final Version version;
 
     protected AbstractConfigurationNode(final @Nullable Object key, final @Nullable A parent, final ConfigurationOptions options) {
         requireNonNull(options, "options");
@@ -87,8 +107,9 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         this.key = key;
         this.options = options;
         this.parent = parent;
+        this.version = parent == null ? new Version() : parent.version;
         this.value = NullConfigValue.instance();
-        this.hints = new ConcurrentHashMap<>();
+        this.hints = NO_HINTS;
 
         // if the parent is null, this node is a root node, and is therefore "attached"
         if (parent == null) {
@@ -101,8 +122,11 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         this.attached = true; // copies are always attached
         this.key = copyOf.key;
         this.parent = parent;
+        // must be set before copying children, which share it
+        this.version = parent == null ? new Version() : parent.version;
         this.value = copyOf.value.copy(this.implSelf());
-        this.hints = new ConcurrentHashMap<>(copyOf.hints);
+        final Map<RepresentationHint<?>, Object> hints = copyOf.hints;
+        this.hints = hints.isEmpty() ? NO_HINTS : new ConcurrentHashMap<>(hints);
     }
 
     /**
@@ -214,7 +238,20 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             throw new SerializationException(this, type, "Raw types are not supported");
         }
 
-        final @Nullable TypeSerializer<?> serial = this.options().serializers().get(type);
+        return this.get0(type, this.options().serializers().get(type), doImplicitInit);
+    }
+
+    /**
+     * Get a value from this node using an already resolved serializer.
+     *
+     * @param type the value type, known to have all type parameters
+     * @param serial the serializer for {@code type} from this node's options
+     * @param doImplicitInit whether to initialize empty values
+     * @return the deserialized value, if any
+     * @throws SerializationException if the value could not be deserialized
+     */
+    final @Nullable Object get0(final AnnotatedType type, final @Nullable TypeSerializer<?> serial,
+            final boolean doImplicitInit) throws SerializationException {
         if (this.value instanceof NullConfigValue) {
             if (serial != null && doImplicitInit && this.options().implicitInitialization()) {
                 final @Nullable Object emptyValue = serial.emptyValue(type, this.options);
@@ -274,8 +311,8 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             return this.self();
         }
 
-        this.hints.clear();
-        this.hints.putAll(that.ownHints());
+        final Map<RepresentationHint<?>, ?> otherHints = that.ownHints();
+        this.hints = otherHints.isEmpty() ? NO_HINTS : new ConcurrentHashMap<>(otherHints);
         if (that.isList()) {
             // handle list
             this.attachIfNecessary();
@@ -290,6 +327,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 }
             }
             this.value = newList;
+            this.modified();
         } else if (that.isMap()) {
             // handle map
             this.attachIfNecessary();
@@ -303,6 +341,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 }
             }
             this.value = newMap;
+            this.modified();
         } else {
             // handle scalar/null
             this.raw(that.raw());
@@ -343,14 +382,15 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 if (!(value instanceof MapConfigValue)) {
                     value = new MapConfigValue<>(this.implSelf());
                 }
-            } else if (!(value instanceof ScalarConfigValue)) {
-                value = new ScalarConfigValue<>(this.implSelf());
+            } else if (!(value instanceof ScalarConfigValue) || !((ScalarConfigValue<N, A>) value).canHold(newValue)) {
+                value = ScalarConfigValue.forValue(this.implSelf(), newValue);
             }
 
             // insert the data into the config value
             value.set(newValue);
             this.value = value;
         }
+        this.modified();
     }
 
     @Override
@@ -360,8 +400,11 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             return this.from(other);
         }
 
-        this.hints.putAll(other.ownHints());
+        for (final Map.Entry<RepresentationHint<?>, ?> hint : other.ownHints().entrySet()) {
+            this.putHint(hint.getKey(), hint.getValue());
+        }
         if (other.isMap()) {
+            boolean changed = false;
             final ConfigValue<N, A> oldValue;
             ConfigValue<N, A> newValue;
             synchronized (this) {
@@ -371,6 +414,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                 if (!(oldValue instanceof MapConfigValue)) {
                     if (oldValue instanceof NullConfigValue) {
                         newValue = new MapConfigValue<>(this.implSelf());
+                        changed = true;
                     } else {
                         return this.self();
                     }
@@ -384,6 +428,12 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                         continue;
                     }
 
+                    if (currentChild != null) {
+                        // merging into an existing child records its own changes
+                        currentChild.mergeFrom(ent.getValue());
+                        continue;
+                    }
+
                     // create a new child node for the value
                     final A newChild = this.createNode(ent.getKey());
                     newChild.attached = true;
@@ -393,10 +443,15 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
                     // if an existing value was present, attempt to merge the new value into it
                     if (existing != null) {
                         existing.mergeFrom(newChild);
+                    } else {
+                        changed = true;
                     }
                 }
                 this.value = newValue;
             }
+            if (changed) {
+                this.modified();
+            }
         } else if (other.isList()) {
             if (this.virtual()) {
                 this.from(other);
@@ -430,6 +485,119 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         return this.self();
     }
 
+    @Override
+    public final N rawInt(final int value) {
+        this.attachIfNecessary();
+        synchronized (this) {
+            final ConfigValue<N, A> existing = this.value;
+            if (existing instanceof ScalarConfigValue.OfInt<?, ?>) {
+                ((ScalarConfigValue.OfInt<N, A>) existing).setInt(value);
+            } else {
+                final ScalarConfigValue.OfInt<N, A> newValue = new ScalarConfigValue.OfInt<>(this.implSelf());
+                newValue.setInt(value);
+                this.value = newValue;
+            }
+        }
+        this.modified();
+        return this.self();
+    }
+
+    @Override
+    public final N rawLong(final long value) {
+        this.attachIfNecessary();
+        synchronized (this) {
+            final ConfigValue<N, A> existing = this.value;
+            if (existing instanceof ScalarConfigValue.OfLong<?, ?>) {
+                ((ScalarConfigValue.OfLong<N, A>) existing).setLong(value);
+            } else {
+                final ScalarConfigValue.OfLong<N, A> newValue = new ScalarConfigValue.OfLong<>(this.implSelf());
+                newValue.setLong(value);
+                this.value = newValue;
+            }
+        }
+        this.modified();
+        return this.self();
+    }
+
+    @Override
+    public final N rawDouble(final double value) {
+        this.attachIfNecessary();
+        synchronized (this) {
+            final ConfigValue<N, A> existing = this.value;
+            if (existing instanceof ScalarConfigValue.OfDouble<?, ?>) {
+                ((ScalarConfigValue.OfDouble<N, A>) existing).setDouble(value);
+            } else {
+                final ScalarConfigValue.OfDouble<N, A> newValue = new ScalarConfigValue.OfDouble<>(this.implSelf());
+                newValue.setDouble(value);
+                this.value = newValue;
+            }
+        }
+        this.modified();
+        return this.self();
+    }
+
+    @Override
+    public final N rawBoolean(final boolean value) {
+        this.attachIfNecessary();
+        synchronized (this) {
+            final ConfigValue<N, A> existing = this.value;
+            if (existing instanceof ScalarConfigValue.OfBoolean<?, ?>) {
+                ((ScalarConfigValue.OfBoolean<N, A>) existing).setBoolean(value);
+            } else {
+                final ScalarConfigValue.OfBoolean<N, A> newValue = new ScalarConfigValue.OfBoolean<>(this.implSelf());
+                newValue.setBoolean(value);
+                this.value = newValue;
+            }
+        }
+        this.modified();
+        return this.self();
+    }
+
+    // Unboxed fast paths for values held by primitive scalars, falling back to
+    // coercion through Scalars for anything else
+
+    @Override
+    public final int getInt(final int def) { // @cs-: NoGetSetPrefix (not a bean method)
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ScalarConfigValue.OfInt<?, ?>) {
+            return ((ScalarConfigValue.OfInt<?, ?>) value).intValue();
+        }
+        return ScopedConfigurationNode.super.getInt(def);
+    }
+
+    @Override
+    public final long getLong(final long def) { // @cs-: NoGetSetPrefix (not a bean method)
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ScalarConfigValue.OfLong<?, ?>) {
+            return ((ScalarConfigValue.OfLong<?, ?>) value).longValue();
+        } else if (value instanceof ScalarConfigValue.OfInt<?, ?>) {
+            return ((ScalarConfigValue.OfInt<?, ?>) value).intValue();
+        }
+        return ScopedConfigurationNode.super.getLong(def);
+    }
+
+    @Override
+    public final double getDouble(final double def) { // @cs-: NoGetSetPrefix (not a bean method)
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ScalarConfigValue.OfDouble<?, ?>) {
+            return ((ScalarConfigValue.OfDouble<?, ?>) value).doubleValue();
+        } else if (value instanceof ScalarConfigValue.OfInt<?, ?>) {
+            return ((ScalarConfigValue.OfInt<?, ?>) value).intValue();
+        } else if (value instanceof ScalarConfigValue.OfLong<?, ?>) {
+            return ((ScalarConfigValue.OfLong<?, ?>) value).longValue();
+        }
+        return ScopedConfigurationNode.super.getDouble(def);
+    }
+
+    @Override
+    public final boolean getBoolean(final boolean def) { // @cs-: NoGetSetPrefix (not a bean method)
+        final ConfigValue<N, A> value = this.value;
+        if (value instanceof ScalarConfigValue.OfBoolean<?, ?>) {
+            return ((ScalarConfigValue.OfBoolean<?, ?>) value).booleanValue();
+        }
+        return ScopedConfigurationNode.super.getBoolean(def);
+    }
+
     @Override
     public final @Nullable Object rawScalar() {
         final ConfigValue<N, A> value = this.value;
@@ -459,29 +627,39 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
     }
 
     @Override
-    public final boolean hasChild(final Object... path) {
+    public final @Nullable N peek(final Object... path) {
         A pointer = this.implSelf();
         for (final Object el : path) {
             final @Nullable A child = pointer.value.child(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
             if (child == null) {
-                return false;
+                return null;
             }
             pointer = child;
         }
-        return true;
+        return pointer.self();
     }
 
     @Override
-    public final boolean hasChild(final Iterable<?> path) {
+    public final @Nullable N peek(final Iterable<?> path) {
         A pointer = this.implSelf();
         for (final Object el : path) {
             final @Nullable A child = pointer.value.child(requireNonNull(el, () -> "element in path " + path));
             if (child == null) {
-                return false;
+                return null;
             }
             pointer = child;
         }
-        return true;
+        return pointer.self();
+    }
+
+    @Override
+    public final boolean hasChild(final Object... path) {
+        return this.peek(path) != null;
+    }
+
+    @Override
+    public final boolean hasChild(final Iterable<?> path) {
+        return this.peek(path) != null;
     }
 
     @Override
@@ -554,7 +732,11 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     @Override
     public final boolean removeChild(final Object key) {
-        return detachIfNonNull(this.value.putChild(key, null)) != null;
+        if (detachIfNonNull(this.value.putChild(key, null)) != null) {
+            this.modified();
+            return true;
+        }
+        return false;
     }
 
     private static <N extends ScopedConfigurationNode<N>, T extends AbstractConfigurationNode<N, T>>
@@ -573,6 +755,55 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
         return this.child(ListConfigValue.UNALLOCATED_IDX, false).self();
     }
 
+    /**
+     * Insert a new child at {@code index} of this list node, moving the
+     * children after it back by one.
+     *
+     * <p>When this node is not a list, or {@code index} is past its last
+     * child, this is the same as {@link #node(Object...)}.</p>
+     *
+     * @param index the index to insert at
+     * @return the new child
+     */
+    final N insertListNode(final int index) {
+        final ConfigValue<N, A> value = this.value;
+        if (!(value instanceof ListConfigValue) || index < 0 || index >= ((ListConfigValue<N, A>) value).values.size()) {
+            return this.child(index, false).self();
+        }
+
+        this.attachIfNecessary();
+        final A child = this.createNode(index);
+        ((ListConfigValue<N, A>) value).insertChild(index, child);
+        child.attached = true;
+        this.modified();
+        return child.self();
+    }
+
+    @Override
+    public final long version() {
+        return this.version.count;
+    }
+
+    /**
+     * Record a change to the value or structure of this node's tree.
+     */
+    @SuppressWarnings("NonAtomicVolatileUpdate") // trees are not safe for concurrent writes, see version()
+    final void modified() {
+        this.version.count++;
+    }
+
+    /**
+     * A tree's modification counter.
+     *
+     * <p>It is incremented without compare-and-set, so writes to different
+     * nodes of a tree do not contend for it.</p>
+     */
+    static final class Version {
+
+        volatile long count;
+
+    }
+
     @Override
     public final @Nullable Object key() {
         return this.key;
@@ -708,6 +939,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             oldValue.clear();
         }
         child.attached = true;
+        this.modified();
         return child;
     }
 
@@ -717,6 +949,7 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
             this.value = NullConfigValue.instance();
             oldValue.clear();
         }
+        this.modified();
     }
 
     @Override
@@ -779,13 +1012,43 @@ abstract class AbstractConfigurationNode<N extends ScopedConfigurationNode<N>, A
 
     @Override
     public final <V> N hint(final RepresentationHint<V> hint, final @Nullable V value) {
+        this.putHint(hint, value);
+        return this.self();
+    }
+
+    private void putHint(final RepresentationHint<?> hint, final @Nullable Object value) {
+        final @Nullable Object previous;
         if (value == null) {
-            this.hints.remove(hint);
+            previous = this.hints.remove(hint); // no-op on the shared empty map
         } else {
-            this.hints.put(hint, value);
+            previous = this.writableHints().put(hint, value);
         }
 
-        return this.self();
+        // hints change how a node is rendered
+        if (!Objects.equals(previous, value)) {
+            this.modified();
+        }
+    }
+
+    /**
+     * Get hints storage that can be modified, allocating it if necessary.
+     *
+     * @return the hints map for this node
+     */
+    @SuppressWarnings("unchecked")
+    private Map<RepresentationHint<?>, Object> writableHints() {
+        final Map<RepresentationHint<?>, Object> existing = this.hints;
+        if (existing != NO_HINTS) {
+            return existing;
+        }
+
+        final Map<RepresentationHint<?>, Object> created = new ConcurrentHashMap<>();
+        if (HINTS_HANDLE.compareAndSet(this, NO_HINTS, created)) {
+            return created;
+        } else {
+            // lost a race with another writer, use their map
+            return this.hints;
+        }
     }
 
     @SuppressWarnings("unchecked")
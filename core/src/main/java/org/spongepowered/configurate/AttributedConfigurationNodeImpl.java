@@ -56,7 +56,10 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
             throw new IllegalArgumentException("Tag name cannot be null/empty");
         }
 
-        this.tagName = tagName;
+        if (!tagName.equals(this.tagName)) {
+            this.tagName = tagName;
+            this.modified();
+        }
         return this;
     }
 
@@ -66,13 +69,17 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
             throw new IllegalArgumentException("Attribute name cannot be null/empty");
         }
         attachIfNecessary();
-        this.attributes.put(name, value);
+        if (!value.equals(this.attributes.put(name, value))) {
+            this.modified();
+        }
         return this;
     }
 
     @Override
     public AttributedConfigurationNodeImpl removeAttribute(final String name) {
-        this.attributes.remove(name);
+        if (this.attributes.remove(name) != null) {
+            this.modified();
+        }
         return this;
     }
 
@@ -83,11 +90,15 @@ class AttributedConfigurationNodeImpl extends AbstractCommentedConfigurationNode
                 throw new IllegalArgumentException("Attribute name cannot be null/empty");
             }
         }
+        if (this.attributes.equals(attributes)) {
+            return this;
+        }
         this.attributes.clear();
         if (!attributes.isEmpty()) {
             attachIfNecessary();
             this.attributes.putAll(attributes);
         }
+        this.modified();
         return this;
     }
 
@@ -183,6 +183,38 @@ public interface ConfigurationNode {
      */
     boolean hasChild(Iterable<?> path);
 
+    /**
+     * Gets the node at the given (relative) path only if it already exists.
+     *
+     * <p>Unlike {@link #node(Object...)}, no virtual nodes are created for
+     * missing path elements, so this is the preferred way to read from paths
+     * that are usually absent. If the path is empty, this node is returned.</p>
+     *
+     * @param path the path to fetch the node at
+     * @return the existing node at the given path, or {@code null} if any
+     *     element of the path is not present
+     * @since 4.2.0
+     */
+    default @Nullable ConfigurationNode peek(final Object... path) {
+        return this.hasChild(path) ? this.node(path) : null;
+    }
+
+    /**
+     * Gets the node at the given (relative) path only if it already exists.
+     *
+     * <p>Unlike {@link #node(Iterable)}, no virtual nodes are created for
+     * missing path elements, so this is the preferred way to read from paths
+     * that are usually absent. If the path is empty, this node is returned.</p>
+     *
+     * @param path the path to fetch the node at
+     * @return the existing node at the given path, or {@code null} if any
+     *     element of the path is not present
+     * @since 4.2.0
+     */
+    default @Nullable ConfigurationNode peek(final Iterable<?> path) {
+        return this.hasChild(path) ? this.node(path) : null;
+    }
+
     /**
      * Gets if this node is virtual.
      *
@@ -205,6 +237,35 @@ public interface ConfigurationNode {
      */
     ConfigurationOptions options();
 
+    /**
+     * Get the modification count of the tree this node belongs to.
+     *
+     * <p>Every node in a tree shares the same counter, which increases
+     * whenever a value is set or removed, a node is attached, or a comment,
+     * attribute or representation hint changes anywhere in the tree. Writes
+     * that leave the tree as it was may not change the version. If two
+     * calls return the same version, the tree has not changed
+     * in between, making this a constant-time staleness check for values
+     * computed from the tree.</p>
+     *
+     * <p>Versions are only comparable between nodes of the same tree. Copies
+     * of a node start a new tree with an independent counter, and creating
+     * virtual nodes does not modify a tree until they are attached.</p>
+     *
+     * <p>The counter is not updated atomically, so it is only reliable while
+     * a tree is modified by one thread at a time.</p>
+     *
+     * <p>Implementations that do not track modifications return {@code -1},
+     * and callers must then assume the tree may have changed.</p>
+     *
+     * @return the current version of this node's tree, or {@code -1} if
+     *     modifications are not tracked
+     * @since 4.2.0
+     */
+    default long version() {
+        return -1;
+    }
+
     /**
      * Get if this node has a 'null' value.
      *
@@ -1179,6 +1240,57 @@ public interface ConfigurationNode {
      */
     ConfigurationNode raw(@Nullable Object value);
 
+    /**
+     * Set the raw value of this node to an {@code int}.
+     *
+     * <p>This is equivalent to {@link #raw(Object)} with a boxed value, but
+     * implementations may store the value without boxing. Loaders should
+     * prefer these methods when their parser produces primitive values.</p>
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawInt(final int value) {
+        return this.raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code long}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int) for details on primitive raw values
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawLong(final long value) {
+        return this.raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code double}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int) for details on primitive raw values
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawDouble(final double value) {
+        return this.raw(value);
+    }
+
+    /**
+     * Set the raw value of this node to a {@code boolean}.
+     *
+     * @param value the value to set on this node
+     * @return this node
+     * @see #rawInt(int) for details on primitive raw values
+     * @since 4.2.0
+     */
+    default ConfigurationNode rawBoolean(final boolean value) {
+        return this.raw(value);
+    }
+
     /**
      * Get the raw value of this node if the node is a scalar.
      *
@@ -1216,6 +1328,21 @@ public interface ConfigurationNode {
      */
     ConfigurationNode mergeFrom(ConfigurationNode other);
 
+    /**
+     * Apply the changes in {@code patch} to this node, in place.
+     *
+     * <p>Paths in the patch are resolved relative to this node.</p>
+     *
+     * @param patch the changes to apply
+     * @return this node
+     * @see NodeDiff#between(ConfigurationNode, ConfigurationNode)
+     * @since 4.2.0
+     */
+    default ConfigurationNode apply(final NodeDiff patch) {
+        patch.applyTo(this);
+        return this;
+    }
+
     /**
      * Removes a direct child of this node.
      *
@@ -1256,6 +1383,24 @@ public interface ConfigurationNode {
      */
     ConfigurationNode copy();
 
+    /**
+     * Creates an immutable snapshot of this node and all of its children.
+     *
+     * <p>The snapshot is detached from this node: later changes to this node
+     * will not be visible in the snapshot. Like {@link #copy()}, the snapshot
+     * keeps this node's key but has no parent.</p>
+     *
+     * <p>Frozen nodes are intended for configurations that are loaded once
+     * and then read often, potentially from many threads.</p>
+     *
+     * @return a frozen snapshot of this node
+     * @see FrozenConfigurationNode
+     * @since 4.2.0
+     */
+    default FrozenConfigurationNode freeze() {
+        return FrozenConfigurationNodeImpl.freeze(this);
+    }
+
     /**
      * Visit this node hierarchy as described in {@link ConfigurationVisitor}.
      *
@@ -0,0 +1,102 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a configuration tree.
+ *
+ * <p>Frozen nodes are created with {@link ConfigurationNode#freeze()}. Once
+ * created, a frozen tree is never modified, so it can be shared between and
+ * read from many threads without any synchronization. Children are stored in
+ * compact array-backed structures, making frozen trees both smaller and
+ * faster to query than their mutable equivalents.</p>
+ *
+ * <p>All methods that would modify the node will throw an
+ * {@link UnsupportedOperationException}. Since defaults cannot be written
+ * back to a frozen node, the {@link #options() options} of a frozen node
+ * never {@link ConfigurationOptions#shouldCopyDefaults() copy defaults}.</p>
+ *
+ * <p>Representation hints set on the original nodes are retained, but
+ * comments and attributes are not. To make changes to the data held in a
+ * frozen node, copy it into a mutable node using
+ * {@link ConfigurationNode#from(ConfigurationNode)}.</p>
+ *
+ * @since 4.2.0
+ */
+public interface FrozenConfigurationNode extends ConfigurationNode {
+
+    @Override
+    @Nullable FrozenConfigurationNode parent();
+
+    @Override
+    FrozenConfigurationNode node(Object... path);
+
+    @Override
+    FrozenConfigurationNode node(Iterable<?> path);
+
+    @Override
+    @Nullable FrozenConfigurationNode peek(Object... path);
+
+    @Override
+    @Nullable FrozenConfigurationNode peek(Iterable<?> path);
+
+    @Override
+    List<FrozenConfigurationNode> childrenList();
+
+    @Override
+    Map<Object, FrozenConfigurationNode> childrenMap();
+
+    /**
+     * Frozen nodes are immutable, so a root node is returned as-is.
+     *
+     * <p>A node with a parent is copied into a new frozen tree, keeping its
+     * key but with no parent.</p>
+     *
+     * @return this node if it is a root, otherwise a detached copy
+     * @since 4.2.0
+     */
+    @Override
+    FrozenConfigurationNode copy();
+
+    /**
+     * Frozen trees never change, so their version is always {@code 0}.
+     *
+     * @return {@code 0}
+     * @since 4.2.0
+     */
+    @Override
+    default long version() {
+        return 0;
+    }
+
+    /**
+     * Frozen nodes are already frozen, so this is the same as {@link #copy()}.
+     *
+     * @return this node if it is a root, otherwise a detached copy
+     * @since 4.2.0
+     */
+    @Override
+    default FrozenConfigurationNode freeze() {
+        return this.copy();
+    }
+
+}
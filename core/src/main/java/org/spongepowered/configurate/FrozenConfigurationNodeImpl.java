@@ -0,0 +1,757 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+import static io.leangen.geantyref.GenericTypeReflector.isMissingTypeParameters;
+import static java.util.Objects.requireNonNull;
+import static org.spongepowered.configurate.AbstractConfigurationNode.storeDefault;
+
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of {@link FrozenConfigurationNode}.
+ *
+ * <p>Every field of a node is final, and the entire subtree is constructed
+ * within the constructor of the root node, so a frozen tree is safely
+ * published to any thread that can see its root.</p>
+ */
+final class FrozenConfigurationNodeImpl implements FrozenConfigurationNode {
+
+    private static final byte KIND_NULL = 0;
+    private static final byte KIND_SCALAR = 1;
+    private static final byte KIND_LIST = 2;
+    private static final byte KIND_MAP = 3;
+
+    private final @Nullable Object key;
+    private final @Nullable FrozenConfigurationNodeImpl parent;
+    private final ConfigurationOptions options;
+    private final Map<RepresentationHint<?>, ?> hints;
+    private final boolean attached;
+    private final byte kind;
+
+    /**
+     * The value of this node.
+     *
+     * <p>Depending on {@link #kind}, this is {@code null}, a scalar value, an
+     * unmodifiable array-backed list of children, or a {@link FrozenMap}.</p>
+     */
+    private final @Nullable Object value;
+
+    static FrozenConfigurationNode freeze(final ConfigurationNode source) {
+        // a frozen root can be shared, but a child must be detached from its parent
+        if (source instanceof FrozenConfigurationNode && source.parent() == null) {
+            return (FrozenConfigurationNode) source;
+        }
+        return new FrozenConfigurationNodeImpl(source.key(), null, source.options().shouldCopyDefaults(false), source);
+    }
+
+    /**
+     * Create a frozen copy of {@code source}, including all its children.
+     *
+     * @param key the key of the new node
+     * @param parent the frozen parent
+     * @param options options, shared by all nodes in the tree
+     * @param source the node to copy
+     */
+    private FrozenConfigurationNodeImpl(final @Nullable Object key, final @Nullable FrozenConfigurationNodeImpl parent,
+            final ConfigurationOptions options, final ConfigurationNode source) {
+        this.key = key;
+        this.parent = parent;
+        this.options = options;
+        this.hints = UnmodifiableCollections.copyOf(source.ownHints());
+        this.attached = !source.virtual();
+
+        if (source.isMap()) {
+            this.kind = KIND_MAP;
+            final Map<Object, ? extends ConfigurationNode> children = source.childrenMap();
+            final Object[] keys = new Object[children.size()];
+            final FrozenConfigurationNodeImpl[] values = new FrozenConfigurationNodeImpl[keys.length];
+            int idx = 0;
+            for (final Map.Entry<Object, ? extends ConfigurationNode> child : children.entrySet()) {
+                keys[idx] = child.getKey();
+                values[idx] = new FrozenConfigurationNodeImpl(child.getKey(), this, options, child.getValue());
+                idx++;
+            }
+            this.value = new FrozenMap(keys, values);
+        } else if (source.isList()) {
+            this.kind = KIND_LIST;
+            final List<? extends ConfigurationNode> children = source.childrenList();
+            final FrozenConfigurationNode[] values = new FrozenConfigurationNode[children.size()];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = new FrozenConfigurationNodeImpl(i, this, options, children.get(i));
+            }
+            this.value = Collections.unmodifiableList(Arrays.asList(values));
+        } else {
+            final @Nullable Object scalar = source.rawScalar();
+            this.kind = scalar == null ? KIND_NULL : KIND_SCALAR;
+            this.value = scalar;
+        }
+    }
+
+    /**
+     * Create a virtual node, representing a position that does not exist in
+     * the frozen tree.
+     *
+     * @param key the key
+     * @param parent the parent
+     */
+    private FrozenConfigurationNodeImpl(final Object key, final FrozenConfigurationNodeImpl parent) {
+        this.key = key;
+        this.parent = parent;
+        this.options = parent.options;
+        this.hints = Collections.emptyMap();
+        this.attached = false;
+        this.kind = KIND_NULL;
+        this.value = null;
+    }
+
+    // Navigation
+
+    @Override
+    public @Nullable Object key() {
+        return this.key;
+    }
+
+    @Override
+    public NodePath path() {
+        if (this.parent == null) {
+            return NodePath.path();
+        }
+
+        final Deque<@Nullable Object> pathElements = new ArrayDeque<>();
+        FrozenConfigurationNodeImpl pointer = this;
+        do {
+            pathElements.addFirst(pointer.key);
+            pointer = requireNonNull(pointer.parent);
+        } while (pointer.parent != null);
+        return NodePath.of(pathElements);
+    }
+
+    @Override
+    public @Nullable FrozenConfigurationNode parent() {
+        return this.parent;
+    }
+
+    @Override
+    public FrozenConfigurationNode node(final Object... path) {
+        FrozenConfigurationNodeImpl pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.child(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
+        }
+        return pointer;
+    }
+
+    @Override
+    public FrozenConfigurationNode node(final Iterable<?> path) {
+        FrozenConfigurationNodeImpl pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.child(requireNonNull(el, () -> "element in path " + path));
+        }
+        return pointer;
+    }
+
+    private FrozenConfigurationNodeImpl child(final Object key) {
+        final @Nullable FrozenConfigurationNodeImpl existing = this.existingChild(key);
+        return existing == null ? new FrozenConfigurationNodeImpl(key, this) : existing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable FrozenConfigurationNodeImpl existingChild(final Object key) {
+        switch (this.kind) {
+            case KIND_MAP:
+                return ((FrozenMap) this.value).child(key);
+            case KIND_LIST:
+                if (!(key instanceof Integer)) {
+                    return null;
+                }
+                final List<FrozenConfigurationNode> list = (List<FrozenConfigurationNode>) this.value;
+                final int index = (Integer) key;
+                return index >= 0 && index < list.size() ? (FrozenConfigurationNodeImpl) list.get(index) : null;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public @Nullable FrozenConfigurationNode peek(final Object... path) {
+        @Nullable FrozenConfigurationNodeImpl pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.existingChild(requireNonNull(el, () -> "element in path " + Arrays.toString(path)));
+            if (pointer == null) {
+                return null;
+            }
+        }
+        return pointer;
+    }
+
+    @Override
+    public @Nullable FrozenConfigurationNode peek(final Iterable<?> path) {
+        @Nullable FrozenConfigurationNodeImpl pointer = this;
+        for (final Object el : path) {
+            pointer = pointer.existingChild(requireNonNull(el, () -> "element in path " + path));
+            if (pointer == null) {
+                return null;
+            }
+        }
+        return pointer;
+    }
+
+    @Override
+    public boolean hasChild(final Object... path) {
+        return this.peek(path) != null;
+    }
+
+    @Override
+    public boolean hasChild(final Iterable<?> path) {
+        return this.peek(path) != null;
+    }
+
+    // Value
+
+    @Override
+    public boolean virtual() {
+        return !this.attached;
+    }
+
+    @Override
+    public ConfigurationOptions options() {
+        return this.options;
+    }
+
+    @Override
+    public boolean isNull() {
+        return this.kind == KIND_NULL;
+    }
+
+    @Override
+    public boolean isList() {
+        return this.kind == KIND_LIST;
+    }
+
+    @Override
+    public boolean isMap() {
+        return this.kind == KIND_MAP;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "checkstyle:UnnecessaryParentheses"})
+    public boolean empty() {
+        final @Nullable Object value = this.value;
+        switch (this.kind) {
+            case KIND_MAP:
+                return ((FrozenMap) value).isEmpty();
+            case KIND_LIST:
+                return ((List<FrozenConfigurationNode>) value).isEmpty();
+            case KIND_SCALAR:
+                return (value instanceof String && ((String) value).isEmpty())
+                    || (value instanceof Collection<?> && ((Collection<?>) value).isEmpty());
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FrozenConfigurationNode> childrenList() {
+        return this.kind == KIND_LIST ? (List<FrozenConfigurationNode>) this.value : Collections.emptyList();
+    }
+
+    @Override
+    public Map<Object, FrozenConfigurationNode> childrenMap() {
+        return this.kind == KIND_MAP ? (FrozenMap) this.value : Collections.emptyMap();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable Object raw() {
+        switch (this.kind) {
+            case KIND_MAP:
+                final FrozenMap map = (FrozenMap) this.value;
+                final Map<Object, @Nullable Object> rawMap = new LinkedHashMap<>();
+                for (int i = 0; i < map.keys.length; ++i) {
+                    rawMap.put(map.keys[i], map.values[i].raw());
+                }
+                return rawMap;
+            case KIND_LIST:
+                final List<FrozenConfigurationNode> list = (List<FrozenConfigurationNode>) this.value;
+                final List<@Nullable Object> rawList = new ArrayList<>(list.size());
+                for (final FrozenConfigurationNode child : list) {
+                    rawList.add(child.raw());
+                }
+                return rawList;
+            default:
+                return this.value;
+        }
+    }
+
+    @Override
+    public @Nullable Object rawScalar() {
+        return this.kind == KIND_SCALAR ? this.value : null;
+    }
+
+    @Override
+    public @Nullable Object get(final AnnotatedType type) throws SerializationException {
+        return this.get0(type, true);
+    }
+
+    @Override
+    public Object get(final AnnotatedType type, final Object def) throws SerializationException {
+        final @Nullable Object value = this.get0(type, false);
+        return value == null ? storeDefault(this, type, def) : value;
+    }
+
+    @Override
+    public Object get(final AnnotatedType type, final Supplier<?> defSupplier) throws SerializationException {
+        final @Nullable Object value = this.get0(type, false);
+        return value == null ? storeDefault(this, type, defSupplier.get()) : value;
+    }
+
+    @Override
+    public @Nullable Object get(final Type type) throws SerializationException {
+        return this.get0(type, true);
+    }
+
+    @Override
+    public Object get(final Type type, final Object def) throws SerializationException {
+        final @Nullable Object value = this.get0(type, false);
+        return value == null ? storeDefault(this, type, def) : value;
+    }
+
+    @Override
+    public Object get(final Type type, final Supplier<?> defSupplier) throws SerializationException {
+        final @Nullable Object value = this.get0(type, false);
+        return value == null ? storeDefault(this, type, defSupplier.get()) : value;
+    }
+
+    private @Nullable Object get0(final Type type, final boolean doImplicitInit) throws SerializationException {
+        requireNonNull(type, "type");
+        if (isMissingTypeParameters(type)) {
+            throw new SerializationException(this, type, "Raw types are not supported");
+        }
+
+        final @Nullable TypeSerializer<?> serial = this.options.serializers().get(type);
+        if (this.kind == KIND_NULL) {
+            if (serial != null && doImplicitInit && this.options.implicitInitialization()) {
+                return serial.emptyValue(type, this.options);
+            }
+            return null;
+        }
+
+        if (serial == null) {
+            final @Nullable Object value = this.raw();
+            return erase(type).isInstance(value) ? value : null;
+        }
+        try {
+            return serial.deserialize(type, this);
+        } catch (final SerializationException ex) {
+            ex.initPath(this::path);
+            ex.initType(type);
+            throw ex;
+        }
+    }
+
+    private @Nullable Object get0(final AnnotatedType type, final boolean doImplicitInit) throws SerializationException {
+        requireNonNull(type, "type");
+        if (isMissingTypeParameters(type.getType())) {
+            throw new SerializationException(this, type, "Raw types are not supported");
+        }
+
+        final @Nullable TypeSerializer<?> serial = this.options.serializers().get(type);
+        if (this.kind == KIND_NULL) {
+            if (serial != null && doImplicitInit && this.options.implicitInitialization()) {
+                return serial.emptyValue(type, this.options);
+            }
+            return null;
+        }
+
+        if (serial == null) {
+            final @Nullable Object value = this.raw();
+            return erase(type.getType()).isInstance(value) ? value : null;
+        }
+        try {
+            return serial.deserialize(type, this);
+        } catch (final SerializationException ex) {
+            ex.initPath(this::path);
+            ex.initType(type);
+            throw ex;
+        }
+    }
+
+    // Hints
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> @Nullable V hint(final RepresentationHint<V> hint) {
+        final @Nullable Object value = this.hints.get(hint);
+        if (value != null) {
+            return (V) value;
+        }
+        final @Nullable FrozenConfigurationNodeImpl parent = this.parent;
+        if (parent != null && hint.inheritable()) {
+            return parent.hint(hint);
+        } else {
+            return hint.defaultValue();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> @Nullable V ownHint(final RepresentationHint<V> hint) {
+        return (V) this.hints.get(hint);
+    }
+
+    @Override
+    public Map<RepresentationHint<?>, ?> ownHints() {
+        return this.hints;
+    }
+
+    // Visitor
+
+    @Override
+    public <S, T, E extends Exception> T visit(final ConfigurationVisitor<S, T, E> visitor, final S state) throws E {
+        return this.visitInternal(visitor, state);
+    }
+
+    @Override
+    public <S, T> T visit(final ConfigurationVisitor.Safe<S, T> visitor, final S state) {
+        try {
+            return this.visitInternal(visitor, state);
+        } catch (final VisitorSafeNoopException ex) {
+            // this exception should never be thrown, has a private constructor
+            throw new AssertionError("Exception was thrown on a Safe visitor", ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S, T, E extends Exception> T visitInternal(final ConfigurationVisitor<S, T, E> visitor, final S state) throws E {
+        visitor.beginVisit(this, state);
+        if (this.kind != KIND_NULL) { // only visit if we have an actual value
+            final Deque<Object> toVisit = new ArrayDeque<>();
+            toVisit.add(this);
+
+            @Nullable Object active;
+            while ((active = toVisit.pollFirst()) != null) {
+                if (active instanceof VisitorNodeEnd) {
+                    final VisitorNodeEnd end = (VisitorNodeEnd) active;
+                    if (end.isMap()) {
+                        visitor.exitMappingNode(end.end(), state);
+                    } else {
+                        visitor.exitListNode(end.end(), state);
+                    }
+                    continue;
+                }
+
+                final FrozenConfigurationNodeImpl current = (FrozenConfigurationNodeImpl) active;
+                try {
+                    visitor.enterNode(current, state);
+                    switch (current.kind) {
+                        case KIND_MAP:
+                            visitor.enterMappingNode(current, state);
+                            toVisit.addFirst(new VisitorNodeEnd(current, true));
+                            final FrozenConfigurationNodeImpl[] values = ((FrozenMap) current.value).values;
+                            for (int i = values.length - 1; i >= 0; --i) {
+                                toVisit.addFirst(values[i]);
+                            }
+                            break;
+                        case KIND_LIST:
+                            visitor.enterListNode(current, state);
+                            toVisit.addFirst(new VisitorNodeEnd(current, false));
+                            final List<FrozenConfigurationNode> children = (List<FrozenConfigurationNode>) current.value;
+                            for (int i = children.size() - 1; i >= 0; --i) {
+                                toVisit.addFirst(children.get(i));
+                            }
+                            break;
+                        case KIND_SCALAR:
+                            visitor.enterScalarNode(current, state);
+                            break;
+                        default:
+                            // null children do not appear in frozen trees
+                            break;
+                    }
+                } catch (final Exception ex) {
+                    // Assign an appropriate path to ConfigurateExceptions
+                    if (ex instanceof ConfigurateException) {
+                        ((ConfigurateException) ex).initPath(current::path);
+                    }
+                    throw (E) ex;
+                }
+            }
+        }
+        return visitor.endVisit(state);
+    }
+
+    // Copying
+
+    @Override
+    public FrozenConfigurationNode copy() {
+        return freeze(this);
+    }
+
+    // Mutation -- not supported
+
+    private static UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException("Frozen configuration nodes cannot be modified");
+    }
+
+    @Override
+    public ConfigurationNode set(final @Nullable Object value) {
+        throw frozen();
+    }
+
+    @Override
+    public <V> ConfigurationNode set(final TypeToken<V> type, final @Nullable V value) {
+        throw frozen();
+    }
+
+    @Override
+    public <V> ConfigurationNode set(final Class<V> type, final @Nullable V value) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode set(final Type type, final @Nullable Object value) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode set(final AnnotatedType type, final @Nullable Object value) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode raw(final @Nullable Object value) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode from(final ConfigurationNode other) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode mergeFrom(final ConfigurationNode other) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode apply(final NodeDiff patch) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean removeChild(final Object key) {
+        throw frozen();
+    }
+
+    @Override
+    public ConfigurationNode appendListNode() {
+        throw frozen();
+    }
+
+    @Override
+    public <V> ConfigurationNode hint(final RepresentationHint<V> hint, final @Nullable V value) {
+        throw frozen();
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof FrozenConfigurationNodeImpl)) {
+            return false;
+        }
+
+        final FrozenConfigurationNodeImpl that = (FrozenConfigurationNodeImpl) o;
+        return this.kind == that.kind && Objects.equals(this.key, that.key) && Objects.equals(this.value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.key) ^ Objects.hashCode(this.value);
+    }
+
+    @Override
+    public String toString() {
+        return "FrozenConfigurationNode{key=" + this.key + ", value=" + this.value + '}';
+    }
+
+    /**
+     * An immutable map of children.
+     *
+     * <p>Keys and values are stored in parallel arrays in insertion order.
+     * Maps with more than {@link #LINEAR_SCAN_THRESHOLD} entries also have an
+     * open-addressed index table with linear probing, holding indices into the
+     * key array.</p>
+     */
+    static final class FrozenMap extends AbstractMap<Object, FrozenConfigurationNode> {
+
+        private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+        final Object[] keys;
+        final FrozenConfigurationNodeImpl[] values;
+
+        /**
+         * Index table, holding {@code index + 1} of each key in
+         * {@link #keys}, or {@code 0} for an empty slot.
+         */
+        private final int @Nullable [] table;
+        private @Nullable Set<Map.Entry<Object, FrozenConfigurationNode>> entrySet;
+
+        FrozenMap(final Object[] keys, final FrozenConfigurationNodeImpl[] values) {
+            this.keys = keys;
+            this.values = values;
+            if (keys.length > LINEAR_SCAN_THRESHOLD) {
+                final int[] table = new int[tableSize(keys.length)];
+                final int mask = table.length - 1;
+                for (int i = 0; i < keys.length; ++i) {
+                    int slot = spread(keys[i].hashCode()) & mask;
+                    while (table[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = i + 1;
+                }
+                this.table = table;
+            } else {
+                this.table = null;
+            }
+        }
+
+        private static int tableSize(final int entries) {
+            // keep the load factor at or below 0.5
+            return Integer.highestOneBit(entries * 2 - 1) << 1;
+        }
+
+        private static int spread(final int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        @Nullable FrozenConfigurationNodeImpl child(final @Nullable Object key) {
+            if (key == null) {
+                return null;
+            }
+            final int @Nullable [] table = this.table;
+            if (table == null) {
+                for (int i = 0; i < this.keys.length; ++i) {
+                    if (key.equals(this.keys[i])) {
+                        return this.values[i];
+                    }
+                }
+                return null;
+            }
+
+            final int mask = table.length - 1;
+            int slot = spread(key.hashCode()) & mask;
+            int entry;
+            while ((entry = table[slot]) != 0) {
+                if (key.equals(this.keys[entry - 1])) {
+                    return this.values[entry - 1];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        @Override
+        public @Nullable FrozenConfigurationNode get(final @Nullable Object key) {
+            return this.child(key);
+        }
+
+        @Override
+        public boolean containsKey(final @Nullable Object key) {
+            return this.child(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return this.keys.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.keys.length == 0;
+        }
+
+        @Override
+        public Set<Map.Entry<Object, FrozenConfigurationNode>> entrySet() {
+            @Nullable Set<Map.Entry<Object, FrozenConfigurationNode>> entrySet = this.entrySet;
+            if (entrySet == null) {
+                entrySet = this.entrySet = new EntrySet();
+            }
+            return entrySet;
+        }
+
+        final class EntrySet extends AbstractSet<Map.Entry<Object, FrozenConfigurationNode>> {
+
+            @Override
+            public Iterator<Map.Entry<Object, FrozenConfigurationNode>> iterator() {
+                return new Iterator<Map.Entry<Object, FrozenConfigurationNode>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.next < FrozenMap.this.keys.length;
+                    }
+
+                    @Override
+                    public Map.Entry<Object, FrozenConfigurationNode> next() {
+                        if (!this.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final int idx = this.next++;
+                        return UnmodifiableCollections.immutableMapEntry(FrozenMap.this.keys[idx], FrozenMap.this.values[idx]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return FrozenMap.this.keys.length;
+            }
+
+        }
+
+    }
+
+}
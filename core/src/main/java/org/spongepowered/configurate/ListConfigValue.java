@@ -182,7 +182,7 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
                         ret = values.remove(index);
                         // update indexes for subsequent elements
                         for (int i = index; i < values.size(); ++i) {
-                            values.get(i).key = index;
+                            values.get(i).key = i;
                         }
                     }
                 } else {
@@ -202,8 +202,33 @@ final class ListConfigValue<N extends ScopedConfigurationNode<N>, A extends Abst
         return ret;
     }
 
+    /**
+     * Insert a child at an index, moving the children after it back by one.
+     *
+     * @param index the index to insert at, at most the current size
+     * @param value the child to insert
+     */
+    void insertChild(final int index, final A value) {
+        List<A> values;
+        do {
+            values = this.values;
+            synchronized (values) {
+                values.add(index, value);
+                // update indexes for subsequent elements
+                for (int i = index; i < values.size(); ++i) {
+                    values.get(i).key = i;
+                }
+            }
+        } while (!VALUES_HANDLE.compareAndSet(this, values, values));
+    }
+
     @Override
     public @Nullable A child(final @Nullable Object key) {
+        if (key == UNALLOCATED_IDX) {
+            // coercing the marker to an index would always throw
+            return null;
+        }
+
         final @Nullable Integer value = Scalars.INTEGER.tryDeserialize(key);
         if (value == null || value < 0) {
             return null;
@@ -0,0 +1,264 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static io.leangen.geantyref.GenericTypeReflector.annotate;
+import static io.leangen.geantyref.GenericTypeReflector.isMissingTypeParameters;
+import static java.util.Objects.requireNonNull;
+
+import io.leangen.geantyref.TypeToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.serialize.TypeSerializerCollection;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.AnnotatedType;
+
+/**
+ * A pre-compiled accessor for a typed value at a fixed path.
+ *
+ * <p>Reading through an accessor is equivalent to
+ * {@code root.node(path).get(type)}, but the path and serializer are only
+ * resolved once. Absent paths are looked up without creating virtual nodes,
+ * unless a node is needed to hold an implicitly initialized or
+ * copied default value.</p>
+ *
+ * <p>The node most recently resolved is cached along with the
+ * {@link ConfigurationNode#version() version} of its tree, so repeated reads
+ * from an unchanged tree skip walking the path entirely.</p>
+ *
+ * <p>Accessors are immutable apart from internal caches, and may be shared
+ * between threads and used with any number of node trees.</p>
+ *
+ * @param <V> the value type
+ * @since 4.2.0
+ */
+public final class NodeAccessor<V> {
+
+    private final NodePath path;
+    private final Object[] keys;
+    private final AnnotatedType type;
+    private volatile @Nullable ResolvedSerializer resolved;
+    private volatile @Nullable ResolvedNode lastNode;
+
+    /**
+     * Create an accessor for values of the provided type.
+     *
+     * @param path the path of the value, relative to the node passed to
+     *     each access
+     * @param type the value type
+     * @param <V> the value type
+     * @return a new accessor
+     * @throws IllegalArgumentException if {@code type} is a raw type
+     * @since 4.2.0
+     */
+    public static <V> NodeAccessor<V> of(final NodePath path, final TypeToken<V> type) {
+        return new NodeAccessor<>(path, requireNonNull(type, "type").getAnnotatedType());
+    }
+
+    /**
+     * Create an accessor for values of the provided type.
+     *
+     * @param path the path of the value, relative to the node passed to
+     *     each access
+     * @param type the value type
+     * @param <V> the value type
+     * @return a new accessor
+     * @throws IllegalArgumentException if {@code type} is a raw type
+     * @since 4.2.0
+     */
+    public static <V> NodeAccessor<V> of(final NodePath path, final Class<V> type) {
+        return new NodeAccessor<>(path, annotate(requireNonNull(type, "type")));
+    }
+
+    private NodeAccessor(final NodePath path, final AnnotatedType type) {
+        if (isMissingTypeParameters(type.getType())) {
+            throw new IllegalArgumentException("Raw types are not supported");
+        }
+        this.path = requireNonNull(path, "path");
+        this.keys = path.array();
+        this.type = type;
+    }
+
+    /**
+     * Get the path this accessor reads from.
+     *
+     * @return the path
+     * @since 4.2.0
+     */
+    public NodePath path() {
+        return this.path;
+    }
+
+    /**
+     * Get the type of value this accessor reads.
+     *
+     * @return the value type
+     * @since 4.2.0
+     */
+    public AnnotatedType type() {
+        return this.type;
+    }
+
+    /**
+     * Get the node at this accessor's path, creating a virtual node
+     * if necessary.
+     *
+     * @param root the node to resolve the path relative to
+     * @return the node at this accessor's path
+     * @since 4.2.0
+     */
+    public ConfigurationNode node(final ConfigurationNode root) {
+        final @Nullable ConfigurationNode existing = this.existing(root);
+        return existing == null ? root.node(this.keys) : existing;
+    }
+
+    /**
+     * Get the value at this accessor's path.
+     *
+     * @param root the node to resolve the path relative to
+     * @return the value, or {@code null} if none is present
+     * @throws SerializationException if the value could not be deserialized
+     * @see ConfigurationNode#get(TypeToken)
+     * @since 4.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(final ConfigurationNode root) throws SerializationException {
+        final @Nullable ConfigurationNode existing = this.existing(root);
+        if (existing instanceof AbstractConfigurationNode<?, ?>) {
+            return (V) ((AbstractConfigurationNode<?, ?>) existing).get0(this.type, this.serializer(existing.options()), true);
+        } else if (existing != null) {
+            return (V) existing.get(this.type);
+        }
+
+        // only create a node when it could receive an implicitly initialized value
+        final ConfigurationOptions options = root.options();
+        if (options.implicitInitialization() && this.serializer(options) != null) {
+            return (V) root.node(this.keys).get(this.type);
+        }
+        return null;
+    }
+
+    /**
+     * Get the value at this accessor's path, or a default.
+     *
+     * @param root the node to resolve the path relative to
+     * @param def the value to return if no value is present
+     * @return the value, or {@code def} if none is present
+     * @throws SerializationException if the value could not be deserialized
+     * @see ConfigurationNode#get(TypeToken, Object)
+     * @since 4.2.0
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final ConfigurationNode root, final V def) throws SerializationException {
+        final @Nullable ConfigurationNode existing = this.existing(root);
+        if (existing instanceof AbstractConfigurationNode<?, ?>) {
+            final @Nullable Object value = ((AbstractConfigurationNode<?, ?>) existing)
+                .get0(this.type, this.serializer(existing.options()), false);
+            return value == null ? AbstractConfigurationNode.storeDefault(existing, this.type, def) : (V) value;
+        } else if (existing != null) {
+            return (V) existing.get(this.type, def);
+        }
+
+        if (root.options().shouldCopyDefaults()) {
+            return (V) root.node(this.keys).get(this.type, def);
+        }
+        return requireNonNull(def, "def");
+    }
+
+    /**
+     * Set the value at this accessor's path.
+     *
+     * @param root the node to resolve the path relative to
+     * @param value the value to set, or {@code null} to clear the node
+     * @throws SerializationException if the value could not be serialized
+     * @see ConfigurationNode#set(TypeToken, Object)
+     * @since 4.2.0
+     */
+    public void set(final ConfigurationNode root, final @Nullable V value) throws SerializationException {
+        this.node(root).set(this.type, value);
+    }
+
+    private @Nullable ConfigurationNode existing(final ConfigurationNode root) {
+        // read the version first, so any concurrent change invalidates what we cache
+        final long version = root.version();
+        final @Nullable ResolvedNode last = this.lastNode;
+        if (last != null && version >= 0 && last.version == version && last.get() == root) {
+            if (last.node == null) {
+                return null;
+            }
+            final @Nullable ConfigurationNode node = last.node.get();
+            if (node != null) {
+                return node;
+            }
+        }
+
+        final @Nullable ConfigurationNode existing = root.peek(this.keys);
+        this.lastNode = new ResolvedNode(root, version, existing);
+        return existing;
+    }
+
+    private @Nullable TypeSerializer<?> serializer(final ConfigurationOptions options) {
+        final TypeSerializerCollection serializers = options.serializers();
+        @Nullable ResolvedSerializer resolved = this.resolved;
+        if (resolved == null || resolved.serializers != serializers) {
+            this.resolved = resolved = new ResolvedSerializer(serializers, serializers.get(this.type));
+        }
+        return resolved.serializer;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeAccessor{path=" + this.path + ", type=" + this.type + '}';
+    }
+
+    /**
+     * The result of resolving this accessor's path against a root node.
+     *
+     * <p>Nodes are held weakly so that an accessor does not keep old
+     * trees alive.</p>
+     */
+    static final class ResolvedNode extends WeakReference<ConfigurationNode> {
+
+        final long version;
+        final @Nullable WeakReference<ConfigurationNode> node;
+
+        ResolvedNode(final ConfigurationNode root, final long version, final @Nullable ConfigurationNode node) {
+            super(root);
+            this.version = version;
+            this.node = node == null ? null : new WeakReference<>(node);
+        }
+
+    }
+
+    /**
+     * A serializer, and the collection it was resolved from.
+     */
+    static final class ResolvedSerializer {
+
+        final TypeSerializerCollection serializers;
+        final @Nullable TypeSerializer<?> serializer;
+
+        ResolvedSerializer(final TypeSerializerCollection serializers, final @Nullable TypeSerializer<?> serializer) {
+            this.serializers = serializers;
+            this.serializer = serializer;
+        }
+
+    }
+
+}
@@ -0,0 +1,848 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The structural changes that turn one node tree into another.
+ *
+ * <p>A diff is a sequence of {@link Operation operations}, each addressed by
+ * the path of the node it changes. Applying the operations in order to a
+ * tree equal to the source tree produces a tree equal to the target
+ * tree. Operations follow the model of JSON Patch (RFC 6902): nodes are
+ * added, removed, replaced, or moved from another path.</p>
+ *
+ * <p>Subtrees are compared by a 64-bit digest of their structure, so
+ * branches that are identical in both trees are skipped without being
+ * walked again. Values and comments are part of the digest, while
+ * representation hints are not. Strings and primitive values are digested
+ * from their whole value, but other scalars only contribute their hash
+ * code, so subtrees holding them are still compared by value when their
+ * digests match.</p>
+ *
+ * <p>A diff can be {@link #write(ConfigurationNode) written} to a node, and
+ * {@link #read(ConfigurationNode) read} back, to send it to another tree
+ * through any configuration format.</p>
+ *
+ * @since 4.2.0
+ */
+public final class NodeDiff {
+
+    private static final NodeDiff EMPTY = new NodeDiff(Collections.emptyList());
+
+    private static final long TYPE_NULL = 0x9e3779b97f4a7c15L;
+    private static final long TYPE_SCALAR = 0x632be59bd9b4e019L;
+    private static final long TYPE_MAP = 0x85ebca77c2b2ae63L;
+    private static final long TYPE_LIST = 0xc2b2ae3d27d4eb4fL;
+
+    private final List<Operation> operations;
+
+    private NodeDiff(final List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Compute the changes that turn {@code from} into {@code to}.
+     *
+     * @param from the source tree
+     * @param to the target tree
+     * @return the changes between the trees
+     * @since 4.2.0
+     */
+    public static NodeDiff between(final ConfigurationNode from, final ConfigurationNode to) {
+        final Digests digests = new Digests();
+        final List<Operation> operations = new ArrayList<>();
+        diff(NodePath.path(), requireNonNull(from, "from"), requireNonNull(to, "to"), digests, operations);
+        return operations.isEmpty() ? EMPTY : new NodeDiff(UnmodifiableCollections.copyOf(operations));
+    }
+
+    /**
+     * Compute a digest of the structure of a node and its children.
+     *
+     * <p>Nodes that are {@link ConfigurationNode#equals(Object) equal}, and
+     * have the same comments, have the same digest. Nodes with a different
+     * digest are guaranteed to differ.</p>
+     *
+     * @param node the node to digest
+     * @return the digest
+     * @since 4.2.0
+     */
+    public static long digest(final ConfigurationNode node) {
+        return new Digests().get(requireNonNull(node, "node"));
+    }
+
+    private static void diff(
+        final NodePath path,
+        final ConfigurationNode from,
+        final ConfigurationNode to,
+        final Digests digests,
+        final List<Operation> operations
+    ) {
+        if (digests.same(from, to)) {
+            return;
+        }
+
+        if (!sameMetadata(from, to)) {
+            operations.add(Operation.replace(path, to));
+        } else if (from.isMap() && to.isMap()) {
+            diffMap(path, from, to, digests, operations);
+        } else if (from.isList() && to.isList()) {
+            diffList(path, from, to, digests, operations);
+        } else if (absent(to)) {
+            operations.add(Operation.remove(path));
+        } else {
+            operations.add(Operation.replace(path, to));
+        }
+    }
+
+    /**
+     * Get whether a node has no value, without copying its children as
+     * {@link ConfigurationNode#raw()} would.
+     *
+     * @param node the node
+     * @return whether the node is virtual or has a null value
+     */
+    private static boolean absent(final ConfigurationNode node) {
+        return node.virtual() || node.isNull() || !node.isMap() && !node.isList() && node.rawScalar() == null;
+    }
+
+    private static void diffMap(
+        final NodePath path,
+        final ConfigurationNode from,
+        final ConfigurationNode to,
+        final Digests digests,
+        final List<Operation> operations
+    ) {
+        final Map<Object, ? extends ConfigurationNode> fromChildren = from.childrenMap();
+        final Map<Object, ? extends ConfigurationNode> toChildren = to.childrenMap();
+
+        // removed keys whose value reappears under a new key are moved instead
+        final Map<Long, Object> removed = new LinkedHashMap<>();
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : fromChildren.entrySet()) {
+            if (!toChildren.containsKey(entry.getKey())) {
+                removed.putIfAbsent(digests.get(entry.getValue()), entry.getKey());
+            }
+        }
+        final Map<Object, Object> moved = new HashMap<>();
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : toChildren.entrySet()) {
+            if (!fromChildren.containsKey(entry.getKey())) {
+                final long digest = digests.get(entry.getValue());
+                final @Nullable Object source = removed.get(digest);
+                if (source != null && digests.same(fromChildren.get(source), entry.getValue())) {
+                    removed.remove(digest);
+                    moved.put(entry.getKey(), source);
+                }
+            }
+        }
+
+        for (final Object key : fromChildren.keySet()) {
+            if (!toChildren.containsKey(key) && !moved.containsValue(key)) {
+                operations.add(Operation.remove(path.withAppendedChild(key)));
+            }
+        }
+
+        for (final Map.Entry<Object, ? extends ConfigurationNode> entry : toChildren.entrySet()) {
+            final @Nullable ConfigurationNode fromChild = fromChildren.get(entry.getKey());
+            final @Nullable Object source = moved.get(entry.getKey());
+            if (source != null) {
+                operations.add(Operation.move(path.withAppendedChild(source), path.withAppendedChild(entry.getKey())));
+            } else if (fromChild == null) {
+                operations.add(Operation.add(path.withAppendedChild(entry.getKey()), entry.getValue()));
+            } else {
+                diff(path.withAppendedChild(entry.getKey()), fromChild, entry.getValue(), digests, operations);
+            }
+        }
+    }
+
+    private static void diffList(
+        final NodePath path,
+        final ConfigurationNode from,
+        final ConfigurationNode to,
+        final Digests digests,
+        final List<Operation> operations
+    ) {
+        final List<? extends ConfigurationNode> fromChildren = from.childrenList();
+        final List<? extends ConfigurationNode> toChildren = to.childrenList();
+        final int fromSize = fromChildren.size();
+        final int toSize = toChildren.size();
+
+        // only the range between an unchanged prefix and suffix is compared
+        int start = 0;
+        while (start < fromSize && start < toSize
+            && digests.same(fromChildren.get(start), toChildren.get(start))) {
+            ++start;
+        }
+        int end = 0;
+        while (end < fromSize - start && end < toSize - start
+            && digests.same(fromChildren.get(fromSize - 1 - end), toChildren.get(toSize - 1 - end))) {
+            ++end;
+        }
+
+        final int fromChanged = fromSize - start - end;
+        final int toChanged = toSize - start - end;
+        final int common = Math.min(fromChanged, toChanged);
+        for (int i = start; i < start + common; ++i) {
+            diff(path.withAppendedChild(i), fromChildren.get(i), toChildren.get(i), digests, operations);
+        }
+        // remove from the back, so earlier indices stay valid
+        for (int i = start + fromChanged - 1; i >= start + common; --i) {
+            operations.add(Operation.remove(path.withAppendedChild(i)));
+        }
+        for (int i = start + common; i < start + toChanged; ++i) {
+            operations.add(Operation.add(path.withAppendedChild(i), toChildren.get(i)));
+        }
+    }
+
+    private static boolean sameMetadata(final ConfigurationNode from, final ConfigurationNode to) {
+        if (from instanceof CommentedConfigurationNodeIntermediary<?> && to instanceof CommentedConfigurationNodeIntermediary<?>
+            && !Objects.equals(((CommentedConfigurationNodeIntermediary<?>) from).comment(),
+                ((CommentedConfigurationNodeIntermediary<?>) to).comment())) {
+            return false;
+        }
+        if (from instanceof AttributedConfigurationNode && to instanceof AttributedConfigurationNode) {
+            final AttributedConfigurationNode fromAttributed = (AttributedConfigurationNode) from;
+            final AttributedConfigurationNode toAttributed = (AttributedConfigurationNode) to;
+            return fromAttributed.tagName().equals(toAttributed.tagName())
+                && fromAttributed.attributes().equals(toAttributed.attributes());
+        }
+        return true;
+    }
+
+    /**
+     * Read a diff previously {@link #write(ConfigurationNode) written}
+     * to a node.
+     *
+     * @param source the node holding the diff
+     * @return the diff
+     * @throws SerializationException if {@code source} does not hold a
+     *     valid diff
+     * @since 4.2.0
+     */
+    public static NodeDiff read(final ConfigurationNode source) throws SerializationException {
+        if (source.empty()) {
+            return EMPTY;
+        }
+        if (!source.isList()) {
+            throw new SerializationException(source, NodeDiff.class, "A diff must be a list of operations");
+        }
+
+        final List<Operation> operations = new ArrayList<>();
+        for (final ConfigurationNode child : source.childrenList()) {
+            operations.add(Operation.read(child));
+        }
+        return new NodeDiff(UnmodifiableCollections.copyOf(operations));
+    }
+
+    /**
+     * Get the operations making up this diff, in the order they
+     * must be applied.
+     *
+     * @return the operations
+     * @since 4.2.0
+     */
+    public List<Operation> operations() {
+        return this.operations;
+    }
+
+    /**
+     * Get whether the compared trees were identical.
+     *
+     * @return whether this diff has no operations
+     * @since 4.2.0
+     */
+    public boolean isEmpty() {
+        return this.operations.isEmpty();
+    }
+
+    /**
+     * Apply every operation in this diff to {@code node}, in place.
+     *
+     * <p>Nodes at paths that are not changed keep their identity.</p>
+     *
+     * @param node the root of the tree to change
+     * @see ConfigurationNode#apply(NodeDiff)
+     * @since 4.2.0
+     */
+    public void applyTo(final ConfigurationNode node) {
+        requireNonNull(node, "node");
+        for (final Operation operation : this.operations) {
+            operation.applyTo(node);
+        }
+    }
+
+    /**
+     * Write this diff to a node, replacing its value.
+     *
+     * <p>The diff is written as a list of operations. Each operation is a
+     * map holding the name of its kind as {@code op}, its path as a list of
+     * keys, and its source path as {@code from} or new value as
+     * {@code value}, when present.</p>
+     *
+     * @param target the node to write to
+     * @since 4.2.0
+     */
+    public void write(final ConfigurationNode target) {
+        target.raw(null);
+        for (final Operation operation : this.operations) {
+            operation.write(target.appendListNode());
+        }
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+        return this == other || other instanceof NodeDiff && this.operations.equals(((NodeDiff) other).operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.operations.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NodeDiff" + this.operations;
+    }
+
+    /**
+     * The kinds of change an operation can make.
+     *
+     * @since 4.2.0
+     */
+    public enum Kind {
+        /**
+         * Add a node that did not exist.
+         *
+         * <p>When the parent is a list, the node is inserted at its index,
+         * moving later elements back.</p>
+         *
+         * @since 4.2.0
+         */
+        ADD,
+        /**
+         * Remove an existing node.
+         *
+         * <p>When the parent is a list, later elements move forward.</p>
+         *
+         * @since 4.2.0
+         */
+        REMOVE,
+        /**
+         * Replace the value of an existing node.
+         *
+         * @since 4.2.0
+         */
+        REPLACE,
+        /**
+         * Move an existing node to a new key within the same parent.
+         *
+         * <p>The node at the target path is replaced, and the node at the
+         * source path is removed.</p>
+         *
+         * @since 4.2.0
+         */
+        MOVE;
+
+        private final String id = this.name().toLowerCase(Locale.ROOT);
+
+        /**
+         * Get the name this kind is written with.
+         *
+         * @return the serialized name
+         * @since 4.2.0
+         */
+        public String id() {
+            return this.id;
+        }
+
+        static @Nullable Kind byId(final String id) {
+            for (final Kind kind : values()) {
+                if (kind.id.equals(id)) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A single change to a node tree.
+     *
+     * @since 4.2.0
+     */
+    public static final class Operation {
+
+        private static final String OP = "op";
+        private static final String PATH = "path";
+        private static final String FROM = "from";
+        private static final String VALUE = "value";
+
+        private final Kind kind;
+        private final NodePath path;
+        private final @Nullable NodePath from;
+        private final @Nullable ConfigurationNode value;
+
+        private Operation(final Kind kind, final NodePath path, final @Nullable NodePath from, final @Nullable ConfigurationNode value) {
+            this.kind = kind;
+            this.path = path;
+            this.from = from;
+            this.value = value;
+        }
+
+        static Operation add(final NodePath path, final ConfigurationNode value) {
+            return new Operation(Kind.ADD, path, null, value.copy());
+        }
+
+        static Operation remove(final NodePath path) {
+            return new Operation(Kind.REMOVE, path, null, null);
+        }
+
+        static Operation replace(final NodePath path, final ConfigurationNode value) {
+            return new Operation(Kind.REPLACE, path, null, value.copy());
+        }
+
+        static Operation move(final NodePath from, final NodePath path) {
+            return new Operation(Kind.MOVE, path, from, null);
+        }
+
+        static Operation read(final ConfigurationNode source) throws SerializationException {
+            final @Nullable String id = source.node(OP).getString();
+            final @Nullable Kind kind = id == null ? null : Kind.byId(id);
+            if (kind == null) {
+                throw new SerializationException(source.node(OP), Kind.class, "Unknown operation '" + id + "'");
+            }
+
+            final NodePath path = readPath(source.node(PATH));
+            switch (kind) {
+                case REMOVE:
+                    return remove(path);
+                case MOVE:
+                    return move(readPath(source.node(FROM)), path);
+                default:
+                    return new Operation(kind, path, null, source.node(VALUE).copy());
+            }
+        }
+
+        private static NodePath readPath(final ConfigurationNode source) throws SerializationException {
+            if (!source.isList()) {
+                throw new SerializationException(source, NodePath.class, "A path must be a list of keys");
+            }
+
+            final List<? extends ConfigurationNode> elements = source.childrenList();
+            final Object[] path = new Object[elements.size()];
+            for (int i = 0; i < path.length; ++i) {
+                final @Nullable Object key = elements.get(i).rawScalar();
+                if (key == null) {
+                    throw new SerializationException(elements.get(i), Object.class, "Path elements must be scalars");
+                }
+                // formats may widen integers, but list indices are always ints
+                path[i] = key instanceof Long || key instanceof Short || key instanceof Byte ? ((Number) key).intValue() : key;
+            }
+            return NodePath.of(path);
+        }
+
+        void write(final ConfigurationNode target) {
+            target.node(OP).raw(this.kind.id());
+            target.node(PATH).raw(Arrays.asList(this.path.array()));
+            if (this.from != null) {
+                target.node(FROM).raw(Arrays.asList(this.from.array()));
+            }
+            if (this.value != null) {
+                target.node(VALUE).from(this.value);
+            }
+        }
+
+        /**
+         * Get the kind of change made.
+         *
+         * @return the kind of change
+         * @since 4.2.0
+         */
+        public Kind kind() {
+            return this.kind;
+        }
+
+        /**
+         * Get the path of the changed node, relative to the root of
+         * the tree.
+         *
+         * @return the changed path
+         * @since 4.2.0
+         */
+        public NodePath path() {
+            return this.path;
+        }
+
+        /**
+         * Get the path the node is moved from, for moves.
+         *
+         * @return the source path, or {@code null} for other operations
+         * @since 4.2.0
+         */
+        public @Nullable NodePath from() {
+            return this.from;
+        }
+
+        /**
+         * Get the new value of the node, for additions and replacements.
+         *
+         * <p>The returned node is detached from both compared trees, and must
+         * not be modified.</p>
+         *
+         * @return the new value, or {@code null} for removals and moves
+         * @since 4.2.0
+         */
+        public @Nullable ConfigurationNode value() {
+            return this.value;
+        }
+
+        void applyTo(final ConfigurationNode root) {
+            final @Nullable ConfigurationNode value = this.value;
+            if (this.path.size() == 0) {
+                if (value == null) {
+                    root.raw(null);
+                } else {
+                    root.from(value);
+                }
+                return;
+            }
+
+            final Object key = this.path.get(this.path.size() - 1);
+            final ConfigurationNode parent = root.node(parentPath(this.path));
+            final @Nullable NodePath from = this.from;
+            if (from != null) {
+                final ConfigurationNode source = root.node(from);
+                parent.node(key).from(source);
+                final @Nullable ConfigurationNode sourceParent = source.parent();
+                if (sourceParent != null) {
+                    sourceParent.removeChild(source.key());
+                }
+            } else if (value == null) {
+                parent.removeChild(key);
+            } else if (this.kind == Kind.ADD && parent.isList() && key instanceof Integer) {
+                insert(parent, (Integer) key, value);
+            } else {
+                parent.node(key).from(value);
+            }
+        }
+
+        private static void insert(final ConfigurationNode list, final int index, final ConfigurationNode value) {
+            if (list instanceof AbstractConfigurationNode<?, ?>) {
+                ((AbstractConfigurationNode<?, ?>) list).insertListNode(index).from(value);
+                return;
+            }
+
+            final int size = list.childrenList().size();
+            list.appendListNode().from(value);
+            if (index < size) {
+                // shift later elements back by one
+                for (int i = size; i > index; --i) {
+                    list.node(i).from(list.node(i - 1));
+                }
+                list.node(index).from(value);
+            }
+        }
+
+        private static NodePath parentPath(final NodePath path) {
+            final Object[] elements = path.array();
+            final Object[] parent = new Object[elements.length - 1];
+            System.arraycopy(elements, 0, parent, 0, parent.length);
+            return NodePath.of(parent);
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Operation)) {
+                return false;
+            }
+            final Operation that = (Operation) other;
+            return this.kind == that.kind
+                && this.path.equals(that.path)
+                && Objects.equals(this.from, that.from)
+                && this.sameValue(that);
+        }
+
+        private boolean sameValue(final Operation that) {
+            final @Nullable ConfigurationNode value = this.value;
+            final @Nullable ConfigurationNode thatValue = that.value;
+            if (value == null || thatValue == null) {
+                return value == thatValue;
+            }
+            // values are detached, so their keys are not compared
+            return new Digests().same(value, thatValue);
+        }
+
+        private long valueDigest() {
+            return this.value == null ? 0 : digest(this.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.kind, this.path, this.from, this.valueDigest());
+        }
+
+        @Override
+        public String toString() {
+            return this.kind.id() + " " + this.path
+                + (this.from == null ? "" : " from " + this.from)
+                + (this.value == null ? "" : " = " + this.value.raw());
+        }
+
+    }
+
+    /**
+     * Digests of every node visited, computed in one pass per tree.
+     */
+    static final class Digests implements ConfigurationVisitor.Safe<Deque<long[]>, Void> {
+
+        private final Map<ConfigurationNode, Long> digests = new IdentityHashMap<>();
+        // nodes whose digest includes a scalar's hash code, and may collide
+        private final Set<ConfigurationNode> weak = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * Get whether two nodes are equal, by digest where the digest is
+         * reliable, and by value otherwise.
+         *
+         * @param first the first node
+         * @param second the second node
+         * @return whether the nodes are equal
+         */
+        boolean same(final ConfigurationNode first, final ConfigurationNode second) {
+            if (this.get(first) != this.get(second)) {
+                return false;
+            }
+            if (!this.weak.contains(first) && !this.weak.contains(second)) {
+                return true;
+            }
+            // comments and attributes are digested reliably, only values are left
+            if (first.isMap()) {
+                final Map<Object, ? extends ConfigurationNode> firstChildren = first.childrenMap();
+                final Map<Object, ? extends ConfigurationNode> secondChildren = second.childrenMap();
+                if (!second.isMap() || firstChildren.size() != secondChildren.size()) {
+                    return false;
+                }
+                for (final Map.Entry<Object, ? extends ConfigurationNode> entry : firstChildren.entrySet()) {
+                    final @Nullable ConfigurationNode other = secondChildren.get(entry.getKey());
+                    if (other == null || !this.same(entry.getValue(), other)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (first.isList()) {
+                final List<? extends ConfigurationNode> firstChildren = first.childrenList();
+                final List<? extends ConfigurationNode> secondChildren = second.childrenList();
+                if (!second.isList() || firstChildren.size() != secondChildren.size()) {
+                    return false;
+                }
+                for (int i = 0; i < firstChildren.size(); ++i) {
+                    if (!this.same(firstChildren.get(i), secondChildren.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            } else {
+                return Objects.equals(first.rawScalar(), second.rawScalar());
+            }
+        }
+
+        long get(final ConfigurationNode node) {
+            final @Nullable Long known = this.digests.get(node);
+            if (known != null) {
+                return known;
+            }
+            if (absent(node)) {
+                return nullDigest(node);
+            }
+
+            node.visit(this, new ArrayDeque<>());
+            return requireNonNull(this.digests.get(node), "digest");
+        }
+
+        @Override
+        public Deque<long[]> newState() {
+            return new ArrayDeque<>();
+        }
+
+        @Override
+        public void beginVisit(final ConfigurationNode node, final Deque<long[]> state) {
+        }
+
+        @Override
+        public void enterNode(final ConfigurationNode node, final Deque<long[]> state) {
+            if (absent(node)) {
+                // empty children are entered, but have no value to enter
+                this.exit(node, nullDigest(node), false, state);
+            }
+        }
+
+        @Override
+        public void enterMappingNode(final ConfigurationNode node, final Deque<long[]> state) {
+            state.push(new long[] {TYPE_MAP + metadata(node), 0});
+        }
+
+        @Override
+        public void enterListNode(final ConfigurationNode node, final Deque<long[]> state) {
+            state.push(new long[] {TYPE_LIST + metadata(node), 0});
+        }
+
+        @Override
+        public void enterScalarNode(final ConfigurationNode node, final Deque<long[]> state) {
+            final @Nullable Object value = node.rawScalar();
+            this.exit(node, mix(TYPE_SCALAR + metadata(node) + 31 * value(value)), value != null && !exact(value), state);
+        }
+
+        @Override
+        public void exitMappingNode(final ConfigurationNode node, final Deque<long[]> state) {
+            final long[] own = state.pop();
+            this.exit(node, mix(own[0]), own[1] != 0, state);
+        }
+
+        @Override
+        public void exitListNode(final ConfigurationNode node, final Deque<long[]> state) {
+            final long[] own = state.pop();
+            this.exit(node, mix(own[0]), own[1] != 0, state);
+        }
+
+        private void exit(final ConfigurationNode node, final long digest, final boolean weak, final Deque<long[]> state) {
+            this.digests.put(node, digest);
+            if (weak) {
+                this.weak.add(node);
+            }
+            final long @Nullable [] parent = state.peek();
+            if (parent == null) {
+                return;
+            }
+
+            final @Nullable ConfigurationNode parentNode = node.parent();
+            if (parentNode != null && parentNode.isList()) {
+                // order matters in lists
+                parent[0] = mix(parent[0] * 31 + digest);
+            } else {
+                // but not in maps
+                final @Nullable Object key = node.key();
+                parent[0] += mix(value(key) * 31 + digest);
+                if (key != null && !exact(key)) {
+                    parent[1] = 1;
+                }
+            }
+            if (weak) {
+                parent[1] = 1;
+            }
+        }
+
+        @Override
+        public Void endVisit(final Deque<long[]> state) {
+            return null;
+        }
+
+        private static long nullDigest(final ConfigurationNode node) {
+            return mix(TYPE_NULL + metadata(node));
+        }
+
+        private static long metadata(final ConfigurationNode node) {
+            long result = 0;
+            if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
+                final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
+                if (comment != null) {
+                    result = string(comment);
+                }
+            }
+            if (node instanceof AttributedConfigurationNode) {
+                final AttributedConfigurationNode attributed = (AttributedConfigurationNode) node;
+                result = result * 31 + string(attributed.tagName());
+                for (final Map.Entry<String, String> attribute : attributed.attributes().entrySet()) {
+                    result += mix(string(attribute.getKey()) * 31 + string(attribute.getValue()));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Get whether the digest of a scalar identifies its value, rather
+         * than only its hash code.
+         *
+         * @param value the scalar value
+         * @return whether equal digests imply equal values
+         */
+        private static boolean exact(final Object value) {
+            return value instanceof String
+                || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float
+                // their hash codes already differ for every value
+                || value instanceof Boolean || value instanceof Character;
+        }
+
+        private static long value(final @Nullable Object value) {
+            if (value == null) {
+                return TYPE_NULL;
+            }
+
+            final long bits;
+            if (value instanceof String) {
+                bits = string((String) value);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                bits = ((Number) value).longValue();
+            } else if (value instanceof Double || value instanceof Float) {
+                bits = Double.doubleToLongBits(((Number) value).doubleValue());
+            } else {
+                bits = value.hashCode();
+            }
+            // equal values of different types are not equal nodes
+            return mix(string(value.getClass().getName()) * 31 + bits);
+        }
+
+        private static long string(final String value) {
+            // FNV-1a
+            long result = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); ++i) {
+                result ^= value.charAt(i);
+                result *= 0x100000001b3L;
+            }
+            return result;
+        }
+
+        private static long mix(final long value) {
+            // the splitmix64 finalizer
+            long result = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            result = (result ^ (result >>> 27)) * 0x94d049bb133111ebL;
+            return result ^ (result >>> 31);
+        }
+
+    }
+
+}
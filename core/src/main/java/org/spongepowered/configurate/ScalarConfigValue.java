@@ -16,6 +16,8 @@
  */
 package org.spongepowered.configurate;
 
+import static java.util.Objects.requireNonNull;
+
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Collection;
@@ -24,29 +26,57 @@ import java.util.Objects;
 
 /**
  * A {@link ConfigValue} which holds a single ("scalar") value.
+ *
+ * <p>Values of the common primitive wrapper types are held unboxed by one of
+ * the nested subclasses, chosen by {@link #canHold(Object)}. Any other value
+ * is held by {@link OfObject}.</p>
  */
-final class ScalarConfigValue<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> implements ConfigValue<N, A> {
+abstract class ScalarConfigValue<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> implements ConfigValue<N, A> {
 
-    private final A holder;
-    private volatile @Nullable Object value;
+    final A holder;
 
     ScalarConfigValue(final A holder) {
         this.holder = holder;
     }
 
-    @Override
-    public @Nullable Object get() {
-        return this.value;
+    /**
+     * Create an empty scalar value that can hold {@code value}.
+     *
+     * @param holder the node holding the value
+     * @param value the value that will be set
+     * @param <N> the node type
+     * @param <A> the implementation node type
+     * @return a new scalar value
+     */
+    static <N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> ScalarConfigValue<N, A> forValue(
+            final A holder, final Object value) {
+        if (value instanceof Integer) {
+            return new OfInt<>(holder);
+        } else if (value instanceof Long) {
+            return new OfLong<>(holder);
+        } else if (value instanceof Double) {
+            return new OfDouble<>(holder);
+        } else if (value instanceof Boolean) {
+            return new OfBoolean<>(holder);
+        } else {
+            return new OfObject<>(holder);
+        }
     }
 
-    @Override
-    public void set(final @Nullable Object value) {
-        if (value != null && !this.holder.options().acceptsType(value.getClass())) {
-            throw new IllegalArgumentException("Configuration does not accept objects of type " + value.getClass());
+    static void checkAccepted(final AbstractConfigurationNode<?, ?> holder, final Class<?> type) {
+        if (!holder.options().acceptsType(type)) {
+            throw new IllegalArgumentException("Configuration does not accept objects of type " + type);
         }
-        this.value = value;
     }
 
+    /**
+     * Get whether this value can store {@code value} without being replaced.
+     *
+     * @param value the value to test
+     * @return whether the value can be held
+     */
+    abstract boolean canHold(Object value);
+
     @Override
     public @Nullable A putChild(final Object key, final @Nullable A value) {
         return null;
@@ -68,23 +98,16 @@ final class ScalarConfigValue<N extends ScopedConfigurationNode<N>, A extends Ab
     }
 
     @Override
-    public ScalarConfigValue<N, A> copy(final A holder) {
-        final ScalarConfigValue<N, A> copy = new ScalarConfigValue<>(holder);
-        copy.value = this.value;
-        return copy;
-    }
+    public abstract ScalarConfigValue<N, A> copy(A holder);
 
     @Override
-    @SuppressWarnings("checkstyle:UnnecessaryParentheses")
     public boolean isEmpty() {
-        final @Nullable Object value = this.value;
-        return (value instanceof String && ((String) value).isEmpty())
-                || (value instanceof Collection<?> && ((Collection<?>) value).isEmpty());
+        return false;
     }
 
     @Override
     public void clear() {
-        this.value = null;
+        // unboxed values have nothing to clear, the node replaces them instead
     }
 
     @Override
@@ -96,17 +119,286 @@ final class ScalarConfigValue<N extends ScopedConfigurationNode<N>, A extends Ab
             return false;
         }
         final ScalarConfigValue<?, ?> that = (ScalarConfigValue<?, ?>) other;
-        return Objects.equals(this.value, that.value);
+        return Objects.equals(this.get(), that.get());
     }
 
     @Override
     public int hashCode() {
-        return 7 + Objects.hashCode(this.value);
+        return 7 + Objects.hashCode(this.get());
     }
 
     @Override
     public String toString() {
-        return "ScalarConfigValue{value=" + this.value + '}';
+        return "ScalarConfigValue{value=" + this.get() + '}';
+    }
+
+    /**
+     * A scalar value holding any object not stored unboxed.
+     */
+    static final class OfObject<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends ScalarConfigValue<N, A> {
+
+        private volatile @Nullable Object value;
+
+        OfObject(final A holder) {
+            super(holder);
+        }
+
+        @Override
+        boolean canHold(final Object value) {
+            return !(value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean);
+        }
+
+        @Override
+        public @Nullable Object get() {
+            return this.value;
+        }
+
+        @Override
+        public void set(final @Nullable Object value) {
+            if (value != null) {
+                checkAccepted(this.holder, value.getClass());
+            }
+            this.value = value;
+        }
+
+        @Override
+        public OfObject<N, A> copy(final A holder) {
+            final OfObject<N, A> copy = new OfObject<>(holder);
+            copy.value = this.value;
+            return copy;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:UnnecessaryParentheses")
+        public boolean isEmpty() {
+            final @Nullable Object value = this.value;
+            return (value instanceof String && ((String) value).isEmpty())
+                    || (value instanceof Collection<?> && ((Collection<?>) value).isEmpty());
+        }
+
+        @Override
+        public void clear() {
+            this.value = null;
+        }
+
+    }
+
+    /**
+     * A scalar value holding an unboxed {@code int}.
+     */
+    static final class OfInt<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends ScalarConfigValue<N, A> {
+
+        private volatile int value;
+        // boxed lazily by get(), and replaced once it no longer matches
+        private volatile @Nullable Integer boxed;
+
+        OfInt(final A holder) {
+            super(holder);
+            checkAccepted(holder, Integer.class);
+        }
+
+        int intValue() {
+            return this.value;
+        }
+
+        void setInt(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean canHold(final Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        public Object get() {
+            final int value = this.value;
+            @Nullable Integer boxed = this.boxed;
+            if (boxed == null || boxed != value) {
+                this.boxed = boxed = value;
+            }
+            return boxed;
+        }
+
+        @Override
+        public void set(final @Nullable Object value) {
+            this.value = (Integer) requireNonNull(value, "value");
+        }
+
+        @Override
+        public OfInt<N, A> copy(final A holder) {
+            final OfInt<N, A> copy = new OfInt<>(holder);
+            copy.value = this.value;
+            return copy;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Integer.hashCode(this.value);
+        }
+
+    }
+
+    /**
+     * A scalar value holding an unboxed {@code long}.
+     */
+    static final class OfLong<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends ScalarConfigValue<N, A> {
+
+        private volatile long value;
+        // boxed lazily by get(), and replaced once it no longer matches
+        private volatile @Nullable Long boxed;
+
+        OfLong(final A holder) {
+            super(holder);
+            checkAccepted(holder, Long.class);
+        }
+
+        long longValue() {
+            return this.value;
+        }
+
+        void setLong(final long value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean canHold(final Object value) {
+            return value instanceof Long;
+        }
+
+        @Override
+        public Object get() {
+            final long value = this.value;
+            @Nullable Long boxed = this.boxed;
+            if (boxed == null || boxed != value) {
+                this.boxed = boxed = value;
+            }
+            return boxed;
+        }
+
+        @Override
+        public void set(final @Nullable Object value) {
+            this.value = (Long) requireNonNull(value, "value");
+        }
+
+        @Override
+        public OfLong<N, A> copy(final A holder) {
+            final OfLong<N, A> copy = new OfLong<>(holder);
+            copy.value = this.value;
+            return copy;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Long.hashCode(this.value);
+        }
+
+    }
+
+    /**
+     * A scalar value holding an unboxed {@code double}.
+     */
+    static final class OfDouble<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends ScalarConfigValue<N, A> {
+
+        private volatile double value;
+        // boxed lazily by get(), and replaced once it no longer matches
+        private volatile @Nullable Double boxed;
+
+        OfDouble(final A holder) {
+            super(holder);
+            checkAccepted(holder, Double.class);
+        }
+
+        double doubleValue() {
+            return this.value;
+        }
+
+        void setDouble(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean canHold(final Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        public Object get() {
+            final double value = this.value;
+            @Nullable Double boxed = this.boxed;
+            if (boxed == null || Double.doubleToRawLongBits(boxed) != Double.doubleToRawLongBits(value)) {
+                this.boxed = boxed = value;
+            }
+            return boxed;
+        }
+
+        @Override
+        public void set(final @Nullable Object value) {
+            this.value = (Double) requireNonNull(value, "value");
+        }
+
+        @Override
+        public OfDouble<N, A> copy(final A holder) {
+            final OfDouble<N, A> copy = new OfDouble<>(holder);
+            copy.value = this.value;
+            return copy;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Double.hashCode(this.value);
+        }
+
+    }
+
+    /**
+     * A scalar value holding an unboxed {@code boolean}.
+     */
+    static final class OfBoolean<N extends ScopedConfigurationNode<N>, A extends AbstractConfigurationNode<N, A>> extends ScalarConfigValue<N, A> {
+
+        private volatile boolean value;
+
+        OfBoolean(final A holder) {
+            super(holder);
+            checkAccepted(holder, Boolean.class);
+        }
+
+        boolean booleanValue() {
+            return this.value;
+        }
+
+        void setBoolean(final boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean canHold(final Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        public Object get() {
+            // both boxes are cached by Boolean.valueOf
+            return this.value;
+        }
+
+        @Override
+        public void set(final @Nullable Object value) {
+            this.value = (Boolean) requireNonNull(value, "value");
+        }
+
+        @Override
+        public OfBoolean<N, A> copy(final A holder) {
+            final OfBoolean<N, A> copy = new OfBoolean<>(holder);
+            copy.value = this.value;
+            return copy;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7 + Boolean.hashCode(this.value);
+        }
+
     }
 
 }
@@ -74,6 +74,18 @@ public interface ScopedConfigurationNode<N extends ScopedConfigurationNode<N>> e
     @Override
     N node(Iterable<?> path);
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable N peek(Object... path);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nullable N peek(Iterable<?> path);
+
     /**
      * {@inheritDoc}
      */
@@ -92,6 +104,15 @@ public interface ScopedConfigurationNode<N extends ScopedConfigurationNode<N>> e
     @Override
     N mergeFrom(ConfigurationNode other);
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    default N apply(final NodeDiff patch) {
+        patch.applyTo(this);
+        return this.self();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -191,6 +212,26 @@ public interface ScopedConfigurationNode<N extends ScopedConfigurationNode<N>> e
     @Override
     N raw(@Nullable Object value);
 
+    @Override
+    default N rawInt(final int value) {
+        return this.raw(value);
+    }
+
+    @Override
+    default N rawLong(final long value) {
+        return this.raw(value);
+    }
+
+    @Override
+    default N rawDouble(final double value) {
+        return this.raw(value);
+    }
+
+    @Override
+    default N rawBoolean(final boolean value) {
+        return this.raw(value);
+    }
+
     /**
      * {@inheritDoc}
      */
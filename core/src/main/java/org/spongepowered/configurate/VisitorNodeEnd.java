@@ -38,6 +38,10 @@ final class VisitorNodeEnd {
         return this.end;
     }
 
+    boolean isMap() {
+        return this.isMap;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -28,11 +28,14 @@ import org.spongepowered.configurate.ScopedConfigurationNode;
 import org.spongepowered.configurate.reference.ConfigurationReference;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -86,6 +89,20 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected final @Nullable Callable<BufferedReader> source;
 
+    /**
+     * The source of UTF-8 encoded bytes for this loader.
+     *
+     * <p>Can be null, in which case {@link #source} is used.</p>
+     *
+     * @since 4.2.0
+     */
+    protected final @Nullable Callable<InputStream> byteSource;
+
+    /**
+     * The document to load, if the byte source is an in-memory array.
+     */
+    private final byte @Nullable [] bytes;
+
     /**
      * The writer sink for this loader.
      *
@@ -108,6 +125,16 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     private final ConfigurationOptions defaultOptions;
 
+    /**
+     * Whether map keys are pooled while loading.
+     */
+    private final boolean internKeys;
+
+    /**
+     * The maximum length of scalar strings pooled while loading.
+     */
+    private final int internScalarLength;
+
     /**
      * Create a loader instance from a builder.
      *
@@ -118,10 +145,28 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
      */
     protected AbstractConfigurationLoader(final Builder<?, ?> builder, final CommentHandler[] commentHandlers) {
         this.source = builder.source();
+        this.byteSource = builder.byteSource();
+        this.bytes = builder.bytes();
         this.sink = builder.sink();
         this.headerMode = builder.headerMode();
         this.commentHandlers = UnmodifiableCollections.toList(commentHandlers);
         this.defaultOptions = builder.defaultOptions();
+        this.internKeys = builder.internKeys();
+        this.internScalarLength = builder.internScalarLength();
+    }
+
+    /**
+     * Create a pool for strings read during a single load operation, as
+     * configured on this loader's builder.
+     *
+     * <p>Loaders that build nodes from their own parser should pass every map
+     * key and string scalar they read through the pool.</p>
+     *
+     * @return a new string pool
+     * @since 4.2.0
+     */
+    protected final StringPool newStringPool() {
+        return StringPool.create(this.internKeys, this.internScalarLength);
     }
 
     /**
@@ -144,6 +189,9 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         if (this.source == null) {
             throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, "", "No source present to read from!", null);
         }
+        if (this.byteSource != null && this.readsBytes()) {
+            return this.loadBytes(this.byteSource, options);
+        }
         try (BufferedReader reader = this.source.call()) {
             if (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE) {
                 final @Nullable String comment = CommentHandlers.extractComment(reader, this.commentHandlers);
@@ -166,6 +214,45 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         }
     }
 
+    private N loadBytes(final Callable<InputStream> byteSource, ConfigurationOptions options) throws ParsingException {
+        try (InputStream input = new BufferedInputStream(byteSource.call())) {
+            if (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE) {
+                // retain everything the header check reads, so we can go back if there is no header
+                input.mark(Integer.MAX_VALUE);
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+                final @Nullable String comment = CommentHandlers.extractComment(reader, this.commentHandlers);
+                if (comment != null) {
+                    // the reader has consumed an unknown amount of input, so continue reading characters
+                    if (comment.length() > 0) {
+                        options = options.header(comment);
+                    }
+                    final N node = createNode(options);
+                    loadInternal(node, reader);
+                    return node;
+                }
+                input.reset();
+            }
+            final N node = createNode(options);
+            final byte @Nullable [] bytes = this.bytes;
+            if (bytes != null) {
+                // the parser can read the array itself, rather than copying it through a stream
+                loadInternal(node, bytes, 0, bytes.length);
+            } else {
+                loadInternal(node, input);
+            }
+            return node;
+        } catch (final ParsingException ex) {
+            throw ex;
+        } catch (final FileNotFoundException | NoSuchFileException e) {
+            // Squash -- there's nothing to read
+            return createNode(options);
+        } catch (final IOException e) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, options.header(), null, e);
+        } catch (final Exception e) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, options.header(), "Unknown error occurred while loading", e);
+        }
+    }
+
     /**
      * Using a created node, attempt to read a configuration file.
      *
@@ -179,6 +266,120 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
     @ForOverride
     protected abstract void loadInternal(N node, BufferedReader reader) throws ParsingException;
 
+    /**
+     * Get whether this loader can parse UTF-8 encoded bytes directly.
+     *
+     * <p>Loaders returning {@code true} must override
+     * {@link #loadInternal(ScopedConfigurationNode, InputStream)}. It will be
+     * used instead of the character-based method whenever a
+     * {@link #byteSource} is available and the document has no header.</p>
+     *
+     * @return whether bytes are read directly
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected boolean readsBytes() {
+        return false;
+    }
+
+    /**
+     * Using a created node, attempt to read a configuration file from
+     * UTF-8 encoded bytes.
+     *
+     * <p>This is only called when {@link #readsBytes()} is true. By default,
+     * the input is decoded and passed to
+     * {@link #loadInternal(ScopedConfigurationNode, BufferedReader)}.</p>
+     *
+     * @param node node to load into
+     * @param input input to load from
+     * @throws ParsingException if an error occurs at any stage of loading
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected void loadInternal(final N node, final InputStream input) throws ParsingException {
+        this.loadInternal(node, new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Using a created node, attempt to read a configuration from a UTF-8
+     * encoded array.
+     *
+     * <p>This is only called when {@link #readsBytes()} is true and the
+     * source was set with {@link Builder#bytes(byte[])}. By default, the
+     * array is passed to
+     * {@link #loadInternal(ScopedConfigurationNode, InputStream)}.</p>
+     *
+     * @param node node to load into
+     * @param data the array holding the document
+     * @param offset the index of the document's first byte
+     * @param length the length of the document
+     * @throws ParsingException if an error occurs at any stage of loading
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected void loadInternal(final N node, final byte[] data, final int offset, final int length) throws ParsingException {
+        this.loadInternal(node, new ByteArrayInputStream(data, offset, length));
+    }
+
+    @Override
+    public NodeEventReader readEvents() throws ParsingException {
+        if (this.source == null) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, "", "No source present to read from!", null);
+        }
+        @Nullable BufferedReader reader = null;
+        try {
+            reader = this.source.call();
+            if (this.headerMode == HeaderMode.PRESERVE || this.headerMode == HeaderMode.NONE) {
+                CommentHandlers.extractComment(reader, this.commentHandlers);
+            }
+            return readEventsInternal(reader);
+        } catch (final FileNotFoundException | NoSuchFileException e) {
+            // Squash -- there's nothing to read
+            return NodeEventReader.of(createNode());
+        } catch (final Exception e) {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (final IOException ex) {
+                    e.addSuppressed(ex);
+                }
+            }
+            if (e instanceof ParsingException) {
+                throw (ParsingException) e;
+            } else if (e instanceof IOException) {
+                throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, null, e);
+            } else {
+                throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, "Unknown error occurred while loading", e);
+            }
+        }
+    }
+
+    /**
+     * Create an event reader for a configuration file.
+     *
+     * <p>The header will already have been read if applicable. The returned
+     * reader takes ownership of {@code reader}, closing it when
+     * itself closed.</p>
+     *
+     * <p>Loaders able to parse their format incrementally should override
+     * this method. By default, the full document is loaded into a node.</p>
+     *
+     * @param reader reader to read from
+     * @return a new event reader
+     * @throws ParsingException if an error occurs opening the document
+     * @since 4.2.0
+     */
+    @ForOverride
+    protected NodeEventReader readEventsInternal(final BufferedReader reader) throws ParsingException {
+        final N node = createNode();
+        try (BufferedReader ignored = reader) {
+            loadInternal(node, reader);
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+        return NodeEventReader.of(node);
+    }
+
     @Override
     public void save(final ConfigurationNode node) throws ConfigurateException {
         if (this.sink == null) {
@@ -271,8 +472,12 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
 
         protected HeaderMode headerMode = HeaderMode.PRESERVE;
         protected @Nullable Callable<BufferedReader> source;
+        protected @Nullable Callable<InputStream> byteSource;
+        protected byte @Nullable [] bytes;
         protected @Nullable Callable<BufferedWriter> sink;
         protected ConfigurationOptions defaultOptions = ConfigurationOptions.defaults();
+        protected boolean internKeys;
+        protected int internScalarLength;
 
         /**
          * Create a new builder.
@@ -307,6 +512,8 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
             if (headerMode != null) {
                 this.headerMode = headerMode;
             }
+            this.internKeys = source.getBoolean(this.internKeys, "intern-keys");
+            this.internScalarLength(source.getInt(this.internScalarLength, "intern-scalar-length"));
             this.populate(source);
             return this.self();
         }
@@ -349,7 +556,9 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          * Sets the sink and source of the resultant loader to the given path.
          *
          * <p>The {@link #source() source} is defined using
-         * {@link Files#newBufferedReader(Path)} with UTF-8 encoding.</p>
+         * {@link Files#newBufferedReader(Path)} with UTF-8 encoding, and the
+         * {@link #byteSource() byte source} using
+         * {@link Files#newInputStream(Path, java.nio.file.OpenOption...)}.</p>
          *
          * <p>The {@link #sink() sink} is defined using {@link AtomicFiles} with UTF-8
          * encoding.</p>
@@ -361,6 +570,8 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
         public T path(final Path path) {
             final Path absPath = requireNonNull(path, "path").toAbsolutePath();
             this.source = () -> Files.newBufferedReader(absPath, StandardCharsets.UTF_8);
+            this.byteSource = () -> Files.newInputStream(absPath);
+            this.bytes = null;
             this.sink = AtomicFiles.atomicWriterFactory(absPath, StandardCharsets.UTF_8);
             return self();
         }
@@ -374,14 +585,15 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          */
         public T url(final URL url) {
             requireNonNull(url, "url");
-            this.source = () -> new BufferedReader(new InputStreamReader(url.openConnection().getInputStream(), StandardCharsets.UTF_8));
+            this.byteSource(() -> url.openConnection().getInputStream());
             return self();
         }
 
         /**
          * Sets the source of the resultant loader.
          *
-         * <p>The "source" is used by the loader to load the configuration.</p>
+         * <p>The "source" is used by the loader to load the configuration.
+         * This replaces any {@link #byteSource() byte source}.</p>
          *
          * @param source the source
          * @return this builder (for chaining)
@@ -389,9 +601,72 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
          */
         public T source(final @Nullable Callable<BufferedReader> source) {
             this.source = source;
+            this.byteSource = null;
+            this.bytes = null;
             return self();
         }
 
+        /**
+         * Sets the source of the resultant loader to UTF-8 encoded bytes.
+         *
+         * <p>Loaders able to parse bytes directly will do so, skipping
+         * character decoding. For other loaders, this also sets the
+         * {@link #source() character source} to decode the provided input.</p>
+         *
+         * @param byteSource the byte source
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T byteSource(final @Nullable Callable<InputStream> byteSource) {
+            this.byteSource = byteSource;
+            this.bytes = null;
+            this.source = byteSource == null ? null : () -> new BufferedReader(new InputStreamReader(byteSource.call(), StandardCharsets.UTF_8));
+            return self();
+        }
+
+        /**
+         * Sets the source of the resultant loader to a UTF-8 encoded document
+         * held in memory.
+         *
+         * <p>Loaders able to parse bytes directly will read the array
+         * itself, without copying it through a stream. Other loaders decode
+         * it, as with {@link #byteSource(Callable)}.</p>
+         *
+         * <p>The array is not copied, so it must not be modified while the
+         * resultant loader is in use.</p>
+         *
+         * @param bytes the encoded document
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T bytes(final byte[] bytes) {
+            requireNonNull(bytes, "bytes");
+            this.byteSource(() -> new ByteArrayInputStream(bytes));
+            this.bytes = bytes;
+            return self();
+        }
+
+        /**
+         * Gets the in-memory document to be used by the resultant loader.
+         *
+         * @return the encoded document, or {@code null} if the source is
+         *     not an array
+         * @since 4.2.0
+         */
+        public byte @Nullable [] bytes() {
+            return this.bytes;
+        }
+
+        /**
+         * Gets the byte source to be used by the resultant loader.
+         *
+         * @return the byte source
+         * @since 4.2.0
+         */
+        public @Nullable Callable<InputStream> byteSource() {
+            return this.byteSource;
+        }
+
         /**
          * Gets the source to be used by the resultant loader.
          *
@@ -448,6 +723,66 @@ public abstract class AbstractConfigurationLoader<N extends ScopedConfigurationN
             return this.headerMode;
         }
 
+        /**
+         * Set whether map keys should be deduplicated while loading.
+         *
+         * <p>Documents made of many similar records repeat the same keys over
+         * and over. With this option enabled, each distinct key is only
+         * retained once per loaded tree, at the cost of a hash lookup for each
+         * key read. This only applies to loaders that parse documents
+         * into nodes themselves.</p>
+         *
+         * @param internKeys whether to deduplicate keys
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T internKeys(final boolean internKeys) {
+            this.internKeys = internKeys;
+            return self();
+        }
+
+        /**
+         * Get whether map keys should be deduplicated while loading.
+         *
+         * @return whether to deduplicate keys
+         * @since 4.2.0
+         */
+        public boolean internKeys() {
+            return this.internKeys;
+        }
+
+        /**
+         * Set the maximum length of string scalar values that should be
+         * deduplicated while loading.
+         *
+         * <p>Like {@link #internKeys(boolean)}, this only applies to loaders
+         * that parse documents into nodes themselves.</p>
+         *
+         * @param maxLength the maximum length, or {@code 0} to not
+         *     deduplicate scalars
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public T internScalarLength(final int maxLength) {
+            if (maxLength < 0) {
+                throw new IllegalArgumentException("Maximum length must not be negative, but was " + maxLength);
+            }
+            this.internScalarLength = maxLength;
+            return self();
+        }
+
+        /**
+         * Get the maximum length of string scalar values that should be
+         * deduplicated while loading.
+         *
+         * @return the maximum length, or {@code 0} if scalars are not
+         *     deduplicated
+         * @since 4.2.0
+         */
+        public int internScalarLength() {
+            return this.internScalarLength;
+        }
+
         /**
          * Sets the default configuration options to be used by the
          * resultant loader.
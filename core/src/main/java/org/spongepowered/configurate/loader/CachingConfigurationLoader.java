@@ -0,0 +1,273 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.ScopedConfigurationNode;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A loader that keeps the last tree parsed from a file, and only asks
+ * another loader to parse the file again once it has changed.
+ *
+ * <p>A file is considered unchanged while its size and modification time
+ * stay the same. When contents are verified, a digest of the file is
+ * compared instead of the modification time, which also catches edits
+ * made within the timestamp resolution of the file system, and avoids
+ * parsing again when a file is only touched.</p>
+ *
+ * <p>Each load returns a new copy of the cached tree, so callers are free
+ * to modify the returned node. Saving through this loader discards the
+ * cached tree.</p>
+ *
+ * @param <N> the node type
+ * @since 4.2.0
+ */
+public final class CachingConfigurationLoader<N extends ScopedConfigurationNode<N>> implements ConfigurationLoader<N> {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final ConfigurationLoader<N> delegate;
+    private final Path file;
+    private final boolean verifyContents;
+    private final Object lock = new Object();
+    private volatile @Nullable Entry<N> cached;
+
+    /**
+     * Cache trees loaded by {@code delegate} from {@code file}.
+     *
+     * <p>The file is compared by size and modification time.</p>
+     *
+     * @param delegate the loader to parse the file with
+     * @param file the file {@code delegate} reads from
+     * @param <N> the node type
+     * @return a new caching loader
+     * @since 4.2.0
+     */
+    public static <N extends ScopedConfigurationNode<N>> CachingConfigurationLoader<N> of(final ConfigurationLoader<N> delegate, final Path file) {
+        return of(delegate, file, false);
+    }
+
+    /**
+     * Cache trees loaded by {@code delegate} from {@code file}.
+     *
+     * @param delegate the loader to parse the file with
+     * @param file the file {@code delegate} reads from
+     * @param verifyContents whether to compare a digest of the file's
+     *     contents rather than its modification time
+     * @param <N> the node type
+     * @return a new caching loader
+     * @since 4.2.0
+     */
+    public static <N extends ScopedConfigurationNode<N>> CachingConfigurationLoader<N> of(
+        final ConfigurationLoader<N> delegate,
+        final Path file,
+        final boolean verifyContents
+    ) {
+        return new CachingConfigurationLoader<>(requireNonNull(delegate, "delegate"), requireNonNull(file, "file"), verifyContents);
+    }
+
+    private CachingConfigurationLoader(final ConfigurationLoader<N> delegate, final Path file, final boolean verifyContents) {
+        this.delegate = delegate;
+        this.file = file;
+        this.verifyContents = verifyContents;
+    }
+
+    /**
+     * Get the loader files are parsed with.
+     *
+     * @return the delegate loader
+     * @since 4.2.0
+     */
+    public ConfigurationLoader<N> delegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Get the file whose contents are cached.
+     *
+     * @return the cached file
+     * @since 4.2.0
+     */
+    public Path file() {
+        return this.file;
+    }
+
+    /**
+     * Discard the cached tree, so the next load parses the file again.
+     *
+     * @since 4.2.0
+     */
+    public void invalidate() {
+        this.cached = null;
+    }
+
+    @Override
+    public N load(final ConfigurationOptions options) throws ConfigurateException {
+        @Nullable Entry<N> entry = this.cached;
+        final @Nullable Stamp stamp = this.stamp();
+        if (entry != null && entry.matches(stamp, options)) {
+            return entry.node.copy();
+        }
+
+        synchronized (this.lock) {
+            // another thread may have parsed the file while we waited
+            entry = this.cached;
+            if (entry != null && entry.matches(stamp, options)) {
+                return entry.node.copy();
+            }
+
+            final N loaded;
+            try {
+                loaded = this.delegate.load(options);
+            } catch (final ConfigurateException ex) {
+                this.cached = null;
+                throw ex;
+            }
+
+            // the stamp is taken before parsing, so a change made while
+            // parsing is still seen on the next load
+            this.cached = stamp == null ? null : new Entry<>(stamp, options, loaded.copy());
+            return loaded;
+        }
+    }
+
+    private @Nullable Stamp stamp() throws ConfigurateException {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(this.file, BasicFileAttributes.class);
+            return new Stamp(attributes.size(), attributes.lastModifiedTime(), this.verifyContents ? this.digest() : null);
+        } catch (final NoSuchFileException ex) {
+            return null;
+        } catch (final IOException ex) {
+            throw new ConfigurateException(ex);
+        }
+    }
+
+    private byte[] digest() throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IOException(ex);
+        }
+
+        final byte[] buffer = new byte[8192];
+        try (InputStream is = Files.newInputStream(this.file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    @Override
+    public ConfigurationReference<N> loadToReference() throws ConfigurateException {
+        return ConfigurationReference.fixed(this);
+    }
+
+    @Override
+    public void save(final ConfigurationNode node) throws ConfigurateException {
+        synchronized (this.lock) {
+            this.cached = null;
+            this.delegate.save(node);
+        }
+    }
+
+    @Override
+    public N createNode(final ConfigurationOptions options) {
+        return this.delegate.createNode(options);
+    }
+
+    @Override
+    public ConfigurationOptions defaultOptions() {
+        return this.delegate.defaultOptions();
+    }
+
+    @Override
+    public boolean canLoad() {
+        return this.delegate.canLoad();
+    }
+
+    @Override
+    public boolean canSave() {
+        return this.delegate.canSave();
+    }
+
+    /**
+     * The state of a file at the time it was read.
+     */
+    static final class Stamp {
+        final long size;
+        final FileTime modified;
+        final byte @Nullable [] digest;
+
+        Stamp(final long size, final FileTime modified, final byte @Nullable [] digest) {
+            this.size = size;
+            this.modified = modified;
+            this.digest = digest;
+        }
+
+        boolean sameFile(final @Nullable Stamp other) {
+            if (other == null || this.size != other.size) {
+                return false;
+            }
+            if (this.digest != null && other.digest != null) {
+                return MessageDigest.isEqual(this.digest, other.digest);
+            }
+            return this.modified.equals(other.modified);
+        }
+    }
+
+    /**
+     * A parsed tree, and the file state it was parsed from.
+     *
+     * @param <N> the node type
+     */
+    static final class Entry<N> {
+        final Stamp stamp;
+        final ConfigurationOptions options;
+        final N node;
+
+        Entry(final Stamp stamp, final ConfigurationOptions options, final N node) {
+            this.stamp = stamp;
+            this.options = options;
+            this.node = node;
+        }
+
+        boolean matches(final @Nullable Stamp stamp, final ConfigurationOptions options) {
+            // options have no equality of their own, so compare instances
+            return this.options == options && this.stamp.sameFile(stamp);
+        }
+    }
+
+}
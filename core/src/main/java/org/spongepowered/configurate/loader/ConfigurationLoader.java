@@ -70,6 +70,22 @@ public interface ConfigurationLoader<N extends ConfigurationNode> extends Config
      */
     N load(ConfigurationOptions options) throws ConfigurateException;
 
+    /**
+     * Open a reader producing structural events from the defined source,
+     * without building a node tree.
+     *
+     * <p>Loaders that cannot stream their format will load the full
+     * document and read events from the loaded node. The returned reader
+     * must be closed once no longer needed.</p>
+     *
+     * @return a new event reader
+     * @throws ConfigurateException if the source could not be opened
+     * @since 4.2.0
+     */
+    default NodeEventReader readEvents() throws ConfigurateException {
+        return NodeEventReader.of(this.load());
+    }
+
     /**
      * Attempts to load data from the defined source into a {@link ConfigurationReference}.
      * The returned reference will not reload automatically.
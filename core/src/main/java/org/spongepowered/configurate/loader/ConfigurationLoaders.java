@@ -0,0 +1,150 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static java.util.Objects.requireNonNull;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Utilities for working with several {@link ConfigurationLoader}s at once.
+ *
+ * @since 4.2.0
+ */
+public final class ConfigurationLoaders {
+
+    private ConfigurationLoaders() {
+    }
+
+    /**
+     * Load every file in {@code files}, merging them into a single node.
+     *
+     * <p>Each file is loaded with the {@link ConfigurationFormat} registered
+     * for its extension. Files are parsed concurrently on {@code executor},
+     * but merged in iteration order. When several files provide a value at
+     * the same path, the value from the file that comes first wins.</p>
+     *
+     * <p>Each file is loaded with its loader's default options.</p>
+     *
+     * @param files the files to load, in order of precedence
+     * @param executor the executor to parse files on
+     * @return a new node containing the merged values of every file
+     * @throws ConfigurateException if no format is known for a file, or if
+     *     any file fails to load
+     * @since 4.2.0
+     */
+    public static BasicConfigurationNode loadAll(final Collection<Path> files, final Executor executor) throws ConfigurateException {
+        return loadAndMerge(files, executor, null);
+    }
+
+    /**
+     * Load every file in {@code files}, merging them into a single node.
+     *
+     * <p>Each file is loaded with the {@link ConfigurationFormat} registered
+     * for its extension. Files are parsed concurrently on {@code executor},
+     * but merged in iteration order. When several files provide a value at
+     * the same path, the value from the file that comes first wins.</p>
+     *
+     * <p>Each file is loaded with {@code options} in place of its loader's
+     * default options, so serializers and native types apply to every file
+     * as well as to the merged node.</p>
+     *
+     * @param files the files to load, in order of precedence
+     * @param executor the executor to parse files on
+     * @param options the options to load each file and create the merged
+     *     node with
+     * @return a new node containing the merged values of every file
+     * @throws ConfigurateException if no format is known for a file, or if
+     *     any file fails to load
+     * @since 4.2.0
+     */
+    public static BasicConfigurationNode loadAll(
+        final Collection<Path> files,
+        final Executor executor,
+        final ConfigurationOptions options
+    ) throws ConfigurateException {
+        return loadAndMerge(files, executor, requireNonNull(options, "options"));
+    }
+
+    private static BasicConfigurationNode loadAndMerge(
+        final Collection<Path> files,
+        final Executor executor,
+        final @Nullable ConfigurationOptions options
+    ) throws ConfigurateException {
+        requireNonNull(executor, "executor");
+        // resolve every format up front, so nothing is parsed if one is missing
+        final List<ConfigurationLoader<?>> loaders = new ArrayList<>(files.size());
+        for (final Path file : files) {
+            loaders.add(formatFor(file).create(file));
+        }
+
+        final List<CompletableFuture<? extends ConfigurationNode>> results = new ArrayList<>(loaders.size());
+        for (final ConfigurationLoader<?> loader : loaders) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return options == null ? loader.load() : loader.load(options);
+                } catch (final ConfigurateException ex) {
+                    throw new CompletionException(ex);
+                }
+            }, executor));
+        }
+
+        final BasicConfigurationNode merged = BasicConfigurationNode.root(options == null ? ConfigurationOptions.defaults() : options);
+        for (final CompletableFuture<? extends ConfigurationNode> result : results) {
+            final ConfigurationNode loaded;
+            try {
+                loaded = result.join();
+            } catch (final CompletionException ex) {
+                final @Nullable Throwable cause = ex.getCause();
+                if (cause instanceof ConfigurateException) {
+                    throw (ConfigurateException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw ex;
+            }
+            merged.mergeFrom(loaded);
+        }
+        return merged;
+    }
+
+    private static ConfigurationFormat formatFor(final Path file) throws ConfigurateException {
+        final @Nullable Path fileName = file.getFileName();
+        final String name = fileName == null ? "" : fileName.toString();
+        final int dot = name.lastIndexOf('.');
+        final @Nullable ConfigurationFormat format = dot == -1
+            ? null : ConfigurationFormat.forExtension(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+        if (format == null) {
+            throw new ConfigurateException("No configuration format is known for the file " + file);
+        }
+        return format;
+    }
+
+}
@@ -93,7 +93,8 @@ final class LoaderOptionSources {
                 throw new IllegalArgumentException("A provided path must have at least one element");
             }
 
-            return this.source.node((Object[]) path).getString();
+            final @Nullable ConfigurationNode node = this.source.peek((Object[]) path);
+            return node == null ? null : node.getString();
         }
 
     }
@@ -0,0 +1,209 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+
+import java.io.IOException;
+
+/**
+ * A reader that produces a stream of structural events from a document,
+ * without building a node tree.
+ *
+ * <p>Loaders that support streaming read from their source incrementally, so
+ * a reader can extract a few values from, or validate, a document far larger
+ * than would fit in memory as nodes. Loaders without native support fall back
+ * to loading the full document and reading events from the loaded node.</p>
+ *
+ * <p>A document containing a map would produce, for example:</p>
+ * <pre>
+ *     BEGIN_MAP
+ *       KEY ("name"), SCALAR ("example")
+ *       KEY ("tags"), BEGIN_LIST, SCALAR ("a"), SCALAR ("b"), END_LIST
+ *     END_MAP
+ * </pre>
+ *
+ * <p>Once the document is exhausted, {@link #next()} returns {@code null}.
+ * Readers hold an open source, so they must be closed once no longer
+ * needed. Readers are not thread-safe.</p>
+ *
+ * @see ConfigurationLoader#readEvents()
+ * @since 4.2.0
+ */
+public interface NodeEventReader extends AutoCloseable {
+
+    /**
+     * Create a reader producing events from the contents of an
+     * existing node.
+     *
+     * <p>A node with no value produces no events.</p>
+     *
+     * @param node the node to read
+     * @return a new reader
+     * @since 4.2.0
+     */
+    static NodeEventReader of(final ConfigurationNode node) {
+        return new NodeEventReaders.TreeReader(node);
+    }
+
+    /**
+     * Advance to the next event in the document.
+     *
+     * @return the next event, or {@code null} if the end of the document
+     *     has been reached
+     * @throws ParsingException if the document is invalid or could not
+     *     be read
+     * @since 4.2.0
+     */
+    @Nullable Event next() throws ParsingException;
+
+    /**
+     * Get the event most recently returned by {@link #next()}.
+     *
+     * @return the current event, or {@code null} before the first event and
+     *     at the end of the document
+     * @since 4.2.0
+     */
+    @Nullable Event current();
+
+    /**
+     * Get the key read by the current {@link Event#KEY} event.
+     *
+     * @return the current key
+     * @throws IllegalStateException if the current event is not a key
+     * @since 4.2.0
+     */
+    Object key();
+
+    /**
+     * Get the value read by the current {@link Event#SCALAR} event.
+     *
+     * <p>Values are of the same types a loader would store in a
+     * loaded node.</p>
+     *
+     * @return the current value, which may be {@code null} for formats
+     *     with explicit null values
+     * @throws IllegalStateException if the current event is not a scalar
+     * @since 4.2.0
+     */
+    @Nullable Object scalar();
+
+    /**
+     * Skip over a value without reading its contents.
+     *
+     * <p>If the current event is {@link Event#KEY}, or no event has been
+     * read yet, the next complete value is skipped. If the current event
+     * begins a map or list, the remainder of that map or list is skipped,
+     * including its end event.</p>
+     *
+     * @throws ParsingException if the document is invalid or could not
+     *     be read
+     * @throws IllegalStateException if the current event is not one of
+     *     the events listed above
+     * @since 4.2.0
+     */
+    default void skipValue() throws ParsingException {
+        NodeEventReaders.skip(this);
+    }
+
+    /**
+     * Read a value into a node.
+     *
+     * <p>This reads the same value as {@link #skipValue()} would skip,
+     * replacing the value of {@code node} with the value read. Combined with
+     * skipping, this allows loading only part of a document as nodes.</p>
+     *
+     * @param node the node to read into
+     * @throws ParsingException if the document is invalid or could not
+     *     be read
+     * @throws IllegalStateException if the current event is not one of the
+     *     events accepted by {@link #skipValue()}
+     * @since 4.2.0
+     */
+    default void readValue(final ConfigurationNode node) throws ParsingException {
+        NodeEventReaders.read(this, node);
+    }
+
+    /**
+     * Close the source of this reader.
+     *
+     * @throws IOException if the source could not be closed
+     * @since 4.2.0
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * A structural event in a document.
+     *
+     * @since 4.2.0
+     */
+    enum Event {
+        /**
+         * The start of a map.
+         *
+         * <p>It is followed by pairs of a {@link #KEY} and a value, then
+         * a {@link #END_MAP}.</p>
+         */
+        BEGIN_MAP,
+        /**
+         * The end of a map.
+         */
+        END_MAP,
+        /**
+         * The start of a list.
+         *
+         * <p>It is followed by any number of values, then
+         * a {@link #END_LIST}.</p>
+         */
+        BEGIN_LIST,
+        /**
+         * The end of a list.
+         */
+        END_LIST,
+        /**
+         * A key in a map, available from {@link NodeEventReader#key()}.
+         */
+        KEY,
+        /**
+         * A single value, available from {@link NodeEventReader#scalar()}.
+         */
+        SCALAR;
+
+        /**
+         * Get whether this event begins a map or list.
+         *
+         * @return whether this event begins a collection
+         * @since 4.2.0
+         */
+        public boolean begins() {
+            return this == BEGIN_MAP || this == BEGIN_LIST;
+        }
+
+        /**
+         * Get whether this event ends a map or list.
+         *
+         * @return whether this event ends a collection
+         * @since 4.2.0
+         */
+        public boolean ends() {
+            return this == END_MAP || this == END_LIST;
+        }
+    }
+
+}
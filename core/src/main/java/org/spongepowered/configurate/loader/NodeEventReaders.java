@@ -0,0 +1,239 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.spongepowered.configurate.loader.ParsingException.UNKNOWN_POS;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.NodeEventReader.Event;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Shared implementation for {@link NodeEventReader}s.
+ */
+final class NodeEventReaders {
+
+    private NodeEventReaders() {
+    }
+
+    static void skip(final NodeEventReader reader) throws ParsingException {
+        final @Nullable Event start = startOfValue(reader);
+        if (start == null || !start.begins()) {
+            return;
+        }
+
+        int depth = 1;
+        while (depth > 0) {
+            final Event next = require(reader.next(), "skipping a value");
+            if (next.begins()) {
+                depth++;
+            } else if (next.ends()) {
+                depth--;
+            }
+        }
+    }
+
+    static void read(final NodeEventReader reader, final ConfigurationNode node) throws ParsingException {
+        final @Nullable Event start = startOfValue(reader);
+        if (start != null) {
+            readValue(reader, start, node);
+        }
+    }
+
+    /**
+     * Get the first event of the value at the reader's current position.
+     *
+     * @param reader the reader
+     * @return the first event of the value, or {@code null} if the document
+     *     has no value
+     * @throws ParsingException if the document could not be read
+     */
+    private static @Nullable Event startOfValue(final NodeEventReader reader) throws ParsingException {
+        final @Nullable Event current = reader.current();
+        if (current == null) {
+            return reader.next();
+        } else if (current == Event.KEY) {
+            return require(reader.next(), "reading a map value");
+        } else if (current.begins()) {
+            return current;
+        } else {
+            throw new IllegalStateException("A value can only be read at the start of a document, after a key, or at the start "
+                + "of a map or list, but the current event is " + current);
+        }
+    }
+
+    private static void readValue(final NodeEventReader reader, final Event start, final ConfigurationNode node) throws ParsingException {
+        switch (start) {
+            case SCALAR:
+                node.raw(reader.scalar());
+                break;
+            case BEGIN_MAP:
+                node.raw(null);
+                boolean emptyMap = true;
+                for (Event next = require(reader.next(), "reading a map"); next != Event.END_MAP;
+                     next = require(reader.next(), "reading a map")) {
+                    if (next != Event.KEY) {
+                        throw new ParsingException(node, UNKNOWN_POS, UNKNOWN_POS, null, "Expected a key in map, but got " + next, null);
+                    }
+                    final ConfigurationNode child = node.node(reader.key());
+                    readValue(reader, require(reader.next(), "reading a map value"), child);
+                    emptyMap = false;
+                }
+                if (emptyMap) {
+                    node.raw(Collections.emptyMap());
+                }
+                break;
+            case BEGIN_LIST:
+                node.raw(null);
+                boolean emptyList = true;
+                for (Event next = require(reader.next(), "reading a list"); next != Event.END_LIST;
+                     next = require(reader.next(), "reading a list")) {
+                    readValue(reader, next, node.appendListNode());
+                    emptyList = false;
+                }
+                if (emptyList) {
+                    node.raw(Collections.emptyList());
+                }
+                break;
+            default:
+                throw new ParsingException(node, UNKNOWN_POS, UNKNOWN_POS, null, "Expected the start of a value, but got " + start, null);
+        }
+    }
+
+    private static Event require(final @Nullable Event event, final String action) throws ParsingException {
+        if (event == null) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, "Reached end of document while " + action, null);
+        }
+        return event;
+    }
+
+    /**
+     * A reader producing events from an existing node tree.
+     */
+    static final class TreeReader implements NodeEventReader {
+
+        private final Deque<Iterator<?>> stack = new ArrayDeque<>();
+        private @Nullable ConfigurationNode pending;
+        private @Nullable Event current;
+        private @Nullable Object key;
+        private @Nullable Object scalar;
+
+        TreeReader(final ConfigurationNode root) {
+            this.pending = root.virtual() || root.isNull() ? null : root;
+        }
+
+        @Override
+        public @Nullable Event next() {
+            final @Nullable ConfigurationNode pending = this.pending;
+            if (pending != null) {
+                this.pending = null;
+                return this.current = this.begin(pending);
+            }
+
+            final @Nullable Iterator<?> top = this.stack.peek();
+            if (top == null) {
+                return this.current = null;
+            } else if (top.hasNext()) {
+                final Object next = top.next();
+                if (next instanceof Map.Entry<?, ?>) {
+                    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) next;
+                    this.key = entry.getKey();
+                    this.pending = (ConfigurationNode) entry.getValue();
+                    return this.current = Event.KEY;
+                } else {
+                    return this.current = this.begin((ConfigurationNode) next);
+                }
+            } else {
+                this.stack.pop();
+                return this.current = top instanceof MapFrame ? Event.END_MAP : Event.END_LIST;
+            }
+        }
+
+        private Event begin(final ConfigurationNode node) {
+            if (node.isMap()) {
+                this.stack.push(new MapFrame(node.childrenMap().entrySet().iterator()));
+                return Event.BEGIN_MAP;
+            } else if (node.isList()) {
+                this.stack.push(node.childrenList().iterator());
+                return Event.BEGIN_LIST;
+            } else {
+                this.scalar = node.raw();
+                return Event.SCALAR;
+            }
+        }
+
+        @Override
+        public @Nullable Event current() {
+            return this.current;
+        }
+
+        @Override
+        public Object key() {
+            final @Nullable Object key = this.key;
+            if (this.current != Event.KEY || key == null) {
+                throw new IllegalStateException("Current event is not a key, but " + this.current);
+            }
+            return key;
+        }
+
+        @Override
+        public @Nullable Object scalar() {
+            if (this.current != Event.SCALAR) {
+                throw new IllegalStateException("Current event is not a scalar, but " + this.current);
+            }
+            return this.scalar;
+        }
+
+        @Override
+        public void close() {
+            this.stack.clear();
+            this.pending = null;
+        }
+
+        /**
+         * Iterator over map entries, marked so the end of a map can be
+         * distinguished from the end of a list.
+         */
+        static final class MapFrame implements Iterator<Map.Entry<Object, ? extends ConfigurationNode>> {
+
+            private final Iterator<? extends Map.Entry<Object, ? extends ConfigurationNode>> entries;
+
+            MapFrame(final Iterator<? extends Map.Entry<Object, ? extends ConfigurationNode>> entries) {
+                this.entries = entries;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.entries.hasNext();
+            }
+
+            @Override
+            public Map.Entry<Object, ? extends ConfigurationNode> next() {
+                return this.entries.next();
+            }
+
+        }
+
+    }
+
+}
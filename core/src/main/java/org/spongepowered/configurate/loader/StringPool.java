@@ -0,0 +1,102 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pool used to deduplicate strings read while loading a single document.
+ *
+ * <p>Documents made of repeated records contain the same map keys many times
+ * over. When loaders pass every key through a pool, each distinct key is
+ * only retained once in the resulting node tree. Short scalar strings may
+ * optionally be pooled as well.</p>
+ *
+ * <p>A pool is intended to be used for a single load operation, and then
+ * discarded. Pools are not thread-safe.</p>
+ *
+ * @since 4.2.0
+ */
+public final class StringPool {
+
+    private static final StringPool DISABLED = new StringPool(false, 0);
+
+    private final boolean keys;
+    private final int maxScalarLength;
+    private final Map<String, String> pool;
+
+    /**
+     * Create a new pool.
+     *
+     * <p>If neither keys nor scalars are pooled, a shared pool that returns
+     * its input unchanged is returned.</p>
+     *
+     * @param keys whether map keys should be pooled
+     * @param maxScalarLength the maximum length of scalar strings to pool,
+     *     or {@code 0} to not pool scalars
+     * @return a pool
+     * @since 4.2.0
+     */
+    public static StringPool create(final boolean keys, final int maxScalarLength) {
+        if (maxScalarLength < 0) {
+            throw new IllegalArgumentException("Maximum scalar length must not be negative, but was " + maxScalarLength);
+        }
+        if (!keys && maxScalarLength == 0) {
+            return DISABLED;
+        }
+        return new StringPool(keys, maxScalarLength);
+    }
+
+    private StringPool(final boolean keys, final int maxScalarLength) {
+        this.keys = keys;
+        this.maxScalarLength = maxScalarLength;
+        this.pool = keys || maxScalarLength > 0 ? new HashMap<>() : Collections.emptyMap();
+    }
+
+    /**
+     * Get the pooled instance of a map key.
+     *
+     * @param key the key read from a document
+     * @return an equal string, possibly a previously pooled instance
+     * @since 4.2.0
+     */
+    public String key(final String key) {
+        return this.keys ? this.pooled(key) : key;
+    }
+
+    /**
+     * Get the pooled instance of a scalar string, if it is short
+     * enough to be pooled.
+     *
+     * @param value the value read from a document
+     * @return an equal string, possibly a previously pooled instance
+     * @since 4.2.0
+     */
+    public String scalar(final String value) {
+        return this.maxScalarLength > 0 && value.length() <= this.maxScalarLength ? this.pooled(value) : value;
+    }
+
+    private String pooled(final String value) {
+        final @Nullable String existing = this.pool.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+
+}
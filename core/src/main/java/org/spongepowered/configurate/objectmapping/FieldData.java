@@ -27,6 +27,7 @@ import org.spongepowered.configurate.objectmapping.meta.NodeResolver;
 import org.spongepowered.configurate.objectmapping.meta.Processor;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.serialize.TypeSerializerCollection;
 import org.spongepowered.configurate.util.CheckedFunction;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
@@ -66,6 +67,9 @@ public abstract class FieldData<I, O> {
                 deserializer, serializer, resolver);
     }
 
+    // the serializer last resolved, with the collection it came from
+    private volatile @Nullable ResolvedSerializer resolvedSerializer;
+
     FieldData() {
     }
 
@@ -133,10 +137,18 @@ public abstract class FieldData<I, O> {
     }
 
     TypeSerializer<?> serializerFrom(final ConfigurationNode node) throws SerializationException {
-        final @Nullable TypeSerializer<?> serial = node.options().serializers().get(resolvedType());
+        final TypeSerializerCollection serializers = node.options().serializers();
+        final @Nullable ResolvedSerializer resolved = this.resolvedSerializer;
+        // collections are immutable, so a lookup in the same collection has the same result
+        if (resolved != null && resolved.serializers == serializers) {
+            return resolved.serializer;
+        }
+
+        final @Nullable TypeSerializer<?> serial = serializers.get(resolvedType());
         if (serial == null) {
             throw new SerializationException("No TypeSerializer found for field " + name() + " of type " + resolvedType().getType());
         }
+        this.resolvedSerializer = new ResolvedSerializer(serializers, serial);
         return serial;
     }
 
@@ -151,6 +163,19 @@ public abstract class FieldData<I, O> {
         return this.nodeResolver().resolve(source);
     }
 
+    /**
+     * A serializer, and the collection it was resolved from.
+     */
+    static final class ResolvedSerializer {
+        final TypeSerializerCollection serializers;
+        final TypeSerializer<?> serializer;
+
+        ResolvedSerializer(final TypeSerializerCollection serializers, final TypeSerializer<?> serializer) {
+            this.serializers = serializers;
+            this.serializer = serializer;
+        }
+    }
+
     /**
      * A deserialization handler to appropriately place object data into fields.
      *
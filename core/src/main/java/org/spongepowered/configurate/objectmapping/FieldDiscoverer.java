@@ -127,6 +127,22 @@ public interface FieldDiscoverer<I> {
         return ObjectFieldDiscoverer.EMPTY_CONSTRUCTOR_INSTANCE;
     }
 
+    /**
+     * Create a new discoverer for objects with a {@link GeneratedAccessor}
+     * written by Configurate's annotation processor.
+     *
+     * <p>Fields are read and written, instances created, and field types
+     * and annotations described by the generated accessor rather than by
+     * reflection. Types without an accessor are left to other
+     * discoverers.</p>
+     *
+     * @return a discoverer for generated accessors
+     * @since 4.2.0
+     */
+    static FieldDiscoverer<?> generated() {
+        return GeneratedFieldDiscoverer.INSTANCE;
+    }
+
     /**
      * Inspect the {@code target} type for fields to be supplied to
      * the {@code collector}.
@@ -0,0 +1,136 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedType;
+
+/**
+ * Direct access to the fields of a {@link ConfigSerializable} class,
+ * generated at compile time.
+ *
+ * <p>Configurate's annotation processor writes an implementation of this
+ * interface next to each class it supports. The
+ * {@link FieldDiscoverer#generated() generated field discoverer} then
+ * uses it to create instances, to read and write fields, and to describe
+ * each field's type and annotations, without looking them up through
+ * reflection.</p>
+ *
+ * <p>Fields are addressed by slot, in the order a class's own fields are
+ * declared, followed by the fields of each superclass.</p>
+ *
+ * @param <T> the accessed type
+ * @since 4.2.0
+ */
+public interface GeneratedAccessor<T> {
+
+    /**
+     * The suffix added to the name of a class to find its accessor.
+     *
+     * <p>The suffix is added to the binary name, so the accessor of
+     * {@code com.example.Outer.Inner} is
+     * {@code com.example.Outer$Inner_ConfigurateAccessor}, and cannot be
+     * confused with the accessor of a top-level class
+     * {@code com.example.Outer_Inner}.</p>
+     *
+     * @since 4.2.0
+     */
+    String CLASS_SUFFIX = "_ConfigurateAccessor";
+
+    /**
+     * Get the number of fields accessed.
+     *
+     * @return the number of fields
+     * @since 4.2.0
+     */
+    int fieldCount();
+
+    /**
+     * Get the class that declares the field in a slot.
+     *
+     * @param slot the slot index
+     * @return the declaring class
+     * @since 4.2.0
+     */
+    Class<?> declaringClass(int slot);
+
+    /**
+     * Get the name of the field in a slot.
+     *
+     * @param slot the slot index
+     * @return the field name
+     * @since 4.2.0
+     */
+    String fieldName(int slot);
+
+    /**
+     * Get the generic type of the field in a slot, including its type
+     * annotations.
+     *
+     * <p>Types that refer to a type variable depend on the type being
+     * mapped, so they are not generated. The field is then resolved
+     * through reflection instead.</p>
+     *
+     * @param slot the slot index
+     * @return the field type, or {@code null} to resolve it by reflection
+     * @since 4.2.0
+     */
+    @Nullable AnnotatedType fieldType(int slot);
+
+    /**
+     * Get the runtime-retained annotations declared on the field in a slot.
+     *
+     * <p>This is only used when {@link #fieldType(int)} is not
+     * {@code null}.</p>
+     *
+     * @param slot the slot index
+     * @return the field's annotations
+     * @since 4.2.0
+     */
+    Annotation[] fieldAnnotations(int slot);
+
+    /**
+     * Create a new instance with the no-argument constructor.
+     *
+     * @return a new instance
+     * @since 4.2.0
+     */
+    T newInstance();
+
+    /**
+     * Read the value of a field.
+     *
+     * @param instance the instance to read from
+     * @param slot the slot index
+     * @return the current field value
+     * @since 4.2.0
+     */
+    @Nullable Object get(T instance, int slot);
+
+    /**
+     * Write the value of a field.
+     *
+     * @param instance the instance to write to
+     * @param slot the slot index
+     * @param value the new value, which must be of the field's type
+     * @since 4.2.0
+     */
+    void set(T instance, int slot, @Nullable Object value);
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import static io.leangen.geantyref.GenericTypeReflector.erase;
+import static io.leangen.geantyref.GenericTypeReflector.getExactSuperType;
+import static io.leangen.geantyref.GenericTypeReflector.getFieldType;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.Types;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+/**
+ * Discovers fields through an accessor generated at compile time.
+ *
+ * <p>Types without an accessor are left to the next discoverer. Field types
+ * and annotations come from the accessor too, except for types referring to
+ * a type variable, which are resolved through reflection.</p>
+ */
+final class GeneratedFieldDiscoverer implements FieldDiscoverer<@Nullable Object[]> {
+
+    static final GeneratedFieldDiscoverer INSTANCE = new GeneratedFieldDiscoverer();
+
+    // most types have no accessor, so failed lookups are remembered too
+    private static final ClassValue<Optional<Class<?>>> ACCESSOR_CLASSES = new ClassValue<Optional<Class<?>>>() {
+        @Override
+        protected Optional<Class<?>> computeValue(final Class<?> type) {
+            return Optional.ofNullable(accessorClass(type));
+        }
+    };
+
+    private GeneratedFieldDiscoverer() {
+    }
+
+    @Override
+    public <V> @Nullable InstanceFactory<@Nullable Object[]> discover(
+        final AnnotatedType target,
+        final FieldCollector<@Nullable Object[], V> collector
+    ) throws SerializationException {
+        final Class<?> clazz = erase(target.getType());
+        final @Nullable GeneratedAccessor<Object> accessor = accessorFor(clazz);
+        if (accessor == null) {
+            return null;
+        }
+
+        final ObjectFieldDiscoverer.FieldAccessor[] slots = new ObjectFieldDiscoverer.FieldAccessor[accessor.fieldCount()];
+        for (int i = 0; i < slots.length; ++i) {
+            final String name = accessor.fieldName(i);
+            final @Nullable AnnotatedType generatedType = accessor.fieldType(i);
+            final AnnotatedType fieldType;
+            final AnnotatedElement annotations;
+            if (generatedType != null) {
+                fieldType = generatedType;
+                annotations = Types.combinedAnnotations(fieldType, new AnnotationArray(accessor.fieldAnnotations(i)));
+            } else {
+                final Class<?> declaring = accessor.declaringClass(i);
+                final Field field;
+                try {
+                    field = declaring.getDeclaredField(name);
+                } catch (final NoSuchFieldException ex) {
+                    throw new SerializationException(target.getType(), "Generated accessor does not match the compiled class", ex);
+                }
+                final AnnotatedType declaringType = declaring.equals(clazz) ? target : getExactSuperType(target, declaring);
+                fieldType = getFieldType(field, declaringType);
+                annotations = Types.combinedAnnotations(fieldType, field);
+            }
+
+            final int slot = i;
+            slots[i] = new ObjectFieldDiscoverer.FieldAccessor() {
+                @Override
+                public @Nullable Object get(final Object instance) {
+                    return accessor.get(instance, slot);
+                }
+
+                @Override
+                public void set(final Object instance, final @Nullable Object value) {
+                    accessor.set(instance, slot, value);
+                }
+            };
+
+            collector.accept(name, fieldType, annotations, ObjectFieldDiscoverer.storeIn(slot), slots[i]::get);
+        }
+
+        return ObjectFieldDiscoverer.slotFactory(target, slots, accessor::newInstance, "Unable to create instances for this type!");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable GeneratedAccessor<Object> accessorFor(final Class<?> clazz) throws SerializationException {
+        final @Nullable Class<?> accessorClass = ACCESSOR_CLASSES.get(clazz).orElse(null);
+        if (accessorClass == null) {
+            return null;
+        }
+
+        try {
+            return (GeneratedAccessor<Object>) accessorClass.getDeclaredConstructor().newInstance();
+        } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException ex) {
+            throw new SerializationException(clazz, "Unable to create generated accessor " + accessorClass.getName(), ex);
+        }
+    }
+
+    private static @Nullable Class<?> accessorClass(final Class<?> clazz) {
+        final String name = clazz.getName() + GeneratedAccessor.CLASS_SUFFIX;
+        final Class<?> accessorClass;
+        try {
+            accessorClass = Class.forName(name, true, clazz.getClassLoader());
+        } catch (final ClassNotFoundException ex) {
+            return null;
+        }
+        return GeneratedAccessor.class.isAssignableFrom(accessorClass) ? accessorClass : null;
+    }
+
+    /**
+     * The annotations generated for a field.
+     */
+    private static final class AnnotationArray implements AnnotatedElement {
+
+        private final Annotation[] annotations;
+
+        AnnotationArray(final Annotation[] annotations) {
+            this.annotations = annotations;
+        }
+
+        @Override
+        public <T extends Annotation> @Nullable T getAnnotation(final Class<T> annotationClass) {
+            for (final Annotation annotation : this.annotations) {
+                if (annotationClass.isInstance(annotation)) {
+                    return annotationClass.cast(annotation);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Annotation[] getAnnotations() {
+            return this.annotations.clone();
+        }
+
+        @Override
+        public Annotation[] getDeclaredAnnotations() {
+            return this.getAnnotations();
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.objectmapping;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.CheckedFunction;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent cache of the mappers built by a factory.
+ *
+ * <p>Lookups of cached mappers take no locks. Mappers are built outside of
+ * the cache, so building one mapper may look up others, and two threads
+ * may rarely build the same mapper at once. Only one of them is kept.</p>
+ *
+ * <p>Entries are ordered by a clock that only advances when a mapper is
+ * added. A cache hit refreshes its entry at most once between additions,
+ * so lookups of a cache that is not growing never write shared state.
+ * Entries used since the last addition are therefore treated as equally
+ * recent.</p>
+ *
+ * <p>Once the cache is over capacity, the entries chosen by the eviction
+ * policy are removed in a batch, found in a single scan of the cache.</p>
+ */
+final class MapperCache {
+
+    private final Map<Type, Entry> entries = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final ObjectMapper.Factory.EvictionPolicy policy;
+    private final int evictionBatch;
+    private final Object evictionLock = new Object();
+    // advanced by two for each added entry, entries used since get odd stamps
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder buildNanos = new LongAdder();
+
+    MapperCache(final int maximumSize, final ObjectMapper.Factory.EvictionPolicy policy) {
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        this.evictionBatch = Math.max(1, maximumSize / 16);
+    }
+
+    ObjectMapper<?> get(final Type type, final CheckedFunction<Type, ObjectMapper<?>, SerializationException> builder) throws SerializationException {
+        final @Nullable Entry existing = this.entries.get(type);
+        if (existing != null) {
+            this.hits.increment();
+            if (this.policy == ObjectMapper.Factory.EvictionPolicy.LEAST_RECENTLY_USED) {
+                // ranks after every entry added so far, without moving the clock
+                final long used = this.clock.get() + 1;
+                if (existing.stamp < used) {
+                    existing.stamp = used;
+                }
+            }
+            return existing.mapper;
+        }
+
+        this.misses.increment();
+        final long start = System.nanoTime();
+        final ObjectMapper<?> built;
+        try {
+            built = builder.apply(type);
+        } finally {
+            this.buildNanos.add(System.nanoTime() - start);
+        }
+
+        final @Nullable Entry raced = this.entries.putIfAbsent(type, new Entry(built, this.clock.addAndGet(2)));
+        if (raced != null) {
+            return raced.mapper;
+        }
+        if (this.entries.size() > this.maximumSize) {
+            this.evict();
+        }
+        return built;
+    }
+
+    private void evict() {
+        synchronized (this.evictionLock) {
+            final int excess = this.entries.size() - this.maximumSize;
+            if (excess <= 0) {
+                // another thread already made room
+                return;
+            }
+
+            // the oldest entries seen so far, newest first
+            final int count = Math.min(excess + this.evictionBatch - 1, this.entries.size());
+            final PriorityQueue<Map.Entry<Type, Entry>> eldest = new PriorityQueue<>(count + 1,
+                Comparator.comparingLong((Map.Entry<Type, Entry> entry) -> entry.getValue().stamp).reversed());
+            for (final Map.Entry<Type, Entry> entry : this.entries.entrySet()) {
+                eldest.add(entry);
+                if (eldest.size() > count) {
+                    eldest.poll();
+                }
+            }
+
+            for (final Map.Entry<Type, Entry> entry : eldest) {
+                if (this.entries.remove(entry.getKey(), entry.getValue())) {
+                    this.evictions.increment();
+                }
+            }
+        }
+    }
+
+    ObjectMapper.Factory.CacheStats stats() {
+        return new ObjectMapper.Factory.CacheStats(
+            this.hits.sum(),
+            this.misses.sum(),
+            this.evictions.sum(),
+            Duration.ofNanos(this.buildNanos.sum()),
+            this.entries.size()
+        );
+    }
+
+    /**
+     * A cached mapper, and when it was last used or added.
+     */
+    static final class Entry {
+        final ObjectMapper<?> mapper;
+        volatile long stamp;
+
+        Entry(final ObjectMapper<?> mapper, final long stamp) {
+            this.mapper = mapper;
+            this.stamp = stamp;
+        }
+    }
+
+}
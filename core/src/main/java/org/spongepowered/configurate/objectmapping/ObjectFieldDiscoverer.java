@@ -25,32 +25,49 @@ import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.util.CheckedFunction;
 import org.spongepowered.configurate.util.Types;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
-class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
+/**
+ * Discovers the fields of ordinary classes.
+ *
+ * <p>Method handles to read and write each field, and to create instances,
+ * are resolved once per type. Deserialized values are held in an array
+ * with one slot per field until the instance is completed.</p>
+ */
+class ObjectFieldDiscoverer implements FieldDiscoverer<@Nullable Object[]> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
 
     static final ObjectFieldDiscoverer EMPTY_CONSTRUCTOR_INSTANCE = new ObjectFieldDiscoverer(type -> {
+        final MethodHandle constructor;
         try {
-            final Constructor<?> constructor;
-            constructor = erase(type.getType()).getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return () -> {
-                try {
-                    return constructor.newInstance();
-                } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                    throw new RuntimeException(e);
-                }
-            };
+            final Constructor<?> reflected = erase(type.getType()).getDeclaredConstructor();
+            reflected.setAccessible(true);
+            constructor = LOOKUP.unreflectConstructor(reflected).asType(CONSTRUCTOR_TYPE);
         } catch (final NoSuchMethodException e) {
             return null;
+        } catch (final IllegalAccessException e) {
+            throw new SerializationException(type.getType(), e);
         }
+        return () -> {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new RuntimeException(e);
+            }
+        };
     }, "Objects must have a zero-argument constructor to be able to create new instances", false);
 
     private final CheckedFunction<AnnotatedType, @Nullable Supplier<Object>, SerializationException> instanceFactory;
@@ -72,8 +89,8 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
     }
 
     @Override
-    public <V> @Nullable InstanceFactory<Map<Field, Object>> discover(final AnnotatedType target,
-            final FieldCollector<Map<Field, Object>, V> collector) throws SerializationException {
+    public <V> @Nullable InstanceFactory<@Nullable Object[]> discover(final AnnotatedType target,
+            final FieldCollector<@Nullable Object[], V> collector) throws SerializationException {
         final Class<?> clazz = erase(target.getType());
         if (clazz.isInterface()) {
             throw new SerializationException(target.getType(), "ObjectMapper can only work with concrete types");
@@ -84,38 +101,69 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
             return null;
         }
 
+        final List<FieldAccessor> accessors = new ArrayList<>();
         AnnotatedType collectType = target;
         Class<?> collectClass = clazz;
         while (true) {
-            collectFields(collectType, collector);
+            try {
+                collectFields(collectType, collector, accessors);
+            } catch (final IllegalAccessException ex) {
+                throw new SerializationException(collectType.getType(), "Unable to access field in type", ex);
+            }
             collectClass = collectClass.getSuperclass();
             if (collectClass.equals(Object.class)) {
                 break;
             }
             collectType = getExactSuperType(collectType, collectClass);
         }
+        final FieldAccessor[] slots = accessors.toArray(new FieldAccessor[0]);
 
-        return new MutableInstanceFactory<Map<Field, Object>>() {
+        return slotFactory(target, slots, maker, this.instanceUnavailableErrorMessage);
+    }
+
+    /**
+     * Create an instance factory that holds values in an array with one slot
+     * per field, until they are written to an instance.
+     *
+     * @param target the type of instances
+     * @param slots access to each field, by slot
+     * @param maker supplier of new instances, if any
+     * @param instanceUnavailableErrorMessage the error to report when
+     *     instances cannot be created
+     * @return a new instance factory
+     */
+    static MutableInstanceFactory<@Nullable Object[]> slotFactory(
+        final AnnotatedType target,
+        final FieldAccessor[] slots,
+        final @Nullable Supplier<Object> maker,
+        final String instanceUnavailableErrorMessage
+    ) {
+        return new MutableInstanceFactory<@Nullable Object[]>() {
 
             @Override
-            public Map<Field, Object> begin() {
-                return new HashMap<>();
+            public @Nullable Object[] begin() {
+                return new Object[slots.length];
             }
 
             @Override
-            public void complete(final Object instance, final Map<Field, Object> intermediate) throws SerializationException {
-                for (final Map.Entry<Field, Object> entry : intermediate.entrySet()) {
+            public void complete(final Object instance, final @Nullable Object[] intermediate) throws SerializationException {
+                for (int i = 0; i < slots.length; ++i) {
+                    final @Nullable Object value = intermediate[i];
+                    if (value == null) { // not present in the node
+                        continue;
+                    }
+
                     try {
                         // Handle implicit field initialization by detecting any existing information in the object
-                        if (entry.getValue() instanceof ImplicitProvider) {
-                            final @Nullable Object implicit = ((ImplicitProvider) entry.getValue()).provider.get();
+                        if (value instanceof ImplicitProvider) {
+                            final @Nullable Object implicit = ((ImplicitProvider) value).provider.get();
                             if (implicit != null) {
-                                if (entry.getKey().get(instance) == null) {
-                                    entry.getKey().set(instance, implicit);
+                                if (slots[i].get(instance) == null) {
+                                    slots[i].set(instance, implicit);
                                 }
                             }
                         } else {
-                            entry.getKey().set(instance, entry.getValue());
+                            slots[i].set(instance, value);
                         }
                     } catch (final IllegalAccessException e) {
                         throw new SerializationException(target.getType(), e);
@@ -124,10 +172,10 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
             }
 
             @Override
-            public Object complete(final Map<Field, Object> intermediate) throws SerializationException {
+            public Object complete(final @Nullable Object[] intermediate) throws SerializationException {
                 final Object instance = maker == null ? null : maker.get();
                 if (instance == null) {
-                    throw new SerializationException(target.getType(), ObjectFieldDiscoverer.this.instanceUnavailableErrorMessage);
+                    throw new SerializationException(target.getType(), instanceUnavailableErrorMessage);
                 }
                 complete(instance, intermediate);
                 return instance;
@@ -141,25 +189,121 @@ class ObjectFieldDiscoverer implements FieldDiscoverer<Map<Field, Object>> {
         };
     }
 
-    private void collectFields(final AnnotatedType clazz, final FieldCollector<Map<Field, Object>, ?> fieldMaker) {
+    /**
+     * Create a deserializer storing values in one slot of the intermediate.
+     *
+     * @param slot the slot index
+     * @return a new deserializer
+     */
+    static FieldData.Deserializer<@Nullable Object[]> storeIn(final int slot) {
+        return (intermediate, val, implicitProvider) -> {
+            if (val != null) {
+                intermediate[slot] = val;
+            } else {
+                intermediate[slot] = new ImplicitProvider(implicitProvider);
+            }
+        };
+    }
+
+    private void collectFields(
+        final AnnotatedType clazz,
+        final FieldCollector<@Nullable Object[], ?> fieldMaker,
+        final List<FieldAccessor> accessors
+    ) throws IllegalAccessException {
         for (final Field field : erase(clazz.getType()).getDeclaredFields()) {
             if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) {
                 continue;
             }
 
             field.setAccessible(true);
+            final FieldAccessor accessor = HandleAccessor.of(field);
+            final int slot = accessors.size();
+            accessors.add(accessor);
             final AnnotatedType fieldType = getFieldType(field, clazz);
-            fieldMaker.accept(field.getName(), fieldType, Types.combinedAnnotations(fieldType, field),
-                              (intermediate, val, implicitProvider) -> {
-                    if (val != null) {
-                        intermediate.put(field, val);
-                    } else {
-                        intermediate.put(field, new ImplicitProvider(implicitProvider));
-                    }
-                }, field::get);
+            fieldMaker.accept(field.getName(), fieldType, Types.combinedAnnotations(fieldType, field), storeIn(slot), accessor::get);
         }
     }
 
+    /**
+     * Reads and writes a single field.
+     */
+    interface FieldAccessor {
+
+        @Nullable Object get(Object instance) throws IllegalAccessException;
+
+        void set(Object instance, @Nullable Object value) throws IllegalAccessException;
+
+    }
+
+    /**
+     * Method handles reading and writing a single field.
+     */
+    static final class HandleAccessor implements FieldAccessor {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+        private static final MethodHandle FIELD_SET;
+
+        static {
+            try {
+                FIELD_SET = LOOKUP.findVirtual(Field.class, "set", SETTER_TYPE);
+            } catch (final NoSuchMethodException | IllegalAccessException ex) {
+                throw new ExceptionInInitializerError(ex);
+            }
+        }
+
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private HandleAccessor(final MethodHandle getter, final MethodHandle setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * Resolve handles for an accessible field.
+         *
+         * @param field the field
+         * @return a new accessor
+         * @throws IllegalAccessException if the field cannot be read
+         */
+        static HandleAccessor of(final Field field) throws IllegalAccessException {
+            final MethodHandle getter = LOOKUP.unreflectGetter(field);
+            MethodHandle setter;
+            try {
+                setter = LOOKUP.unreflectSetter(field);
+            } catch (final IllegalAccessException ex) {
+                // older runtimes refuse handles that write final fields,
+                // which reflection still allows
+                setter = FIELD_SET.bindTo(field);
+            }
+            return new HandleAccessor(getter.asType(GETTER_TYPE), setter.asType(SETTER_TYPE));
+        }
+
+        @Override
+        public @Nullable Object get(final Object instance) throws IllegalAccessException {
+            try {
+                return (Object) this.getter.invokeExact(instance);
+            } catch (final RuntimeException | Error | IllegalAccessException ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        @Override
+        public void set(final Object instance, final @Nullable Object value) throws IllegalAccessException {
+            try {
+                this.setter.invokeExact(instance, value);
+            } catch (final RuntimeException | Error | IllegalAccessException ex) {
+                throw ex;
+            } catch (final Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+
+    }
+
     static class ImplicitProvider {
 
         final Supplier<Object> provider;
@@ -0,0 +1,129 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reactive;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+class FilteredProcessor<V> implements Processor.Transactional<V, V> {
+
+    private final Processor.TransactionalIso<V> processor;
+    private final AtomicReference<Disposable> disposable = new AtomicReference<>();
+    private final Predicate<? super V> filter;
+    private final @Nullable Publisher<V> parent;
+    // transactions from the parent do not overlap
+    private volatile boolean passed;
+
+    FilteredProcessor(final Predicate<? super V> filter, final @Nullable Publisher<V> parent) {
+        this.processor = parent == null ? Processor.createTransactional() : Processor.createTransactional(parent.executor());
+        this.filter = filter;
+        this.parent = parent;
+    }
+
+    @Override
+    public Disposable subscribe(final Subscriber<? super V> subscriber) {
+        final Disposable ret = this.processor.subscribe(subscriber);
+        if (ret != NoOpDisposable.INSTANCE) { // if the processor isn't already closed
+            final Disposable ours = this.disposable.updateAndGet(it -> // register with our parent if present
+                it == null && this.parent != null ? this.parent.subscribe(this) : it);
+            if (ours == NoOpDisposable.INSTANCE) {
+                this.processor.onClose();
+                return NoOpDisposable.INSTANCE;
+            }
+            return () -> {
+                ret.dispose();
+                if (!this.hasSubscribers()) {
+                    final Disposable disposable = this.disposable.getAndSet(null);
+                    disposable.dispose();
+                }
+            };
+        }
+        return ret;
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return this.processor.hasSubscribers();
+    }
+
+    @Override
+    public Executor executor() {
+        return this.processor.executor();
+    }
+
+    @Override
+    public void beginTransaction(final V newValue) throws TransactionFailedException {
+        this.passed = this.filter.test(newValue);
+        if (this.passed) {
+            this.processor.beginTransaction(newValue);
+        }
+    }
+
+    @Override
+    public void commit() {
+        if (this.passed) {
+            this.processor.commit();
+        }
+    }
+
+    @Override
+    public void rollback() {
+        if (this.passed) {
+            this.processor.rollback();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable thrown) {
+        this.processor.onError(thrown);
+    }
+
+    @Override
+    public void onClose() {
+        final Disposable disposable = this.disposable.getAndSet(null);
+        if (disposable != null) {
+            disposable.dispose();
+        }
+        this.processor.onClose();
+    }
+
+    @Override
+    public void inject(final V element) {
+        this.processor.submit(element);
+    }
+
+    @Override
+    public void fallbackHandler(final @Nullable Subscriber<V> subscriber) {
+        this.processor.fallbackHandler(subscriber);
+    }
+
+    @Override
+    public boolean closeIfUnsubscribed() {
+        if (this.processor.closeIfUnsubscribed()) {
+            final Disposable disposable = this.disposable.getAndSet(null);
+            if (disposable != null) {
+                disposable.dispose();
+            }
+            return true;
+        }
+        return false;
+    }
+
+}
@@ -24,6 +24,7 @@ import org.spongepowered.configurate.util.CheckedSupplier;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
  * Something that can publish events.
@@ -105,6 +106,21 @@ public interface Publisher<V> {
         return new MappedProcessor<>(mapper, this);
     }
 
+    /**
+     * Create a new publisher that will only publish events matching
+     * a predicate.
+     *
+     * <p>Events that do not match are dropped without reaching
+     * any subscribers.</p>
+     *
+     * @param filter the predicate events must match
+     * @return a new publisher
+     * @since 4.2.0
+     */
+    default Publisher<V> filter(Predicate<? super V> filter) {
+        return new FilteredProcessor<>(filter, this);
+    }
+
     /**
      * Return a publisher that will track its most recent value. The provided
      * processor won't have a value until one is submitted to this publisher.
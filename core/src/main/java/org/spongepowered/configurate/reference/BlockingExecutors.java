@@ -0,0 +1,45 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Holds the executor that blocking loads and saves run on by default.
+ *
+ * <p>Keeping this work off the common pool means slow file systems do not
+ * starve other tasks. On runtimes with virtual threads, a variant of this
+ * class runs each task on a new virtual thread instead.</p>
+ */
+final class BlockingExecutors {
+
+    private static final Executor SHARED = Executors.newCachedThreadPool(new PrefixedNameThreadFactory("Configurate-IO", true));
+
+    private BlockingExecutors() {
+    }
+
+    /**
+     * Get the shared executor for blocking work.
+     *
+     * @return the shared executor
+     */
+    static Executor shared() {
+        return SHARED;
+    }
+
+}
@@ -29,6 +29,7 @@ import org.spongepowered.configurate.serialize.SerializationException;
 
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
@@ -51,7 +52,31 @@ public interface ConfigurationReference<N extends ConfigurationNode> extends Aut
      */
     static <N extends ScopedConfigurationNode<N>> ConfigurationReference<N>
             fixed(final ConfigurationLoader<? extends N> loader) throws ConfigurateException {
-        final ConfigurationReference<N> ret = new ManualConfigurationReference<>(loader, ForkJoinPool.commonPool());
+        return fixed(loader, ForkJoinPool.commonPool(), BlockingExecutors.shared());
+    }
+
+    /**
+     * Create a new configuration reference that will only update when loaded.
+     *
+     * <p>Update and error notifications are delivered on
+     * {@code taskExecutor}, while asynchronous saves and updates run on
+     * {@code ioExecutor}.</p>
+     *
+     * @param loader the loader to load and save from
+     * @param taskExecutor the executor to notify subscribers on
+     * @param ioExecutor the executor to perform blocking loads and
+     *     saves on
+     * @param <N> the type of node
+     * @return the newly created reference, with an initial load performed
+     * @throws ConfigurateException if the configuration contained fails to load
+     * @since 4.2.0
+     */
+    static <N extends ScopedConfigurationNode<N>> ConfigurationReference<N> fixed(
+        final ConfigurationLoader<? extends N> loader,
+        final Executor taskExecutor,
+        final Executor ioExecutor
+    ) throws ConfigurateException {
+        final ConfigurationReference<N> ret = new ManualConfigurationReference<>(loader, taskExecutor, ioExecutor);
         ret.load();
         return ret;
     }
@@ -73,8 +98,9 @@ public interface ConfigurationReference<N extends ConfigurationNode> extends Aut
     static <T extends ScopedConfigurationNode<T>> ConfigurationReference<T>
             watching(final Function<Path, ConfigurationLoader<? extends T>> loaderCreator, final Path file, final WatchServiceListener listener)
             throws ConfigurateException {
-        final WatchingConfigurationReference<T> ret = new WatchingConfigurationReference<>(loaderCreator.apply(file), listener.taskExecutor);
-        ret.load();
+        final WatchingConfigurationReference<T> ret =
+            new WatchingConfigurationReference<>(loaderCreator.apply(file), listener.taskExecutor, listener.ioExecutor, file);
+        ret.reload();
         ret.disposable(listener.listenToFile(file, ret));
 
         return ret;
@@ -86,6 +112,10 @@ public interface ConfigurationReference<N extends ConfigurationNode> extends Aut
      * <p>If the load fails, this reference will continue pointing to old
      * configuration values.
      *
+     * <p>The loaded node always replaces the current one. When it is
+     * identical, including its header and hints, no update is published.
+     * Otherwise, only value references whose nodes changed are updated.</p>
+     *
      * @throws ConfigurateException when an error occurs
      * @since 4.0.0
      */
@@ -23,6 +23,7 @@ import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.NodeDiff;
 import org.spongepowered.configurate.NodePath;
 import org.spongepowered.configurate.ScopedConfigurationNode;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
@@ -30,7 +31,10 @@ import org.spongepowered.configurate.reactive.Processor;
 import org.spongepowered.configurate.reactive.Publisher;
 import org.spongepowered.configurate.serialize.SerializationException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
 
@@ -40,12 +44,16 @@ import java.util.function.Function;
 class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> implements ConfigurationReference<N> {
 
     protected volatile @MonotonicNonNull N node;
+    // the paths changed by the last load, to only update affected values
+    private volatile @Nullable Changes changes;
     private final ConfigurationLoader<? extends N> loader;
     protected final Processor.TransactionalIso<N> updateListener;
     protected final Processor.Iso<Map.Entry<ErrorPhase, Throwable>> errorListener;
+    final Executor ioExecutor;
 
-    ManualConfigurationReference(final ConfigurationLoader<? extends N> loader, final Executor taskExecutor) {
+    ManualConfigurationReference(final ConfigurationLoader<? extends N> loader, final Executor taskExecutor, final Executor ioExecutor) {
         this.loader = loader;
+        this.ioExecutor = ioExecutor;
         this.updateListener = Processor.createTransactional(taskExecutor);
         this.errorListener = Processor.create(taskExecutor);
         this.errorListener.fallbackHandler(it -> {
@@ -58,10 +66,61 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
     @Override
     public final void load() throws ConfigurateException {
         synchronized (this.loader) {
-            this.updateListener.submit(this.node = this.loader.load());
+            final N loaded = this.loader.load();
+            final @Nullable N existing = this.node;
+            if (existing == null) {
+                this.updateListener.submit(this.node = loaded);
+                return;
+            }
+
+            // the loaded tree is always swapped in whole, so parts the diff
+            // does not cover (such as the header) are kept for the next save,
+            // and the diff only decides what to publish
+            final NodeDiff diff = NodeDiff.between(existing, loaded);
+            final boolean changed = !diff.isEmpty()
+                || !Objects.equals(existing.options().header(), loaded.options().header())
+                || !existing.ownHints().equals(loaded.ownHints());
+            this.changes = new Changes(loaded, diff);
+            this.node = loaded;
+            if (changed) {
+                this.updateListener.submit(loaded);
+            }
         }
     }
 
+    /**
+     * Get whether an update to {@code root} may have changed the node
+     * at {@code path}.
+     *
+     * @param root the updated root node
+     * @param path the path to check
+     * @return whether the node may have changed
+     */
+    final boolean affects(final N root, final NodePath path) {
+        final @Nullable Changes changes = this.changes;
+        if (changes == null || changes.root != root) {
+            // not from a load, so anything may have changed
+            return true;
+        }
+        for (final NodePath changed : changes.paths) {
+            if (overlaps(changed, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlaps(final NodePath first, final NodePath second) {
+        // one path is a prefix of the other
+        final int length = Math.min(first.size(), second.size());
+        for (int i = 0; i < length; ++i) {
+            if (!first.get(i).equals(second.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public final void save() throws ConfigurateException {
         save(this.node);
@@ -92,7 +151,7 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
         return Publisher.execute(() -> {
             save();
             return node();
-        }, this.updateListener.executor());
+        }, this.ioExecutor);
     }
 
     @Override
@@ -101,7 +160,7 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
             final N newNode = updater.apply(node());
             save(newNode);
             return newNode;
-        }, this.updateListener.executor());
+        }, this.ioExecutor);
     }
 
     @Override
@@ -150,4 +209,24 @@ class ManualConfigurationReference<N extends ScopedConfigurationNode<N>> impleme
         this.updateListener.onClose();
     }
 
+    /**
+     * The paths changed by a load.
+     */
+    static final class Changes {
+        final Object root;
+        final List<NodePath> paths;
+
+        Changes(final Object root, final NodeDiff diff) {
+            this.root = root;
+            this.paths = new ArrayList<>(diff.operations().size());
+            for (final NodeDiff.Operation operation : diff.operations()) {
+                this.paths.add(operation.path());
+                final @Nullable NodePath from = operation.from();
+                if (from != null) {
+                    this.paths.add(from);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,258 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A watch key that finds changes by comparing file attributes between
+ * scans, for file systems where a {@link WatchService} is unavailable
+ * or inefficient.
+ *
+ * <p>Until the whole directory is tracked, only the files that have
+ * listeners are checked, so large directories stay cheap to poll.</p>
+ */
+final class PollingWatchKey implements WatchKey {
+
+    private static final Stamp ABSENT = new Stamp(-1, FileTime.fromMillis(0));
+
+    private final Path directory;
+    private final Map<Path, Stamp> known = new HashMap<>();
+    private boolean trackAll;
+    private List<WatchEvent<?>> events = new ArrayList<>();
+    private volatile boolean valid = true;
+
+    PollingWatchKey(final Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new NoSuchFileException(directory.toString());
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Start checking a file in this directory for changes.
+     *
+     * @param fileName the name of the file within this directory
+     */
+    synchronized void track(final Path fileName) {
+        if (!this.trackAll && !this.known.containsKey(fileName)) {
+            this.known.put(fileName, this.stamp(fileName));
+        }
+    }
+
+    /**
+     * Start checking every file in this directory for changes.
+     *
+     * @throws IOException if the directory cannot be listed
+     */
+    synchronized void trackAll() throws IOException {
+        if (!this.trackAll) {
+            this.known.putAll(this.list());
+            this.trackAll = true;
+        }
+    }
+
+    /**
+     * Compare the current state of tracked files to the last scan.
+     *
+     * @return whether there are events to poll
+     */
+    synchronized boolean scan() {
+        if (!this.valid) {
+            return false;
+        }
+        if (!Files.isDirectory(this.directory)) {
+            // like a native key, the key is invalidated with its directory
+            this.valid = false;
+            return true;
+        }
+
+        if (this.trackAll) {
+            final Map<Path, Stamp> current;
+            try {
+                current = this.list();
+            } catch (final IOException ex) {
+                // try again next time
+                return false;
+            }
+
+            for (final Map.Entry<Path, Stamp> entry : this.known.entrySet()) {
+                if (!current.containsKey(entry.getKey())) {
+                    this.compare(entry.getKey(), entry.getValue(), ABSENT);
+                }
+            }
+            for (final Map.Entry<Path, Stamp> entry : current.entrySet()) {
+                this.compare(entry.getKey(), this.known.getOrDefault(entry.getKey(), ABSENT), entry.getValue());
+            }
+            this.known.clear();
+            this.known.putAll(current);
+        } else {
+            for (final Map.Entry<Path, Stamp> entry : this.known.entrySet()) {
+                final Stamp current = this.stamp(entry.getKey());
+                this.compare(entry.getKey(), entry.getValue(), current);
+                entry.setValue(current);
+            }
+        }
+        return !this.events.isEmpty();
+    }
+
+    private void compare(final Path fileName, final Stamp previous, final Stamp current) {
+        if (previous.equals(current)) {
+            return;
+        }
+
+        final WatchEvent.Kind<Path> kind;
+        if (previous == ABSENT) {
+            kind = StandardWatchEventKinds.ENTRY_CREATE;
+        } else if (current == ABSENT) {
+            kind = StandardWatchEventKinds.ENTRY_DELETE;
+        } else {
+            kind = StandardWatchEventKinds.ENTRY_MODIFY;
+        }
+        this.events.add(new Event(kind, fileName));
+    }
+
+    private Stamp stamp(final Path fileName) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(this.directory.resolve(fileName), BasicFileAttributes.class);
+            return new Stamp(attributes.size(), attributes.lastModifiedTime());
+        } catch (final IOException ex) {
+            return ABSENT;
+        }
+    }
+
+    private Map<Path, Stamp> list() throws IOException {
+        final Map<Path, Stamp> contents = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+            for (final Path child : stream) {
+                final Path fileName = child.getFileName();
+                final Stamp stamp = this.stamp(fileName);
+                if (stamp != ABSENT) {
+                    contents.put(fileName, stamp);
+                }
+            }
+        }
+        return contents;
+    }
+
+    @Override
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    @Override
+    public synchronized List<WatchEvent<?>> pollEvents() {
+        final List<WatchEvent<?>> events = this.events;
+        this.events = new ArrayList<>();
+        return events;
+    }
+
+    @Override
+    public boolean reset() {
+        return this.valid;
+    }
+
+    @Override
+    public void cancel() {
+        this.valid = false;
+    }
+
+    @Override
+    public Path watchable() {
+        return this.directory;
+    }
+
+    /**
+     * The size and modification time of a file.
+     */
+    static final class Stamp {
+        final long size;
+        final FileTime modified;
+
+        Stamp(final long size, final FileTime modified) {
+            this.size = size;
+            this.modified = modified;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Stamp)) {
+                return false;
+            }
+            final Stamp that = (Stamp) other;
+            return this.size == that.size && this.modified.equals(that.modified);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(this.size) + this.modified.hashCode();
+        }
+    }
+
+    /**
+     * An event produced by a scan.
+     */
+    static final class Event implements WatchEvent<Path> {
+        private final Kind<Path> kind;
+        private final Path context;
+
+        Event(final Kind<Path> kind, final Path context) {
+            this.kind = kind;
+            this.context = context;
+        }
+
+        @Override
+        public Kind<Path> kind() {
+            return this.kind;
+        }
+
+        @Override
+        public int count() {
+            return 1;
+        }
+
+        @Override
+        public Path context() {
+            return this.context;
+        }
+
+        @Override
+        public String toString() {
+            return "Event{kind=" + this.kind + ", context=" + this.context + '}';
+        }
+    }
+
+}
@@ -53,7 +53,7 @@ class ValueReferenceImpl<T extends @Nullable Object, N extends ScopedConfigurati
         }
         this.serializer = serializer;
 
-        this.deserialized = root.updateListener.map(n -> {
+        this.deserialized = root.updateListener.filter(n -> root.affects(n, this.path)).map(n -> {
             try {
                 return deserializedValueFrom(n, def);
             } catch (final SerializationException e) {
@@ -117,7 +117,7 @@ class ValueReferenceImpl<T extends @Nullable Object, N extends ScopedConfigurati
             this.deserialized.submit(value);
             this.root.save();
             return true;
-        }, this.root.updates().executor());
+        }, this.root.ioExecutor);
     }
 
     @Override
@@ -139,7 +139,7 @@ class ValueReferenceImpl<T extends @Nullable Object, N extends ScopedConfigurati
             this.deserialized.submit(updated);
             this.root.save();
             return true;
-        }, this.root.updates().executor());
+        }, this.root.ioExecutor);
     }
 
     @Override
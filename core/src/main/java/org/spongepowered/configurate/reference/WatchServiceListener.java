@@ -35,12 +35,21 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -56,6 +65,11 @@ import java.util.function.Function;
  * <p>Listening to a directory provides updates on the directory's immediate
  * children, but does not listen recursively.</p>
  *
+ * <p>By default, each listener waits for events on a thread of its own.
+ * Listeners can instead share the threads of a scheduler, and can find
+ * changes by polling file attributes where a watch service is not
+ * suitable.</p>
+ *
  * @since 4.0.0
  */
 public final class WatchServiceListener implements AutoCloseable {
@@ -65,12 +79,20 @@ public final class WatchServiceListener implements AutoCloseable {
         StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY};
     private static final int PARALLEL_THRESHOLD = 100;
     private static final ThreadFactory DEFAULT_THREAD_FACTORY = new PrefixedNameThreadFactory("Configurate-WatchService", true);
+    private static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofMillis(500);
 
-    private final WatchService watchService;
+    private final @Nullable WatchService watchService;
     private volatile boolean open = true;
-    private final Thread executor;
+    private final @Nullable Thread executor;
+    private final @Nullable ScheduledExecutorService ownedScheduler;
+    private final @Nullable ScheduledFuture<?> scheduledCheck;
     final Executor taskExecutor;
+    final Executor ioExecutor;
+    private final long debounceNanos;
+    private final Map<PendingEvent, PendingEvent> pending = new LinkedHashMap<>();
     private final ConcurrentHashMap<Path, DirectoryListenerRegistration> activeListeners = new ConcurrentHashMap<>();
+    // held while dispatching, so close() waits out a check already in progress
+    private final Object dispatchLock = new Object();
     private static final ThreadLocal<IOException> exceptionHolder = new ThreadLocal<>();
 
     /**
@@ -94,50 +116,74 @@ public final class WatchServiceListener implements AutoCloseable {
      * @since 4.0.0
      */
     public static WatchServiceListener create() throws IOException {
-        return new WatchServiceListener(DEFAULT_THREAD_FACTORY, FileSystems.getDefault(), ForkJoinPool.commonPool());
+        return builder().build();
     }
 
-    private WatchServiceListener(final ThreadFactory factory, final FileSystem fileSystem, final Executor taskExecutor) throws IOException {
-        this.watchService = fileSystem.newWatchService();
-        this.executor = factory.newThread(() -> {
-            while (this.open) {
-                final WatchKey key;
-                try {
-                    key = this.watchService.take();
-                } catch (final InterruptedException e) {
-                    this.open = false;
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (final ClosedWatchServiceException e) {
-                    break;
+    private WatchServiceListener(
+        final ThreadFactory factory,
+        final FileSystem fileSystem,
+        final Executor taskExecutor,
+        final Executor ioExecutor,
+        final long debounceNanos,
+        final boolean polling,
+        final @Nullable ScheduledExecutorService scheduler,
+        final long checkIntervalNanos
+    ) throws IOException {
+        this.taskExecutor = taskExecutor;
+        this.ioExecutor = ioExecutor;
+        this.debounceNanos = debounceNanos;
+        final @Nullable WatchService watchService = polling ? null : fileSystem.newWatchService();
+        this.watchService = watchService;
+
+        if (watchService != null && scheduler == null) {
+            // a dedicated thread can block until events arrive
+            this.ownedScheduler = null;
+            this.scheduledCheck = null;
+            this.executor = factory.newThread(() -> this.pollEvents(watchService));
+            this.executor.start();
+        } else {
+            this.executor = null;
+            final ScheduledExecutorService checkScheduler;
+            if (scheduler == null) {
+                checkScheduler = Executors.newSingleThreadScheduledExecutor(factory);
+                this.ownedScheduler = checkScheduler;
+            } else {
+                checkScheduler = scheduler;
+                this.ownedScheduler = null;
+            }
+            this.scheduledCheck = checkScheduler.scheduleWithFixedDelay(this::checkEvents, checkIntervalNanos, checkIntervalNanos,
+                TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void pollEvents(final WatchService watchService) {
+        while (this.open) {
+            final @Nullable WatchKey key;
+            try {
+                if (this.pending.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    key = watchService.poll(this.nextDeadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
                 }
-                final Path watched = (Path) key.watchable();
-                final DirectoryListenerRegistration registration = this.activeListeners.get(watched);
-                if (registration != null) {
-                    final Set<Object> seenContexts = new HashSet<>();
-                    for (WatchEvent<?> event : key.pollEvents()) {
-                        if (!key.isValid()) {
-                            break;
-                        }
-
-                        if (!seenContexts.add(event.context())) {
-                            continue;
-                        }
-
-                        // Process listeners
-                        registration.submit(event);
-                        if (registration.closeIfEmpty()) {
-                            key.cancel();
-                            break;
-                        }
-                    }
+            } catch (final InterruptedException e) {
+                this.open = false;
+                Thread.currentThread().interrupt();
+                break;
+            } catch (final ClosedWatchServiceException e) {
+                break;
+            }
 
-                    // If the watch key is no longer valid, send all listeners a close event
-                    if (!key.reset()) {
-                        final DirectoryListenerRegistration oldListeners = this.activeListeners.remove(watched);
-                        oldListeners.onClose();
-                    }
+            synchronized (this.dispatchLock) {
+                if (!this.open) {
+                    break;
+                }
+                if (key != null) {
+                    this.receive(key);
                 }
+                this.submitDue();
+            }
+
+            if (this.debounceNanos == 0) {
                 try {
                     Thread.sleep(20);
                 } catch (final InterruptedException e) {
@@ -145,9 +191,112 @@ public final class WatchServiceListener implements AutoCloseable {
                     break;
                 }
             }
-        });
-        this.taskExecutor = taskExecutor;
-        this.executor.start();
+        }
+    }
+
+    /**
+     * Handle any events that arrived since the last check, without waiting.
+     */
+    private void checkEvents() {
+        synchronized (this.dispatchLock) {
+            if (!this.open) {
+                return;
+            }
+
+            final @Nullable WatchService watchService = this.watchService;
+            if (watchService != null) {
+                try {
+                    @Nullable WatchKey key;
+                    while ((key = watchService.poll()) != null) {
+                        this.receive(key);
+                    }
+                } catch (final ClosedWatchServiceException ex) {
+                    return;
+                }
+            } else {
+                for (final DirectoryListenerRegistration registration : this.activeListeners.values()) {
+                    final WatchKey key = registration.key();
+                    if (key instanceof PollingWatchKey && ((PollingWatchKey) key).scan()) {
+                        this.receive(key);
+                    }
+                }
+            }
+            this.submitDue();
+        }
+    }
+
+    private void receive(final WatchKey key) {
+        final Path watched = (Path) key.watchable();
+        final DirectoryListenerRegistration registration = this.activeListeners.get(watched);
+        if (registration == null) {
+            return;
+        }
+
+        final Set<Object> seenContexts = new HashSet<>();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (!key.isValid()) {
+                break;
+            }
+
+            if (!seenContexts.add(event.context())) {
+                continue;
+            }
+
+            if (this.debounceNanos > 0) {
+                // a later event for the same path restarts the window
+                final PendingEvent next = new PendingEvent(watched, event.context(), registration, event, System.nanoTime() + this.debounceNanos);
+                this.pending.put(next, next);
+            } else if (this.submit(registration, event)) {
+                break;
+            }
+        }
+
+        // If the watch key is no longer valid, send all listeners a close event
+        if (!key.reset()) {
+            final DirectoryListenerRegistration oldListeners = this.activeListeners.remove(watched);
+            oldListeners.onClose();
+        }
+    }
+
+    /**
+     * Pass an event on to listeners.
+     *
+     * @param registration the listeners for the event's directory
+     * @param event the event
+     * @return whether the directory no longer has any listeners
+     */
+    private boolean submit(final DirectoryListenerRegistration registration, final WatchEvent<?> event) {
+        registration.submit(event);
+        if (registration.closeIfEmpty()) {
+            registration.key().cancel();
+            return true;
+        }
+        return false;
+    }
+
+    private long nextDeadline() {
+        long next = Long.MAX_VALUE;
+        for (final PendingEvent event : this.pending.values()) {
+            next = Math.min(next, event.deadline);
+        }
+        return next;
+    }
+
+    private void submitDue() {
+        final long now = System.nanoTime();
+        final Iterator<PendingEvent> it = this.pending.values().iterator();
+        while (it.hasNext()) {
+            final PendingEvent event = it.next();
+            if (event.deadline - now > 0) {
+                continue;
+            }
+
+            it.remove();
+            // the directory may have stopped being watched meanwhile
+            if (this.activeListeners.get(event.directory) == event.registration) {
+                this.submit(event.registration, event.event);
+            }
+        }
     }
 
     /**
@@ -162,7 +311,9 @@ public final class WatchServiceListener implements AutoCloseable {
     private DirectoryListenerRegistration registration(final Path directory) throws ConfigurateException {
         final @Nullable DirectoryListenerRegistration reg = this.activeListeners.computeIfAbsent(directory, dir -> {
             try {
-                return new DirectoryListenerRegistration(dir.register(this.watchService, DEFAULT_WATCH_EVENTS), this.taskExecutor);
+                final @Nullable WatchService watchService = this.watchService;
+                final WatchKey key = watchService == null ? new PollingWatchKey(dir) : dir.register(watchService, DEFAULT_WATCH_EVENTS);
+                return new DirectoryListenerRegistration(key, this.taskExecutor);
             } catch (final IOException ex) {
                 exceptionHolder.set(ex);
                 return null;
@@ -192,7 +343,11 @@ public final class WatchServiceListener implements AutoCloseable {
         }
 
         final Path fileName = file.getFileName();
-        return registration(file.getParent()).subscribe(fileName, callback);
+        final DirectoryListenerRegistration registration = registration(file.getParent());
+        if (registration.key() instanceof PollingWatchKey) {
+            ((PollingWatchKey) registration.key()).track(fileName);
+        }
+        return registration.subscribe(fileName, callback);
     }
 
     /**
@@ -214,7 +369,15 @@ public final class WatchServiceListener implements AutoCloseable {
             throw new IllegalArgumentException("Path " + directory + " must be a directory");
         }
 
-        return registration(directory).subscribe(callback);
+        final DirectoryListenerRegistration registration = registration(directory);
+        if (registration.key() instanceof PollingWatchKey) {
+            try {
+                ((PollingWatchKey) registration.key()).trackAll();
+            } catch (final IOException ex) {
+                throw new ConfigurateException("While adding listener for " + directory, ex);
+            }
+        }
+        return registration.subscribe(callback);
     }
 
     /**
@@ -236,17 +399,75 @@ public final class WatchServiceListener implements AutoCloseable {
     @Override
     public void close() throws IOException {
         this.open = false;
-        this.watchService.close();
-        this.activeListeners.forEachValue(PARALLEL_THRESHOLD, DirectoryListenerRegistration::onClose);
-        this.activeListeners.clear();
+        if (this.watchService != null) {
+            this.watchService.close();
+        }
+        if (this.scheduledCheck != null) {
+            this.scheduledCheck.cancel(false);
+        }
+        // a caller-supplied scheduler may still be running a check, so wait for it to finish
+        synchronized (this.dispatchLock) {
+            this.activeListeners.forEachValue(PARALLEL_THRESHOLD, DirectoryListenerRegistration::onClose);
+            this.activeListeners.clear();
+        }
         try {
-            this.executor.interrupt();
-            this.executor.join();
+            if (this.executor != null) {
+                this.executor.interrupt();
+                this.executor.join();
+            }
+            if (this.ownedScheduler != null) {
+                this.ownedScheduler.shutdownNow();
+                this.ownedScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            }
         } catch (final InterruptedException e) {
             throw new IOException("Failed to await termination of executor thread!");
         }
     }
 
+    /**
+     * An event waiting for its debounce window to pass.
+     *
+     * <p>Events are equal when they concern the same path.</p>
+     */
+    static final class PendingEvent {
+        final Path directory;
+        final @Nullable Object context;
+        final DirectoryListenerRegistration registration;
+        final WatchEvent<?> event;
+        final long deadline;
+
+        PendingEvent(
+            final Path directory,
+            final @Nullable Object context,
+            final DirectoryListenerRegistration registration,
+            final WatchEvent<?> event,
+            final long deadline
+        ) {
+            this.directory = directory;
+            this.context = context;
+            this.registration = registration;
+            this.event = event;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PendingEvent)) {
+                return false;
+            }
+            final PendingEvent that = (PendingEvent) other;
+            return this.directory.equals(that.directory) && Objects.equals(this.context, that.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.directory.hashCode() + Objects.hashCode(this.context);
+        }
+    }
+
     /**
      * Set the parameters needed to create a {@link WatchServiceListener}. All params are optional and defaults will be
      * used if no values are specified.
@@ -258,6 +479,11 @@ public final class WatchServiceListener implements AutoCloseable {
         private @Nullable ThreadFactory threadFactory;
         private @Nullable FileSystem fileSystem;
         private @Nullable Executor taskExecutor;
+        private @Nullable Executor ioExecutor;
+        private Duration debounce = Duration.ZERO;
+        private boolean polling;
+        private @Nullable ScheduledExecutorService scheduler;
+        private Duration checkInterval = DEFAULT_CHECK_INTERVAL;
 
         private Builder() { }
 
@@ -288,6 +514,105 @@ public final class WatchServiceListener implements AutoCloseable {
             return this;
         }
 
+        /**
+         * Set how long to wait for further events for the same path before
+         * notifying listeners.
+         *
+         * <p>Saving a file often produces a burst of events. With a window
+         * set, each burst is collapsed into its last event, delivered once
+         * no further events for that path arrive within the window. By
+         * default, events are delivered as they are received.</p>
+         *
+         * @param window the time to wait for further events
+         * @return this builder
+         * @throws IllegalArgumentException if the window is negative
+         * @since 4.2.0
+         */
+        public Builder debounce(final Duration window) {
+            if (requireNonNull(window, "window").isNegative()) {
+                throw new IllegalArgumentException("Debounce window must not be negative, but was " + window);
+            }
+            this.debounce = window;
+            return this;
+        }
+
+        /**
+         * Set whether to find changes by periodically comparing file sizes
+         * and modification times, rather than with the file system's
+         * {@link WatchService}.
+         *
+         * <p>Polling suits file systems where a watch service is unavailable
+         * or inefficient, such as network or overlay mounts. Only files
+         * with listeners are checked, unless a whole directory is listened
+         * to. Changes are found every {@link #checkInterval(Duration)}.</p>
+         *
+         * @param polling whether to poll for changes
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder polling(final boolean polling) {
+            this.polling = polling;
+            return this;
+        }
+
+        /**
+         * Set a scheduler to check for changes on, instead of a thread
+         * dedicated to this listener.
+         *
+         * <p>Many listeners can share one scheduler, so the number of threads
+         * does not grow with the number of file systems or listeners.
+         * Changes are checked for every {@link #checkInterval(Duration)}.
+         * The scheduler is not shut down when this listener is closed.</p>
+         *
+         * @param scheduler the scheduler to check for changes on
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = requireNonNull(scheduler, "scheduler");
+            return this;
+        }
+
+        /**
+         * Set how often to check for changes when {@link #polling(boolean)
+         * polling}, or when running on a {@link #scheduler(ScheduledExecutorService)
+         * shared scheduler}.
+         *
+         * <p>Defaults to 500 milliseconds. A {@link #debounce(Duration)}
+         * window is only checked this often.</p>
+         *
+         * @param interval the time between checks
+         * @return this builder
+         * @throws IllegalArgumentException if the interval is not positive
+         * @since 4.2.0
+         */
+        public Builder checkInterval(final Duration interval) {
+            if (requireNonNull(interval, "interval").isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Check interval must be positive, but was " + interval);
+            }
+            this.checkInterval = interval;
+            return this;
+        }
+
+        /**
+         * Set the executor that configuration references created by this
+         * listener perform blocking loads and saves on.
+         *
+         * <p>Keeping blocking work apart from the
+         * {@link #taskExecutor(Executor) task executor} means slow file
+         * systems do not delay notifications. By default, a shared executor
+         * is used that runs each task on a virtual thread where the runtime
+         * supports them, and on a pool of daemon threads otherwise.</p>
+         *
+         * @param executor the executor to use
+         * @return this builder
+         * @since 4.2.0
+         */
+        public Builder ioExecutor(final Executor executor) {
+            this.ioExecutor = requireNonNull(executor, "executor");
+            return this;
+        }
+
         /**
          * Set the filesystem expected to be used for paths. A separate
          * {@link WatchServiceListener} should be created to listen to events on
@@ -322,7 +647,12 @@ public final class WatchServiceListener implements AutoCloseable {
                 this.taskExecutor = ForkJoinPool.commonPool();
             }
 
-            return new WatchServiceListener(this.threadFactory, this.fileSystem, this.taskExecutor);
+            if (this.ioExecutor == null) {
+                this.ioExecutor = BlockingExecutors.shared();
+            }
+
+            return new WatchServiceListener(this.threadFactory, this.fileSystem, this.taskExecutor, this.ioExecutor, this.debounce.toNanos(),
+                this.polling, this.scheduler, this.checkInterval.toNanos());
         }
 
     }
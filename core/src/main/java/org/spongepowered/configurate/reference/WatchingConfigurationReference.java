@@ -25,8 +25,15 @@ import org.spongepowered.configurate.reactive.Disposable;
 import org.spongepowered.configurate.reactive.Subscriber;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.concurrent.Executor;
 
 /**
@@ -35,11 +42,21 @@ import java.util.concurrent.Executor;
 class WatchingConfigurationReference<N extends ScopedConfigurationNode<N>>
         extends ManualConfigurationReference<N> implements Subscriber<WatchEvent<?>> {
 
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Path file;
     private volatile boolean saveSuppressed;
+    private byte @Nullable [] contentDigest;
     private @Nullable Disposable disposable;
 
-    WatchingConfigurationReference(final ConfigurationLoader<? extends N> loader, final Executor taskExecutor) {
-        super(loader, taskExecutor);
+    WatchingConfigurationReference(
+        final ConfigurationLoader<? extends N> loader,
+        final Executor taskExecutor,
+        final Executor ioExecutor,
+        final Path file
+    ) {
+        super(loader, taskExecutor, ioExecutor);
+        this.file = file;
     }
 
     @Override
@@ -50,7 +67,42 @@ class WatchingConfigurationReference<N extends ScopedConfigurationNode<N>>
                 super.save(newNode);
             } finally {
                 this.saveSuppressed = false;
+                // events for our own write should not load it back
+                this.contentDigest = this.digest();
+            }
+        }
+    }
+
+    /**
+     * Load the file if its contents differ from when it was last loaded
+     * or saved by this reference.
+     *
+     * @throws ConfigurateException if the loader fails
+     */
+    void reload() throws ConfigurateException {
+        synchronized (loader()) {
+            // taken before loading, so a change made while loading is not missed
+            final byte @Nullable [] digest = this.digest();
+            if (digest != null && Arrays.equals(digest, this.contentDigest)) {
+                return;
             }
+            this.load();
+            this.contentDigest = digest;
+        }
+    }
+
+    private byte @Nullable [] digest() {
+        try (InputStream is = Files.newInputStream(this.file)) {
+            final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (final IOException | NoSuchAlgorithmException ex) {
+            // treated as changed
+            return null;
         }
     }
 
@@ -66,11 +118,14 @@ class WatchingConfigurationReference<N extends ScopedConfigurationNode<N>>
     @Override
     public void submit(final WatchEvent<?> item) {
         if (!this.saveSuppressed || item.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
-            try {
-                load();
-            } catch (final Exception e) {
-                this.errorListener.submit(UnmodifiableCollections.immutableMapEntry(ErrorPhase.LOADING, e));
-            }
+            // loading blocks, so it is kept off the thread delivering events
+            this.ioExecutor.execute(() -> {
+                try {
+                    this.reload();
+                } catch (final Exception e) {
+                    this.errorListener.submit(UnmodifiableCollections.immutableMapEntry(ErrorPhase.LOADING, e));
+                }
+            });
         }
     }
 
@@ -56,6 +56,18 @@ public abstract class AbstractListChildSerializer<T> implements TypeSerializer.A
         if (node.isList()) {
             final List<? extends ConfigurationNode> values = node.childrenList();
             final T ret = this.createNew(values.size(), entryType);
+            if (ParallelDeserialization.enabled(node, values.size())) {
+                final @Nullable Object[] deserialized = ParallelDeserialization.deserialize(entryType, entrySerial, values);
+                for (int i = 0; i < deserialized.length; ++i) {
+                    try {
+                        this.deserializeSingle(i, ret, deserialized[i]);
+                    } catch (final SerializationException ex) {
+                        ex.initPath(values.get(i)::path);
+                        throw ex;
+                    }
+                }
+                return ret;
+            }
             for (int i = 0; i < values.size(); ++i) {
                 try {
                     this.deserializeSingle(i, ret, entrySerial.deserialize(entryType, values.get(i)));
@@ -26,9 +26,11 @@ import org.spongepowered.configurate.ConfigurationOptions;
 
 import java.lang.reflect.AnnotatedParameterizedType;
 import java.lang.reflect.AnnotatedType;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -65,8 +67,19 @@ final class MapSerializer implements TypeSerializer.Annotated<Map<?, ?>> {
             }
 
             final BasicConfigurationNode keyNode = BasicConfigurationNode.root(node.options());
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+            if (ParallelDeserialization.enabled(node, children.size())) {
+                // keys are cheap, so only values are worth spreading across threads
+                final List<ConfigurationNode> valueNodes = new ArrayList<>(children.values());
+                final @Nullable Object[] values = ParallelDeserialization.deserialize(value, valueSerial, valueNodes);
+                int i = 0;
+                for (final Object childKey : children.keySet()) {
+                    ret.put(requireNonNull(keySerial.deserialize(key, keyNode.set(childKey)), "key"), requireNonNull(values[i++], "value"));
+                }
+                return ret;
+            }
 
-            for (final Map.Entry<Object, ? extends ConfigurationNode> ent : node.childrenMap().entrySet()) {
+            for (final Map.Entry<Object, ? extends ConfigurationNode> ent : children.entrySet()) {
                 ret.put(requireNonNull(keySerial.deserialize(key, keyNode.set(ent.getKey())), "key"),
                     requireNonNull(valueSerial.deserialize(value, ent.getValue()), "value"));
             }
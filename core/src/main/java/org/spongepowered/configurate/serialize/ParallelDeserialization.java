@@ -0,0 +1,178 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.serialize;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+
+import java.lang.reflect.AnnotatedType;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Options for deserializing the elements of large lists and maps in
+ * parallel.
+ *
+ * <p>When a list or map node has at least {@link #THRESHOLD} children, the
+ * built-in collection serializers deserialize its elements concurrently on
+ * the common {@link ForkJoinPool}. Results keep the order of the node's
+ * children, and every failed element is reported, with the failures after
+ * the first attached as suppressed exceptions.</p>
+ *
+ * <p>Element serializers must then be safe to call from several threads at
+ * once, and must not modify nodes outside the element they are given. The
+ * default serializers and object mappers meet both requirements.</p>
+ *
+ * @since 4.2.0
+ */
+public final class ParallelDeserialization {
+
+    /**
+     * The number of children a collection node needs before its elements
+     * are deserialized in parallel.
+     *
+     * <p>This hint is inherited, so it can be set once on a root node. When
+     * it is unset, collections are always deserialized sequentially.</p>
+     *
+     * @since 4.2.0
+     */
+    public static final RepresentationHint<Integer> THRESHOLD = RepresentationHint.of("configurate:parallel-threshold", Integer.class);
+
+    private ParallelDeserialization() {
+    }
+
+    /**
+     * Get whether the children of {@code node} should be deserialized
+     * in parallel.
+     *
+     * @param node the collection node
+     * @param childCount the number of children it has
+     * @return whether to deserialize in parallel
+     */
+    static boolean enabled(final ConfigurationNode node, final int childCount) {
+        final @Nullable Integer threshold = node.hint(THRESHOLD);
+        return threshold != null && threshold > 0 && childCount >= threshold && childCount > 1;
+    }
+
+    /**
+     * Deserialize every node in {@code children} in parallel.
+     *
+     * @param type the element type
+     * @param serializer the element serializer
+     * @param children the nodes to deserialize
+     * @return the deserialized elements, in the order of {@code children}
+     * @throws SerializationException if any element could not be
+     *     deserialized, with failures of later elements suppressed
+     */
+    static @Nullable Object[] deserialize(
+        final AnnotatedType type,
+        final TypeSerializer<?> serializer,
+        final List<? extends ConfigurationNode> children
+    ) throws SerializationException {
+        final int size = children.size();
+        final @Nullable Object[] results = new Object[size];
+        final @Nullable SerializationException[] errors = new SerializationException[size];
+        final int leafSize = Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+
+        final Chunk root = new Chunk(type, serializer, children, results, errors, 0, size, leafSize);
+        if (ForkJoinTask.inForkJoinPool()) {
+            // nested collections split their work within the current pool
+            root.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(root);
+        }
+
+        @Nullable SerializationException failure = null;
+        for (final @Nullable SerializationException ex : errors) {
+            if (ex == null) {
+                continue;
+            }
+            if (failure == null) {
+                failure = ex;
+            } else {
+                failure.addSuppressed(ex);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * A range of children, split in half until it is small enough to
+     * deserialize directly.
+     */
+    @SuppressWarnings("serial") // never serialized
+    static final class Chunk extends RecursiveAction {
+        private final AnnotatedType type;
+        private final TypeSerializer<?> serializer;
+        private final List<? extends ConfigurationNode> children;
+        private final @Nullable Object[] results;
+        private final @Nullable SerializationException[] errors;
+        private final int start;
+        private final int end;
+        private final int leafSize;
+
+        Chunk(
+            final AnnotatedType type,
+            final TypeSerializer<?> serializer,
+            final List<? extends ConfigurationNode> children,
+            final @Nullable Object[] results,
+            final @Nullable SerializationException[] errors,
+            final int start,
+            final int end,
+            final int leafSize
+        ) {
+            this.type = type;
+            this.serializer = serializer;
+            this.children = children;
+            this.results = results;
+            this.errors = errors;
+            this.start = start;
+            this.end = end;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start > this.leafSize) {
+                final int middle = (this.start + this.end) >>> 1;
+                invokeAll(
+                    new Chunk(this.type, this.serializer, this.children, this.results, this.errors, this.start, middle, this.leafSize),
+                    new Chunk(this.type, this.serializer, this.children, this.results, this.errors, middle, this.end, this.leafSize)
+                );
+                return;
+            }
+
+            for (int i = this.start; i < this.end; ++i) {
+                final ConfigurationNode child = this.children.get(i);
+                try {
+                    this.results[i] = this.serializer.deserialize(this.type, child);
+                } catch (final SerializationException ex) {
+                    ex.initPath(child::path);
+                    this.errors[i] = ex;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Holds the executor that blocking loads and saves run on by default.
+ *
+ * <p>Each task runs on a new virtual thread, so blocking I/O does not
+ * occupy a platform thread.</p>
+ */
+final class BlockingExecutors {
+
+    private static final Executor SHARED = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Configurate-IO-", 0).factory());
+
+    private BlockingExecutors() {
+    }
+
+    /**
+     * Get the shared executor for blocking work.
+     *
+     * @return the shared executor
+     */
+    static Executor shared() {
+        return SHARED;
+    }
+
+}
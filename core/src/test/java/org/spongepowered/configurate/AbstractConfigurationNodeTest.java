@@ -319,6 +319,176 @@ class AbstractConfigurationNodeTest {
         assertTrue(node.hasChild(NodePath.path("ball", "another")));
     }
 
+    @Test
+    void testPeek() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        assertNull(node.peek("ball"));
+        assertSame(node, node.peek());
+
+        node.node("ball", "another").raw(48);
+        assertSame(node.node("ball", "another"), node.peek("ball", "another"));
+        assertSame(node.node("ball"), node.peek(NodePath.path("ball")));
+        assertNull(node.peek("ball", "another", "deeper"));
+        assertNull(node.peek(NodePath.path("ball", "missing")));
+    }
+
+    @Test
+    void testPeekDoesNotAttach() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        assertNull(node.peek("a", "b"));
+        assertTrue(node.empty());
+        assertFalse(node.hasChild("a"));
+    }
+
+    @Test
+    void testVersionIncreasesOnModification() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        long version = node.version();
+
+        node.node("a", "b").raw("value");
+        assertTrue(node.version() > version);
+        assertEquals(node.version(), node.node("a").version());
+        version = node.version();
+
+        node.node("list").appendListNode().set(3);
+        assertTrue(node.version() > version);
+        version = node.version();
+
+        node.node("a").removeChild("b");
+        assertTrue(node.version() > version);
+        version = node.version();
+
+        node.node("a").mergeFrom(BasicConfigurationNode.root(n -> n.node("c").raw(1)));
+        assertTrue(node.version() > version);
+        version = node.version();
+
+        node.node("a").from(BasicConfigurationNode.root(n -> n.raw("scalar")));
+        assertTrue(node.version() > version);
+    }
+
+    @Test
+    void testVersionUnchangedByReads() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("a", "b").raw(1));
+        final long version = node.version();
+
+        node.node("a", "b").getInt();
+        node.node("missing", "path").getString();
+        node.node("list").appendListNode();
+        node.removeChild("missing");
+        assertEquals(version, node.version());
+    }
+
+    @Test
+    void testVersionFollowsRenderedState() {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> n.node("a", "b").raw(1));
+        long version = node.version();
+
+        node.node("a").comment("a comment");
+        assertTrue(node.version() > version);
+        version = node.version();
+
+        node.node("a").comment("a comment");
+        node.node("a").commentIfAbsent("another comment");
+        assertEquals(version, node.version());
+
+        node.node("a", "b").hint(INDENT, 4);
+        assertTrue(node.version() > version);
+        version = node.version();
+
+        node.node("a", "b").hint(INDENT, 4);
+        assertEquals(version, node.version());
+
+        node.node("a", "b").hint(INDENT, null);
+        assertTrue(node.version() > version);
+    }
+
+    @Test
+    void testVersionUnchangedByEmptyMerge() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("a", "b").raw(1));
+        final long version = node.version();
+
+        node.mergeFrom(BasicConfigurationNode.root(n -> n.node("a", "b").raw(2)));
+        assertEquals(version, node.version());
+        assertEquals(1, node.node("a", "b").raw());
+
+        node.mergeFrom(BasicConfigurationNode.root(n -> n.node("a", "c").raw(2)));
+        assertTrue(node.version() > version);
+    }
+
+    @Test
+    void testVersionIndependentForCopies() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> n.node("a").raw(1));
+        final BasicConfigurationNode copy = node.copy();
+        final long version = node.version();
+
+        copy.node("a").raw(2);
+        assertEquals(version, node.version());
+    }
+
+    @Test
+    void testPrimitiveRawValues() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(n -> {
+            n.node("int").rawInt(5);
+            n.node("long").rawLong(1L << 40);
+            n.node("double").rawDouble(2.5);
+            n.node("boolean").rawBoolean(true);
+        });
+
+        assertEquals(5, node.node("int").raw());
+        assertEquals(5, node.node("int").getInt());
+        assertEquals(5L, node.node("int").getLong());
+        assertEquals(5d, node.node("int").getDouble());
+        assertEquals("5", node.node("int").getString());
+        assertEquals(1L << 40, node.node("long").raw());
+        assertEquals(1L << 40, node.node("long").getLong());
+        assertEquals(2.5d, node.node("double").raw());
+        assertEquals(2.5d, node.node("double").getDouble());
+        assertEquals(2, node.node("double").getInt(2));
+        assertEquals(true, node.node("boolean").raw());
+        assertTrue(node.node("boolean").getBoolean());
+    }
+
+    @Test
+    void testPrimitiveRawValuesEquivalentToBoxed() {
+        final BasicConfigurationNode primitive = BasicConfigurationNode.root(n -> {
+            n.node("a").rawInt(5);
+            n.node("b").rawDouble(0.5);
+        });
+        final BasicConfigurationNode boxed = BasicConfigurationNode.root(n -> {
+            n.node("a").raw(5);
+            n.node("b").raw(0.5);
+        });
+
+        assertEquals(boxed, primitive);
+        assertEquals(boxed.hashCode(), primitive.hashCode());
+        assertEquals(primitive, primitive.copy());
+    }
+
+    @Test
+    void testPrimitiveRawValueReplaced() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        node.rawInt(3);
+        node.raw("three");
+        assertEquals("three", node.raw());
+        node.raw(4L);
+        assertEquals(4L, node.raw());
+        node.rawInt(5);
+        assertEquals(5, node.raw());
+        node.raw(6);
+        assertEquals(6, node.getInt());
+    }
+
+    @Test
+    void testPrimitiveRawValueBoxedOnce() {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        node.rawLong(1L << 40);
+        assertSame(node.raw(), node.raw());
+        node.rawLong(1L << 41);
+        assertEquals(1L << 41, node.raw());
+        node.rawDouble(Double.NaN);
+        assertSame(node.raw(), node.raw());
+    }
+
     @Test
     void testNullOutListValue() {
         BasicConfigurationNode.root(n -> {
@@ -0,0 +1,192 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.leangen.geantyref.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+class FrozenConfigurationNodeTest {
+
+    private static BasicConfigurationNode sample() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        node.node("test").set(5);
+        node.node("section", "val1").set(true);
+        node.node("section", "val2").set("TEST");
+        node.node("section2", "alist").setList(String.class, Arrays.asList("value1", "value2"));
+        node.node("empty").raw(Collections.emptyMap());
+        return node;
+    }
+
+    @Test
+    void testFreezeRetainsValues() throws SerializationException {
+        final BasicConfigurationNode node = sample();
+        final FrozenConfigurationNode frozen = node.freeze();
+
+        assertEquals(node.raw(), frozen.raw());
+        assertEquals(5, frozen.node("test").getInt());
+        assertTrue(frozen.node("section", "val1").getBoolean());
+        assertEquals("TEST", frozen.node("section", "val2").getString());
+        assertEquals(Arrays.asList("value1", "value2"), frozen.node("section2", "alist").getList(String.class));
+        assertTrue(frozen.node("empty").isMap());
+        assertTrue(frozen.node("empty").empty());
+        assertEquals(NodePath.path("section", "val2"), frozen.node("section", "val2").path());
+    }
+
+    @Test
+    void testFreezeIsDetached() throws SerializationException {
+        final BasicConfigurationNode node = sample();
+        final FrozenConfigurationNode frozen = node.freeze();
+
+        node.node("section", "val2").set("changed");
+        node.node("section2", "alist").appendListNode().set("value3");
+
+        assertEquals("TEST", frozen.node("section", "val2").getString());
+        assertEquals(2, frozen.node("section2", "alist").childrenList().size());
+    }
+
+    @Test
+    void testMissingNodesAreVirtual() throws SerializationException {
+        final FrozenConfigurationNode frozen = sample().freeze();
+
+        final FrozenConfigurationNode missing = frozen.node("section", "missing", "deeper");
+        assertTrue(missing.virtual());
+        assertTrue(missing.isNull());
+        assertNull(missing.getString());
+        assertEquals("default", missing.getString("default"));
+        assertEquals(NodePath.path("section", "missing", "deeper"), missing.path());
+
+        assertFalse(frozen.hasChild("section", "missing"));
+        assertTrue(frozen.hasChild("section", "val1"));
+        assertTrue(frozen.hasChild("section2", "alist", 1));
+        assertFalse(frozen.hasChild("section2", "alist", 2));
+    }
+
+    @Test
+    void testLargeMapLookup() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        for (int i = 0; i < 100; ++i) {
+            node.node("key-" + i).set(i);
+        }
+        final FrozenConfigurationNode frozen = node.freeze();
+
+        final Map<Object, FrozenConfigurationNode> children = frozen.childrenMap();
+        assertEquals(100, children.size());
+        int expected = 0;
+        for (final Map.Entry<Object, FrozenConfigurationNode> entry : children.entrySet()) {
+            // insertion order is preserved
+            assertEquals("key-" + expected, entry.getKey());
+            assertEquals(expected++, entry.getValue().getInt());
+        }
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(i, frozen.node("key-" + i).getInt());
+        }
+        assertTrue(frozen.node("key-100").virtual());
+    }
+
+    @Test
+    void testModificationRejected() throws SerializationException {
+        final FrozenConfigurationNode frozen = sample().freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("test").set(6));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("test").raw(6));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("missing").set("value"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.removeChild("test"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("section2", "alist").appendListNode());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.childrenMap().remove("test"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.node("section2", "alist").childrenList().clear());
+    }
+
+    @Test
+    void testDefaultsNotCopied() throws SerializationException {
+        final BasicConfigurationNode node = BasicConfigurationNode.root(ConfigurationOptions.defaults().shouldCopyDefaults(true));
+        final FrozenConfigurationNode frozen = node.freeze();
+
+        assertFalse(frozen.options().shouldCopyDefaults());
+        assertEquals(Collections.singletonList("a"), frozen.node("list").getList(String.class, Collections.singletonList("a")));
+        assertEquals(3, frozen.node("number").get(Integer.class, 3));
+        assertTrue(frozen.node("list").virtual());
+    }
+
+    @Test
+    void testHintsRetained() {
+        final RepresentationHint<String> hint = RepresentationHint.of("test", String.class);
+        final BasicConfigurationNode node = BasicConfigurationNode.root();
+        node.hint(hint, "parent");
+        node.node("child").raw("value");
+
+        final FrozenConfigurationNode frozen = node.freeze();
+        assertEquals("parent", frozen.ownHint(hint));
+        assertEquals("parent", frozen.node("child").hint(hint));
+        assertNull(frozen.node("child").ownHint(hint));
+    }
+
+    @Test
+    void testVisit() throws SerializationException {
+        final BasicConfigurationNode node = sample();
+        final BasicConfigurationNode rebuilt = BasicConfigurationNode.root().from(node.freeze());
+        assertEquals(node, rebuilt);
+
+        final ConfigurationVisitor.Safe<StringBuilder, String> visitor = new ConfigurationVisitorTest.TestVisitor();
+        assertEquals(node.visit(visitor), node.freeze().visit(visitor));
+    }
+
+    @Test
+    void testFreezeFrozenNode() throws SerializationException {
+        final FrozenConfigurationNode frozen = sample().freeze();
+        assertSame(frozen, frozen.freeze());
+        assertSame(frozen, frozen.copy());
+        assertEquals(frozen, sample().freeze());
+        assertEquals(frozen.hashCode(), sample().freeze().hashCode());
+    }
+
+    @Test
+    void testFreezeFrozenChildDetaches() throws SerializationException {
+        final FrozenConfigurationNode child = sample().freeze().node("section2");
+        final FrozenConfigurationNode copy = child.copy();
+        assertNotSame(child, copy);
+        assertNull(copy.parent());
+        assertEquals("section2", copy.key());
+        assertEquals(child.childrenMap().keySet(), copy.childrenMap().keySet());
+        assertEquals(child.node("alist").childrenList().size(), copy.node("alist").childrenList().size());
+
+        final FrozenConfigurationNode frozen = child.freeze();
+        assertNull(frozen.parent());
+        assertSame(frozen, frozen.freeze());
+    }
+
+    @Test
+    void testTypedGetOnFrozenList() throws SerializationException {
+        final FrozenConfigurationNode frozen = sample().freeze();
+        final List<String> values = frozen.node("section2", "alist").get(new TypeToken<List<String>>() {});
+        assertEquals(Arrays.asList("value1", "value2"), values);
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.leangen.geantyref.TypeToken;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+
+import java.util.Arrays;
+import java.util.List;
+
+class NodeAccessorTest {
+
+    private static final NodeAccessor<Integer> PORT = NodeAccessor.of(NodePath.path("server", "port"), Integer.class);
+    private static final NodeAccessor<List<String>> TAGS =
+        NodeAccessor.of(NodePath.path("server", "tags"), new TypeToken<List<String>>() {});
+
+    @Test
+    void testGetExisting() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(n -> n.node("server", "port").raw("25565"));
+        assertEquals(25565, PORT.get(root));
+        assertEquals(root.node("server", "port").get(Integer.class), PORT.get(root));
+    }
+
+    @Test
+    void testCachedNodeInvalidatedOnChange() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(n -> n.node("server", "port").raw(1));
+        assertEquals(1, PORT.get(root));
+        assertEquals(1, PORT.get(root));
+
+        root.node("server").removeChild("port");
+        assertNull(PORT.get(root));
+
+        root.node("server", "port").raw(2);
+        assertEquals(2, PORT.get(root));
+
+        final BasicConfigurationNode other = BasicConfigurationNode.root(n -> n.node("server", "port").raw(3));
+        assertEquals(3, PORT.get(other));
+        assertEquals(2, PORT.get(root));
+    }
+
+    @Test
+    void testGetMissingDoesNotAttach() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(ConfigurationOptions.defaults().shouldCopyDefaults(false));
+        assertNull(PORT.get(root));
+        assertFalse(root.hasChild("server"));
+        assertEquals(8080, PORT.get(root, 8080));
+        assertFalse(root.hasChild("server"));
+    }
+
+    @Test
+    void testImplicitInitialization() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(ConfigurationOptions.defaults().implicitInitialization(true));
+        assertEquals(Arrays.asList(), TAGS.get(root));
+    }
+
+    @Test
+    void testCopyDefaults() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root(ConfigurationOptions.defaults().shouldCopyDefaults(true));
+        assertEquals(8080, PORT.get(root, 8080));
+        assertTrue(root.hasChild("server", "port"));
+        assertEquals(8080, root.node("server", "port").getInt());
+    }
+
+    @Test
+    void testSet() throws SerializationException {
+        final BasicConfigurationNode root = BasicConfigurationNode.root();
+        TAGS.set(root, Arrays.asList("a", "b"));
+        assertEquals(Arrays.asList("a", "b"), root.node("server", "tags").getList(String.class));
+        assertEquals(Arrays.asList("a", "b"), TAGS.get(root));
+
+        TAGS.set(root, null);
+        assertFalse(root.hasChild("server", "tags"));
+    }
+
+    @Test
+    void testDifferentSerializers() throws SerializationException {
+        final BasicConfigurationNode plain = BasicConfigurationNode.root(n -> n.node("server", "port").raw("1"));
+        final BasicConfigurationNode custom = BasicConfigurationNode.root(ConfigurationOptions.defaults()
+            .serializers(b -> b.register(Integer.class, TypeSerializer.of(Integer.class, (v, pass) -> v - 1,
+                v -> Integer.parseInt(v.toString()) + 1))),
+            n -> n.node("server", "port").raw("1"));
+
+        assertEquals(1, PORT.get(plain));
+        assertEquals(2, PORT.get(custom));
+        assertEquals(1, PORT.get(plain));
+    }
+
+    @Test
+    void testRawTypesRejected() {
+        assertThrows(IllegalArgumentException.class, () -> NodeAccessor.of(NodePath.path("a"), List.class));
+    }
+
+}
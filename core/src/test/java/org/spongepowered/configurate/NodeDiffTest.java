@@ -0,0 +1,194 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+class NodeDiffTest {
+
+    private static CommentedConfigurationNode example() {
+        return CommentedConfigurationNode.root(n -> {
+            n.node("name").raw("example");
+            n.node("section", "enabled").raw(true);
+            n.node("section", "count").raw(3);
+            n.node("list").raw(Arrays.asList("a", "b", "c", "d"));
+        });
+    }
+
+    @Test
+    void testIdenticalTreesHaveNoChanges() {
+        final NodeDiff diff = NodeDiff.between(example(), example());
+
+        assertTrue(diff.isEmpty());
+        assertEquals(NodeDiff.digest(example()), NodeDiff.digest(example()));
+    }
+
+    @Test
+    void testOnlyChangedNodesAreReplaced() {
+        final CommentedConfigurationNode from = example();
+        final CommentedConfigurationNode to = example();
+        to.node("section", "count").raw(4);
+        to.node("added").raw("new");
+        to.removeChild("name");
+
+        final NodeDiff diff = NodeDiff.between(from, to);
+        assertEquals(3, diff.operations().size());
+
+        final CommentedConfigurationNode section = from.node("section", "enabled");
+        diff.applyTo(from);
+        assertEquals(to, from);
+        assertSame(section, from.node("section", "enabled"));
+    }
+
+    @Test
+    void testListInsertAndRemove() {
+        final CommentedConfigurationNode from = example();
+        final CommentedConfigurationNode to = example();
+        to.node("list").raw(Arrays.asList("a", "x", "c", "d", "e"));
+        from.node("list").raw(Arrays.asList("a", "c", "d"));
+
+        final NodeDiff diff = NodeDiff.between(from, to);
+        diff.applyTo(from);
+        assertEquals(to, from);
+        assertEquals(Arrays.asList("a", "x", "c", "d", "e"), from.node("list").raw());
+
+        final NodeDiff shrink = NodeDiff.between(to, example());
+        shrink.applyTo(to);
+        assertEquals(example(), to);
+    }
+
+    @Test
+    void testInsertKeepsLaterElements() {
+        final CommentedConfigurationNode from = example();
+        final CommentedConfigurationNode to = example();
+        to.node("list").raw(Arrays.asList("x", "a", "b", "c", "d"));
+
+        final CommentedConfigurationNode last = from.node("list", 3);
+        final NodeDiff diff = NodeDiff.between(from, to);
+        diff.applyTo(from);
+        assertEquals(to, from);
+        assertSame(last, from.node("list", 4));
+        assertEquals(4, last.key());
+    }
+
+    @Test
+    void testHashCollisionsAreNotSkipped() {
+        // BigInteger hash codes are equal for these values
+        final BigInteger small = BigInteger.valueOf(31);
+        final BigInteger large = BigInteger.ONE.shiftLeft(32);
+        assertEquals(small.hashCode(), large.hashCode());
+
+        final BasicConfigurationNode from = BasicConfigurationNode.root(n -> n.node("value").raw(small));
+        final BasicConfigurationNode to = BasicConfigurationNode.root(n -> n.node("value").raw(large));
+
+        final NodeDiff diff = NodeDiff.between(from, to);
+        assertEquals(1, diff.operations().size());
+        diff.applyTo(from);
+        assertEquals(large, from.node("value").raw());
+    }
+
+    @Test
+    void testCommentChangesAreDetected() {
+        final CommentedConfigurationNode from = example();
+        final CommentedConfigurationNode to = example();
+        to.node("section").comment("a section");
+
+        assertNotEquals(NodeDiff.digest(from), NodeDiff.digest(to));
+        NodeDiff.between(from, to).applyTo(from);
+        assertEquals("a section", from.node("section").comment());
+    }
+
+    @Test
+    void testRenamedKeysAreMoved() {
+        final CommentedConfigurationNode from = example();
+        final CommentedConfigurationNode to = example();
+        to.node("renamed").from(to.node("section"));
+        to.removeChild("section");
+
+        final NodeDiff diff = NodeDiff.between(from, to);
+        assertEquals(1, diff.operations().size());
+        final NodeDiff.Operation move = diff.operations().get(0);
+        assertEquals(NodeDiff.Kind.MOVE, move.kind());
+        assertEquals(NodePath.path("section"), move.from());
+        assertEquals(NodePath.path("renamed"), move.path());
+
+        assertSame(from, from.apply(diff));
+        assertEquals(to, from);
+    }
+
+    @Test
+    void testWrittenDiffIsReadBack() throws SerializationException {
+        final CommentedConfigurationNode from = example();
+        final CommentedConfigurationNode to = example();
+        to.node("section", "count").raw(4);
+        to.node("list").raw(Arrays.asList("a", "b", "x", "d"));
+        to.node("other").from(to.node("name"));
+        to.removeChild("name");
+        to.node("section").comment("changed");
+        final NodeDiff diff = NodeDiff.between(from, to);
+
+        final CommentedConfigurationNode written = CommentedConfigurationNode.root();
+        diff.write(written);
+        assertEquals(3, written.childrenList().size());
+        assertEquals("move", written.node(2, "op").raw());
+        assertEquals(Arrays.asList("name"), written.node(2, "from").raw());
+
+        final NodeDiff read = NodeDiff.read(written);
+        assertEquals(diff, read);
+        from.apply(read);
+        assertEquals(to, from);
+        assertEquals("changed", from.node("section").comment());
+    }
+
+    @Test
+    void testWidenedIndicesAreRead() throws SerializationException {
+        final BasicConfigurationNode patch = BasicConfigurationNode.root(n -> n.appendListNode().act(op -> {
+            op.node("op").raw("replace");
+            op.node("path").raw(Arrays.asList("list", 1L));
+            op.node("value").raw("z");
+        }));
+
+        final CommentedConfigurationNode node = example().apply(NodeDiff.read(patch));
+        assertEquals(Arrays.asList("a", "z", "c", "d"), node.node("list").raw());
+    }
+
+    @Test
+    void testUnknownOperationsAreRejected() {
+        final BasicConfigurationNode patch = BasicConfigurationNode.root(n -> n.appendListNode().node("op").raw("copy"));
+
+        assertThrows(SerializationException.class, () -> NodeDiff.read(patch));
+    }
+
+    @Test
+    void testTypesAreDistinguished() {
+        final BasicConfigurationNode from = BasicConfigurationNode.root(n -> n.node("value").raw(1));
+        final BasicConfigurationNode to = BasicConfigurationNode.root(n -> n.node("value").raw(1L));
+
+        assertEquals(1, NodeDiff.between(from, to).operations().size());
+    }
+
+}
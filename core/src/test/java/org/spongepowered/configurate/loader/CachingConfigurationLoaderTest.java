@@ -0,0 +1,104 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+class CachingConfigurationLoaderTest {
+
+    @Test
+    void testUnchangedFileIsNotParsedAgain(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("cached.txt");
+        write(file, "first");
+        final FileTime modified = Files.getLastModifiedTime(file);
+        final CachingConfigurationLoader<BasicConfigurationNode> loader = CachingConfigurationLoader.of(
+            TestConfigurationLoader.builder().path(file).build(), file);
+
+        final BasicConfigurationNode first = loader.load();
+        assertEquals("first", first.raw());
+
+        // same size and modification time, so the cached tree is used
+        write(file, "other");
+        Files.setLastModifiedTime(file, modified);
+        final BasicConfigurationNode second = loader.load();
+        assertEquals("first", second.raw());
+        assertNotSame(first, second);
+
+        loader.invalidate();
+        assertEquals("other", loader.load().raw());
+    }
+
+    @Test
+    void testChangedFileIsParsedAgain(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("changed.txt");
+        write(file, "first");
+        final CachingConfigurationLoader<BasicConfigurationNode> loader = CachingConfigurationLoader.of(
+            TestConfigurationLoader.builder().path(file).build(), file);
+
+        assertEquals("first", loader.load().raw());
+        write(file, "a longer value");
+        assertEquals("a longer value", loader.load().raw());
+
+        Files.delete(file);
+        assertNull(loader.load().raw());
+    }
+
+    @Test
+    void testVerifiedContentsIgnoreModificationTime(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("verified.txt");
+        write(file, "first");
+        final FileTime modified = Files.getLastModifiedTime(file);
+        final CachingConfigurationLoader<BasicConfigurationNode> loader = CachingConfigurationLoader.of(
+            TestConfigurationLoader.builder().path(file).build(), file, true);
+
+        assertEquals("first", loader.load().raw());
+        write(file, "other");
+        Files.setLastModifiedTime(file, modified);
+        assertEquals("other", loader.load().raw());
+    }
+
+    @Test
+    void testLoadedNodesAreIndependent(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("copies.txt");
+        write(file, "value");
+        final CachingConfigurationLoader<BasicConfigurationNode> loader = CachingConfigurationLoader.of(
+            TestConfigurationLoader.builder().path(file).build(), file);
+
+        loader.load().raw("changed");
+        assertEquals("value", loader.load().raw());
+
+        loader.save(BasicConfigurationNode.root().raw("saved"));
+        assertEquals("saved", loader.load().raw());
+    }
+
+    private static void write(final Path file, final String contents) throws IOException {
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.loader.NodeEventReader.Event;
+
+import java.io.IOException;
+import java.util.Collections;
+
+class NodeEventReaderTest {
+
+    private static BasicConfigurationNode example() throws ConfigurateException {
+        return BasicConfigurationNode.root(n -> {
+            n.node("name").raw("example");
+            n.node("tags").appendListNode().raw("a");
+            n.node("tags").appendListNode().raw("b");
+            n.node("nested", "empty").raw(Collections.emptyMap());
+            n.node("count").raw(3);
+        });
+    }
+
+    @Test
+    void testTreeEvents() throws IOException {
+        try (NodeEventReader reader = NodeEventReader.of(example())) {
+            assertNull(reader.current());
+            assertEquals(Event.BEGIN_MAP, reader.next());
+            assertEquals(Event.KEY, reader.next());
+            assertEquals("name", reader.key());
+            assertEquals(Event.SCALAR, reader.next());
+            assertEquals("example", reader.scalar());
+            assertThrows(IllegalStateException.class, reader::key);
+
+            assertEquals(Event.KEY, reader.next());
+            assertEquals("tags", reader.key());
+            assertEquals(Event.BEGIN_LIST, reader.next());
+            assertEquals(Event.SCALAR, reader.next());
+            assertEquals("a", reader.scalar());
+            assertEquals(Event.SCALAR, reader.next());
+            assertEquals("b", reader.scalar());
+            assertEquals(Event.END_LIST, reader.next());
+
+            assertEquals(Event.KEY, reader.next());
+            assertEquals("nested", reader.key());
+            assertEquals(Event.BEGIN_MAP, reader.next());
+            assertEquals(Event.KEY, reader.next());
+            assertEquals(Event.BEGIN_MAP, reader.next());
+            assertEquals(Event.END_MAP, reader.next());
+            assertEquals(Event.END_MAP, reader.next());
+
+            assertEquals(Event.KEY, reader.next());
+            assertEquals(Event.SCALAR, reader.next());
+            assertEquals(3, reader.scalar());
+            assertEquals(Event.END_MAP, reader.next());
+            assertNull(reader.next());
+            assertNull(reader.current());
+        }
+    }
+
+    @Test
+    void testEmptyNodeHasNoEvents() throws IOException {
+        try (NodeEventReader reader = NodeEventReader.of(BasicConfigurationNode.root())) {
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testSkipValue() throws IOException {
+        try (NodeEventReader reader = NodeEventReader.of(example())) {
+            reader.next();
+            reader.next(); // name
+            reader.skipValue();
+            assertEquals(Event.KEY, reader.next());
+            assertEquals("tags", reader.key());
+            reader.skipValue();
+            assertEquals(Event.END_LIST, reader.current());
+            assertEquals(Event.KEY, reader.next());
+            assertEquals(Event.BEGIN_MAP, reader.next());
+            reader.skipValue(); // the rest of nested
+            assertEquals(Event.END_MAP, reader.current());
+            assertEquals(Event.KEY, reader.next());
+            assertEquals("count", reader.key());
+        }
+    }
+
+    @Test
+    void testReadValue() throws IOException {
+        final BasicConfigurationNode source = example();
+        try (NodeEventReader reader = NodeEventReader.of(source)) {
+            final BasicConfigurationNode copy = BasicConfigurationNode.root();
+            reader.readValue(copy);
+            assertEquals(source, copy);
+            assertTrue(copy.node("nested", "empty").isMap());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testReadPartialValue() throws IOException {
+        try (NodeEventReader reader = NodeEventReader.of(example())) {
+            reader.next();
+            while (reader.next() == Event.KEY && !"tags".equals(reader.key())) {
+                reader.skipValue();
+            }
+            final BasicConfigurationNode tags = BasicConfigurationNode.root();
+            reader.readValue(tags);
+            assertEquals(2, tags.childrenList().size());
+            assertEquals("b", tags.node(1).raw());
+        }
+    }
+
+    @Test
+    void testReadValueRejectsScalarPosition() throws IOException {
+        try (NodeEventReader reader = NodeEventReader.of(example())) {
+            reader.next();
+            reader.next();
+            reader.next();
+            assertThrows(IllegalStateException.class, () -> reader.readValue(BasicConfigurationNode.root()));
+        }
+    }
+
+}
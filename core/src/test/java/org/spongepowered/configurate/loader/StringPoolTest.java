@@ -0,0 +1,65 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class StringPoolTest {
+
+    @Test
+    void testPoolsKeys() {
+        final StringPool pool = StringPool.create(true, 0);
+        final String first = pool.key(new String("key"));
+        final String second = pool.key(new String("key"));
+        assertEquals("key", second);
+        assertSame(first, second);
+
+        final String scalar = new String("key");
+        assertSame(scalar, pool.scalar(scalar));
+    }
+
+    @Test
+    void testPoolsShortScalars() {
+        final StringPool pool = StringPool.create(false, 4);
+        assertSame(pool.scalar(new String("abcd")), pool.scalar(new String("abcd")));
+        assertNotSame(pool.scalar(new String("abcde")), pool.scalar(new String("abcde")));
+
+        final String key = new String("abcd");
+        assertSame(key, pool.key(key));
+    }
+
+    @Test
+    void testDisabled() {
+        final StringPool pool = StringPool.create(false, 0);
+        final String value = new String("value");
+        assertSame(value, pool.key(value));
+        assertSame(value, pool.scalar(value));
+        assertEquals("", pool.scalar(""));
+        assertSame(pool, StringPool.create(false, 0));
+    }
+
+    @Test
+    void testRejectsNegativeLength() {
+        assertThrows(IllegalArgumentException.class, () -> StringPool.create(true, -1));
+    }
+
+}
@@ -19,6 +19,7 @@ package org.spongepowered.configurate.objectmapping;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -64,6 +65,63 @@ class ObjectMapperTest {
         assertEquals("some are born great, some achieve greatness, and some have greatness thrust upon them", obj.stringVal);
     }
 
+    @ConfigSerializable
+    static class FinalFieldObject {
+        private final String name;
+        private final int count;
+
+        FinalFieldObject() {
+            this.name = "unset";
+            this.count = -1;
+        }
+    }
+
+    @Test
+    void testFinalFieldsWritten() throws SerializationException {
+        final ObjectMapper<FinalFieldObject> mapper = ObjectMapper.factory().get(FinalFieldObject.class);
+        final BasicConfigurationNode source = BasicConfigurationNode.root(n -> {
+            n.node("name").raw("written");
+            n.node("count").raw(3);
+        });
+
+        final FinalFieldObject obj = mapper.load(source);
+        assertEquals("written", obj.name);
+        assertEquals(3, obj.count);
+
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        mapper.save(obj, target);
+        assertEquals(source, target);
+    }
+
+    @Test
+    void testMappersAreCached() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder().build();
+        final ObjectMapper<TestObject> mapper = factory.get(TestObject.class);
+
+        assertSame(mapper, factory.get(TestObject.class));
+        final ObjectMapper.Factory.CacheStats stats = factory.cacheStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void testCacheEvictsLeastRecentlyUsed() throws SerializationException {
+        final ObjectMapper.Factory factory = ObjectMapper.factoryBuilder()
+            .cacheSize(2)
+            .cacheEviction(ObjectMapper.Factory.EvictionPolicy.LEAST_RECENTLY_USED)
+            .build();
+        final ObjectMapper<TestObject> kept = factory.get(TestObject.class);
+        factory.get(FinalFieldObject.class);
+        factory.get(TestObject.class);
+        factory.get(ParentObject.class);
+
+        assertSame(kept, factory.get(TestObject.class));
+        assertEquals(2, factory.cacheStats().size());
+        assertEquals(1, factory.cacheStats().evictionCount());
+        assertThrows(IllegalArgumentException.class, () -> ObjectMapper.factoryBuilder().cacheSize(0));
+    }
+
     @Test
     void testNullsPreserved() throws SerializationException {
         final ObjectMapper<TestObject> mapper = ObjectMapper.factory().get(TestObject.class);
@@ -71,6 +129,20 @@ class ObjectMapperTest {
         assertNull(obj.stringVal);
     }
 
+    @Test
+    void testSerializersFollowNodeOptions() throws SerializationException {
+        final ObjectMapper<TestObject> mapper = ObjectMapper.factory().get(TestObject.class);
+        final BasicConfigurationNode plain = BasicConfigurationNode.root(n -> n.node("test-key").raw("hello"));
+        final BasicConfigurationNode upper = BasicConfigurationNode.root(
+            ConfigurationOptions.defaults().serializers(builder -> builder.register(String.class, UppercaseStringTypeSerializer.INSTANCE)),
+            n -> n.node("test-key").raw("hello")
+        );
+
+        assertEquals("hello", mapper.load(plain).stringVal);
+        assertEquals("HELLO", mapper.load(upper).stringVal);
+        assertEquals("hello", mapper.load(plain).stringVal);
+    }
+
     @Test
     void testLoadExistingObject() throws SerializationException {
         final ObjectMapper<TestObject> mapper = ObjectMapper.factory().get(TestObject.class);
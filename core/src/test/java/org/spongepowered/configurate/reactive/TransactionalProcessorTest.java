@@ -75,6 +75,22 @@ class TransactionalProcessorTest {
         assertEquals(1, subject2.rollBackCount);
     }
 
+    @Test
+    void testFilterSkipsTransactions() {
+        final Processor.TransactionalIso<String> proc = this.create();
+        final SubscriberTransactionalTest subject = new SubscriberTransactionalTest();
+        proc.filter(it -> !it.startsWith("skip")).subscribe(subject);
+
+        proc.submit("first");
+        proc.submit("skipped");
+        assertEquals("first", subject.value);
+        assertNull(subject.nextValue);
+
+        subject.shouldThrow = true;
+        proc.submit("skipped again");
+        assertEquals(0, subject.rollBackCount);
+    }
+
     static class SubscriberTransactionalTest implements TransactionalSubscriber<String> {
         boolean shouldThrow;
         @MonotonicNonNull String value;
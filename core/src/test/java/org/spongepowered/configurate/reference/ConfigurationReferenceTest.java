@@ -0,0 +1,156 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.reference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.TestConfigurationLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ConfigurationReferenceTest {
+
+    @Test
+    void testBlockingWorkUsesIoExecutor(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("reference.txt");
+        final AtomicInteger blocking = new AtomicInteger();
+        final Executor ioExecutor = task -> {
+            blocking.incrementAndGet();
+            task.run();
+        };
+
+        final ConfigurationReference<BasicConfigurationNode> reference =
+            ConfigurationReference.fixed(TestConfigurationLoader.builder().path(file).build(), Runnable::run, ioExecutor);
+        reference.node().raw("saved");
+        reference.saveAsync();
+
+        assertEquals(1, blocking.get());
+        assertEquals("saved", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        reference.close();
+    }
+
+    @Test
+    void testUnchangedReloadDoesNotNotify(final @TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("reference.txt");
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        final ConfigurationReference<BasicConfigurationNode> reference =
+            ConfigurationReference.fixed(TestConfigurationLoader.builder().path(file).build(), Runnable::run, Runnable::run);
+        final AtomicInteger updates = new AtomicInteger();
+        reference.updates().subscribe(it -> updates.incrementAndGet());
+        final BasicConfigurationNode node = reference.node();
+
+        reference.load();
+        assertEquals(0, updates.get());
+        assertEquals(node, reference.node());
+
+        Files.write(file, "second".getBytes(StandardCharsets.UTF_8));
+        reference.load();
+        assertEquals(1, updates.get());
+        assertEquals("second", reference.node().raw());
+        reference.close();
+    }
+
+    @Test
+    void testOnlyChangedValuesAreUpdated() throws ConfigurateException {
+        final TreeLoader loader = new TreeLoader();
+        loader.next = BasicConfigurationNode.root(n -> {
+            n.node("first").raw(1);
+            n.node("second", "value").raw(2);
+        });
+        final ConfigurationReference<BasicConfigurationNode> reference = ConfigurationReference.fixed(loader, Runnable::run, Runnable::run);
+        final ValueReference<Integer, BasicConfigurationNode> first = reference.referenceTo(Integer.class, "first");
+        final ValueReference<Integer, BasicConfigurationNode> second = reference.referenceTo(Integer.class, "second", "value");
+        final AtomicInteger firstUpdates = new AtomicInteger();
+        final AtomicInteger secondUpdates = new AtomicInteger();
+        first.subscribe(it -> firstUpdates.incrementAndGet());
+        second.subscribe(it -> secondUpdates.incrementAndGet());
+        // subscribers receive the current value first
+        firstUpdates.set(0);
+        secondUpdates.set(0);
+
+        loader.next = BasicConfigurationNode.root(n -> {
+            n.node("first").raw(1);
+            n.node("second", "value").raw(3);
+        });
+        reference.load();
+        assertEquals(0, firstUpdates.get());
+        assertEquals(1, secondUpdates.get());
+        assertEquals(3, second.get());
+
+        loader.next = BasicConfigurationNode.root(n -> n.node("first").raw(4));
+        reference.load();
+        assertEquals(1, firstUpdates.get());
+        assertEquals(4, first.get());
+        reference.close();
+    }
+
+    @Test
+    void testHeaderOnlyReloadIsKept() throws ConfigurateException {
+        final TreeLoader loader = new TreeLoader();
+        loader.next = BasicConfigurationNode.root(n -> n.node("value").raw(1));
+        final ConfigurationReference<BasicConfigurationNode> reference = ConfigurationReference.fixed(loader, Runnable::run, Runnable::run);
+        final AtomicInteger updates = new AtomicInteger();
+        reference.updates().subscribe(it -> updates.incrementAndGet());
+        updates.set(0);
+
+        loader.next = BasicConfigurationNode.root(ConfigurationOptions.defaults().header("edited"), n -> n.node("value").raw(1));
+        reference.load();
+        assertEquals(1, updates.get());
+        assertEquals("edited", reference.node().options().header());
+        reference.close();
+    }
+
+    /**
+     * A loader returning copies of a tree held in memory.
+     */
+    static final class TreeLoader implements ConfigurationLoader<BasicConfigurationNode> {
+        volatile BasicConfigurationNode next = BasicConfigurationNode.root();
+
+        @Override
+        public BasicConfigurationNode load(final ConfigurationOptions options) {
+            return this.next.copy();
+        }
+
+        @Override
+        public ConfigurationReference<BasicConfigurationNode> loadToReference() throws ConfigurateException {
+            return ConfigurationReference.fixed(this);
+        }
+
+        @Override
+        public void save(final ConfigurationNode node) {
+            this.next = BasicConfigurationNode.root().from(node);
+        }
+
+        @Override
+        public BasicConfigurationNode createNode(final ConfigurationOptions options) {
+            return BasicConfigurationNode.root(options);
+        }
+    }
+
+}
@@ -18,13 +18,16 @@ package org.spongepowered.configurate.reference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.loader.TestConfigurationLoader;
 import org.spongepowered.configurate.reactive.Disposable;
 
 import java.io.IOException;
@@ -32,10 +35,18 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -111,6 +122,98 @@ class WatchServiceListenerTest {
         });
     }
 
+    @Test
+    void testDebounceCoalescesBursts() throws IOException, InterruptedException {
+        final Path tempFolder = Files.createTempDirectory("configurate-test");
+        final Path testFile = tempFolder.resolve("debounced.txt");
+        Files.write(testFile, Collections.singleton("version one"), StandardOpenOption.SYNC,
+            StandardOpenOption.CREATE);
+
+        final AtomicInteger callCount = new AtomicInteger(0);
+        final CountDownLatch delivered = new CountDownLatch(1);
+        try (WatchServiceListener debounced = WatchServiceListener.builder().debounce(Duration.ofMillis(500)).build()) {
+            debounced.listenToFile(testFile, event -> {
+                callCount.incrementAndGet();
+                delivered.countDown();
+            });
+
+            for (int i = 0; i < 5; ++i) {
+                Files.write(testFile, Collections.singleton("version " + i), StandardOpenOption.SYNC);
+            }
+
+            assertTrue(delivered.await(1, TimeUnit.MINUTES));
+            Thread.sleep(1000);
+            assertEquals(1, callCount.get());
+        }
+    }
+
+    @Test
+    void testUnchangedContentsAreNotReloaded() throws IOException, InterruptedException {
+        final Path tempFolder = Files.createTempDirectory("configurate-test");
+        final Path testFile = tempFolder.resolve("unchanged.txt");
+        Files.write(testFile, Collections.singleton("version one"), StandardOpenOption.SYNC,
+            StandardOpenOption.CREATE);
+
+        // debounced, so the file is not read while partially written
+        try (WatchServiceListener debounced = WatchServiceListener.builder().debounce(Duration.ofMillis(200)).build()) {
+            final ConfigurationReference<BasicConfigurationNode> reference =
+                debounced.listenToConfiguration(file -> TestConfigurationLoader.builder().path(file).build(), testFile);
+            final BlockingQueue<Object> updates = new LinkedBlockingQueue<>();
+            reference.updates().subscribe(node -> updates.add(node.raw()));
+
+            Files.write(testFile, Collections.singleton("version one"), StandardOpenOption.SYNC);
+            Thread.sleep(1000);
+            Files.write(testFile, Collections.singleton("version two"), StandardOpenOption.SYNC);
+
+            assertEquals("version two", updates.poll(1, TimeUnit.MINUTES));
+            assertTrue(updates.isEmpty());
+            reference.close();
+        }
+    }
+
+    @Test
+    void testPollingOnSharedScheduler() throws IOException, InterruptedException {
+        final Path tempFolder = Files.createTempDirectory("configurate-test");
+        final Path polledFile = tempFolder.resolve("polled.txt");
+        final Path watchedFile = tempFolder.resolve("watched.txt");
+        Files.write(polledFile, Collections.singleton("version one"), StandardOpenOption.SYNC, StandardOpenOption.CREATE);
+        Files.write(watchedFile, Collections.singleton("version one"), StandardOpenOption.SYNC, StandardOpenOption.CREATE);
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final BlockingQueue<WatchEvent<?>> events = new LinkedBlockingQueue<>();
+        try (
+            WatchServiceListener polling = WatchServiceListener.builder()
+                .polling(true)
+                .scheduler(scheduler)
+                .checkInterval(Duration.ofMillis(50))
+                .build();
+            WatchServiceListener watching = WatchServiceListener.builder()
+                .scheduler(scheduler)
+                .checkInterval(Duration.ofMillis(50))
+                .build()
+        ) {
+            polling.listenToFile(polledFile, events::add);
+            watching.listenToFile(watchedFile, events::add);
+
+            // modification times may only have a resolution of one second
+            Thread.sleep(1000);
+            Files.write(polledFile, Collections.singleton("version two"), StandardOpenOption.SYNC);
+            final WatchEvent<?> modified = events.poll(1, TimeUnit.MINUTES);
+            assertEquals(StandardWatchEventKinds.ENTRY_MODIFY, modified.kind());
+            assertEquals(polledFile.getFileName(), modified.context());
+
+            Files.delete(polledFile);
+            final WatchEvent<?> deleted = events.poll(1, TimeUnit.MINUTES);
+            assertEquals(StandardWatchEventKinds.ENTRY_DELETE, deleted.kind());
+
+            Files.write(watchedFile, Collections.singleton("version two"), StandardOpenOption.SYNC);
+            final WatchEvent<?> watched = events.poll(1, TimeUnit.MINUTES);
+            assertEquals(watchedFile.getFileName(), watched.context());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
     @Test
     @Disabled
     void testListenToDirectory() throws IOException, ConfigurateException {
@@ -47,10 +47,12 @@ import java.net.URL;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -218,6 +220,55 @@ class TypeSerializersTest {
         }).getMessage().contains("Raw types"));
     }
 
+    @Test
+    void testParallelListDeserialization() throws SerializationException {
+        final TypeToken<List<Integer>> intListType = new TypeToken<List<Integer>>() {};
+        final TypeSerializer<List<Integer>> intListSerializer = this.serializer(intListType);
+        final BasicConfigurationNode value = BasicConfigurationNode.root();
+        value.hint(ParallelDeserialization.THRESHOLD, 10);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            value.appendListNode().set(String.valueOf(i));
+            expected.add(i);
+        }
+
+        assertEquals(expected, intListSerializer.deserialize(intListType.getType(), value));
+    }
+
+    @Test
+    void testParallelListDeserializationReportsAllErrors() throws SerializationException {
+        final TypeToken<List<Integer>> intListType = new TypeToken<List<Integer>>() {};
+        final TypeSerializer<List<Integer>> intListSerializer = this.serializer(intListType);
+        final BasicConfigurationNode value = BasicConfigurationNode.root();
+        value.hint(ParallelDeserialization.THRESHOLD, 10);
+        for (int i = 0; i < 100; ++i) {
+            value.appendListNode().set(i % 25 == 3 ? "nope" : String.valueOf(i));
+        }
+
+        final SerializationException ex = Assertions.assertThrows(SerializationException.class,
+            () -> intListSerializer.deserialize(intListType.getType(), value));
+        assertEquals(value.node(3).path(), ex.path());
+        assertEquals(3, ex.getSuppressed().length);
+        assertEquals(value.node(28).path(), ((SerializationException) ex.getSuppressed()[0]).path());
+    }
+
+    @Test
+    void testParallelMapDeserialization() throws SerializationException {
+        final TypeToken<Map<String, Integer>> mapStringIntType = new TypeToken<Map<String, Integer>>() {};
+        final TypeSerializer<Map<String, Integer>> mapStringIntSerializer = this.serializer(mapStringIntType);
+        final BasicConfigurationNode value = BasicConfigurationNode.root();
+        value.hint(ParallelDeserialization.THRESHOLD, 10);
+        final Map<String, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            value.node("key" + i).set(String.valueOf(i));
+            expected.put("key" + i, i);
+        }
+
+        final @Nullable Map<String, Integer> deserialized = mapStringIntSerializer.deserialize(mapStringIntType.getType(), value);
+        assertEquals(expected, deserialized);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(requireNonNull(deserialized).keySet()));
+    }
+
     @Test
     void testMapSerializer() throws SerializationException {
         final TypeToken<Map<String, Integer>> mapStringIntType = new TypeToken<Map<String, Integer>>() {};
@@ -0,0 +1,623 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Writes the source of an accessor for one class.
+ */
+final class AccessorWriter {
+
+    private static final String GENERATED_ACCESSOR = "org.spongepowered.configurate.objectmapping.GeneratedAccessor";
+    private static final String TYPE_FACTORY = "io.leangen.geantyref.TypeFactory";
+    private static final String TYPE_REFLECTOR = "io.leangen.geantyref.GenericTypeReflector";
+    private static final String ANNOTATION = "java.lang.annotation.Annotation";
+    private static final String METHOD_HANDLE = "java.lang.invoke.MethodHandle";
+    private static final String METHOD_TYPE = "java.lang.invoke.MethodType";
+
+    private final Elements elements;
+    private final Types types;
+    private final PackageElement pkg;
+    private final TypeElement type;
+    private final String target;
+    private final List<MappedField> fields;
+    private final boolean constructorHandle;
+
+    AccessorWriter(final ProcessingEnvironment env, final PackageElement pkg, final TypeElement type, final List<MappedField> fields) {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.pkg = pkg;
+        this.type = type;
+        this.target = rawName(type);
+        this.fields = fields;
+
+        boolean constructorHandle = true;
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                constructorHandle = false;
+            }
+        }
+        this.constructorHandle = constructorHandle;
+
+        for (final MappedField field : fields) {
+            field.handle = !this.reachable(field);
+            try {
+                final StringBuilder annotations = new StringBuilder();
+                for (final AnnotationMirror annotation : this.runtimeAnnotations(field.element.getAnnotationMirrors())) {
+                    annotations.append(annotations.length() == 0 ? "" : ",\n").append(this.annotation(annotation));
+                }
+                field.type = this.annotatedType(field.element.asType());
+                field.annotations = annotations.toString();
+            } catch (final Unsupported ex) {
+                // left to reflection at runtime
+                field.type = null;
+                field.annotations = null;
+            }
+        }
+    }
+
+    /**
+     * A field accessed through the generated accessor.
+     */
+    static final class MappedField {
+        final VariableElement element;
+        // the number of superclasses between the annotated class and the declaring class
+        final int depth;
+        boolean handle;
+        @Nullable String type;
+        @Nullable String annotations;
+
+        MappedField(final VariableElement element, final int depth) {
+            this.element = element;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Thrown when part of a field's metadata cannot be written as source.
+     */
+    static final class Unsupported extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    String write(final String simpleName) {
+        final StringBuilder out = new StringBuilder();
+        if (!this.pkg.isUnnamed()) {
+            out.append("package ").append(this.pkg.getQualifiedName()).append(";\n\n");
+        }
+        out.append("// Generated by Configurate's annotation processor from ").append(this.target).append(", do not edit\n")
+            .append("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"deprecation\"})\n")
+            .append("public final class ").append(simpleName).append(" implements ").append(GENERATED_ACCESSOR)
+            .append('<').append(this.target).append("> {\n\n");
+
+        out.append("    private static final ").append(ANNOTATION).append("[] NO_ANNOTATIONS = new ").append(ANNOTATION).append("[0];\n")
+            .append("    private static final Class<?>[] DECLARING = {");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            out.append(i == 0 ? "" : ", ").append(this.declaring(this.fields.get(i)));
+        }
+        out.append("};\n")
+            .append("    private static final String[] NAMES = {");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            out.append(i == 0 ? "" : ", ").append('"').append(this.fields.get(i).element.getSimpleName()).append('"');
+        }
+        out.append("};\n\n");
+
+        out.append("    @Override\n")
+            .append("    public int fieldCount() {\n")
+            .append("        return ").append(this.fields.size()).append(";\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public Class<?> declaringClass(final int slot) {\n")
+            .append("        return DECLARING[slot];\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public String fieldName(final int slot) {\n")
+            .append("        return NAMES[slot];\n")
+            .append("    }\n\n");
+
+        out.append("    @Override\n")
+            .append("    public java.lang.reflect.AnnotatedType fieldType(final int slot) {\n")
+            .append("        switch (slot) {\n");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final @Nullable String fieldType = this.fields.get(i).type;
+            out.append("            case ").append(i).append(": return ").append(fieldType == null ? "null" : fieldType).append(";\n");
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);\n")
+            .append("        }\n")
+            .append("    }\n\n");
+
+        out.append("    @Override\n")
+            .append("    public ").append(ANNOTATION).append("[] fieldAnnotations(final int slot) {\n")
+            .append("        switch (slot) {\n");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final @Nullable String annotations = this.fields.get(i).annotations;
+            out.append("            case ").append(i).append(": return ");
+            if (annotations == null || annotations.isEmpty()) {
+                out.append("NO_ANNOTATIONS;\n");
+            } else {
+                out.append("new ").append(ANNOTATION).append("[] {\n")
+                    .append("                ").append(indent(annotations, "                ")).append('\n')
+                    .append("            };\n");
+            }
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);\n")
+            .append("        }\n")
+            .append("    }\n\n");
+
+        out.append("    @Override\n")
+            .append("    public ").append(this.target).append(" newInstance() {\n");
+        if (this.constructorHandle) {
+            out.append("        try {\n")
+                .append("            return (").append(this.target).append(") (Object) Handles.CONSTRUCTOR.invokeExact();\n")
+                .append("        } catch (final Throwable ex) {\n")
+                .append("            throw rethrow(ex);\n")
+                .append("        }\n");
+        } else {
+            out.append("        return new ").append(this.target).append("();\n");
+        }
+        out.append("    }\n\n");
+
+        out.append("    @Override\n")
+            .append("    public Object get(final ").append(this.target).append(" instance, final int slot) {\n")
+            .append("        switch (slot) {\n");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final MappedField field = this.fields.get(i);
+            if (field.handle) {
+                out.append("            case ").append(i).append(":\n")
+                    .append("                try {\n")
+                    .append("                    return (Object) Handles.GET_").append(i).append(".invokeExact((Object) instance);\n")
+                    .append("                } catch (final Throwable ex) {\n")
+                    .append("                    throw rethrow(ex);\n")
+                    .append("                }\n");
+            } else {
+                out.append("            case ").append(i).append(": return ").append(this.access(field)).append(";\n");
+            }
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);\n")
+            .append("        }\n")
+            .append("    }\n\n");
+
+        out.append("    @Override\n")
+            .append("    public void set(final ").append(this.target).append(" instance, final int slot, final Object value) {\n")
+            .append("        switch (slot) {\n");
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final MappedField field = this.fields.get(i);
+            if (field.handle) {
+                out.append("            case ").append(i).append(":\n")
+                    .append("                try {\n")
+                    .append("                    Handles.SET_").append(i).append(".invokeExact((Object) instance, value);\n")
+                    .append("                } catch (final Throwable ex) {\n")
+                    .append("                    throw rethrow(ex);\n")
+                    .append("                }\n")
+                    .append("                break;\n");
+            } else {
+                out.append("            case ").append(i).append(": ").append(this.access(field))
+                    .append(" = (").append(this.castName(field.element.asType())).append(") value; break;\n");
+            }
+        }
+        out.append("            default: throw new IndexOutOfBoundsException(\"slot \" + slot);\n")
+            .append("        }\n")
+            .append("    }\n");
+
+        if (this.constructorHandle || this.fields.stream().anyMatch(it -> it.handle)) {
+            this.writeHandles(out);
+        }
+        out.append("\n}\n");
+        return out.toString();
+    }
+
+    /**
+     * Write method handles for the members this package cannot reach
+     * directly. They are held by a nested class, so they are only created
+     * once an accessor uses them.
+     *
+     * @param out the builder to write to
+     */
+    private void writeHandles(final StringBuilder out) {
+        out.append("\n    private static RuntimeException rethrow(final Throwable ex) {\n")
+            .append("        if (ex instanceof Error) {\n")
+            .append("            throw (Error) ex;\n")
+            .append("        }\n")
+            .append("        return ex instanceof RuntimeException ? (RuntimeException) ex : new IllegalStateException(ex);\n")
+            .append("    }\n\n")
+            .append("    private static final class Handles {\n");
+        if (this.constructorHandle) {
+            out.append("        static final ").append(METHOD_HANDLE).append(" CONSTRUCTOR;\n");
+        }
+        for (int i = 0; i < this.fields.size(); ++i) {
+            if (this.fields.get(i).handle) {
+                out.append("        static final ").append(METHOD_HANDLE).append(" GET_").append(i).append(";\n")
+                    .append("        static final ").append(METHOD_HANDLE).append(" SET_").append(i).append(";\n");
+            }
+        }
+        out.append("\n        static {\n")
+            .append("            final java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.lookup();\n")
+            .append("            try {\n");
+        if (this.constructorHandle) {
+            out.append("                final java.lang.reflect.Constructor<?> constructor = ").append(this.target)
+                .append(".class.getDeclaredConstructor();\n")
+                .append("                constructor.setAccessible(true);\n")
+                .append("                CONSTRUCTOR = lookup.unreflectConstructor(constructor).asType(").append(METHOD_TYPE)
+                .append(".methodType(Object.class));\n");
+        }
+        for (int i = 0; i < this.fields.size(); ++i) {
+            final MappedField field = this.fields.get(i);
+            if (field.handle) {
+                out.append("                final java.lang.reflect.Field field").append(i).append(" = DECLARING[").append(i)
+                    .append("].getDeclaredField(NAMES[").append(i).append("]);\n")
+                    .append("                field").append(i).append(".setAccessible(true);\n")
+                    .append("                GET_").append(i).append(" = lookup.unreflectGetter(field").append(i).append(").asType(")
+                    .append(METHOD_TYPE).append(".methodType(Object.class, Object.class));\n")
+                    .append("                SET_").append(i).append(" = lookup.unreflectSetter(field").append(i).append(").asType(")
+                    .append(METHOD_TYPE).append(".methodType(void.class, Object.class, Object.class));\n");
+            }
+        }
+        out.append("            } catch (final ReflectiveOperationException ex) {\n")
+            .append("                throw new ExceptionInInitializerError(ex);\n")
+            .append("            }\n")
+            .append("        }\n")
+            .append("    }\n");
+    }
+
+    private String declaring(final MappedField field) {
+        final StringBuilder result = new StringBuilder(this.target).append(".class");
+        for (int i = 0; i < field.depth; ++i) {
+            // superclasses may not be accessible by name from this package
+            result.append(".getSuperclass()");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Get whether a field can be read and written directly from the
+     * accessor's package.
+     *
+     * @param field the field
+     * @return whether the field can be accessed without a method handle
+     */
+    private boolean reachable(final MappedField field) {
+        final Element declaring = field.element.getEnclosingElement();
+        final Set<Modifier> modifiers = field.element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+            || !this.elements.getPackageOf(declaring).equals(this.pkg)) {
+            return false;
+        }
+        try {
+            this.requireAccessible((TypeElement) declaring);
+            this.classLiteral(field.element.asType());
+            return true;
+        } catch (final Unsupported ex) {
+            return false;
+        }
+    }
+
+    private String access(final MappedField field) {
+        final TypeElement declaring = (TypeElement) field.element.getEnclosingElement();
+        if (declaring.equals(this.type)) {
+            return "instance." + field.element.getSimpleName();
+        }
+        // a cast reaches fields hidden by a subclass field of the same name
+        return "((" + rawName(declaring) + ") instance)." + field.element.getSimpleName();
+    }
+
+    /**
+     * Get the name of the type a value is cast to before it is assigned to
+     * a field of {@code type}.
+     *
+     * <p>Generic types are erased, and primitive types are boxed.</p>
+     *
+     * @param type the field type
+     * @return the source name of the cast type
+     */
+    private String castName(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return rawName(this.types.boxedClass((PrimitiveType) type));
+        }
+        final String literal;
+        try {
+            literal = this.classLiteral(type);
+        } catch (final Unsupported ex) {
+            // reachable() has already checked this
+            throw new IllegalStateException(ex);
+        }
+        return literal.substring(0, literal.length() - ".class".length());
+    }
+
+    // Types
+
+    private String annotatedType(final TypeMirror type) throws Unsupported {
+        final List<? extends AnnotationMirror> annotations = this.runtimeAnnotations(type.getAnnotationMirrors());
+        final String result = this.type(type);
+        if (annotations.isEmpty()) {
+            return TYPE_REFLECTOR + ".annotate(" + result + ")";
+        }
+        final StringBuilder array = new StringBuilder();
+        for (final AnnotationMirror annotation : annotations) {
+            array.append(array.length() == 0 ? "" : ",\n").append(this.annotation(annotation));
+        }
+        return TYPE_REFLECTOR + ".annotate(" + result + ", new " + ANNOTATION + "[] {\n    " + indent(array.toString(), "    ") + "\n})";
+    }
+
+    /**
+     * Get an expression creating a type equal to the one that reflection
+     * would report for {@code type}.
+     *
+     * @param type the type
+     * @return the source of an expression
+     * @throws Unsupported if the type refers to a type variable, has nested
+     *     type annotations, or names a type that cannot be accessed
+     */
+    private String type(final TypeMirror type) throws Unsupported {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return type.getKind().name().toLowerCase(Locale.ROOT) + ".class";
+            case ARRAY:
+                final TypeMirror component = ((ArrayType) type).getComponentType();
+                this.requireUnannotated(component);
+                final String componentType = this.type(component);
+                if (componentType.endsWith(".class")) {
+                    return componentType.substring(0, componentType.length() - ".class".length()) + "[].class";
+                }
+                return TYPE_FACTORY + ".arrayOf(" + componentType + ")";
+            case DECLARED:
+                final DeclaredType declared = (DeclaredType) type;
+                final TypeElement element = (TypeElement) declared.asElement();
+                this.requireAccessible(element);
+                final TypeMirror enclosing = declared.getEnclosingType();
+                if (enclosing.getKind() == TypeKind.DECLARED && !((DeclaredType) enclosing).getTypeArguments().isEmpty()) {
+                    throw new Unsupported();
+                }
+                if (declared.getTypeArguments().isEmpty()) {
+                    return rawName(element) + ".class";
+                }
+                final StringBuilder result = new StringBuilder(TYPE_FACTORY).append(".parameterizedClass(").append(rawName(element)).append(".class");
+                for (final TypeMirror argument : declared.getTypeArguments()) {
+                    this.requireUnannotated(argument);
+                    result.append(", ").append(this.type(argument));
+                }
+                return result.append(')').toString();
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                final @Nullable TypeMirror upper = wildcard.getExtendsBound();
+                final @Nullable TypeMirror lower = wildcard.getSuperBound();
+                if (upper != null) {
+                    this.requireUnannotated(upper);
+                    return TYPE_FACTORY + ".wildcardExtends(" + this.type(upper) + ")";
+                } else if (lower != null) {
+                    this.requireUnannotated(lower);
+                    return TYPE_FACTORY + ".wildcardSuper(" + this.type(lower) + ")";
+                }
+                return TYPE_FACTORY + ".unboundWildcard()";
+            default:
+                // type variables depend on the mapped type
+                throw new Unsupported();
+        }
+    }
+
+    private void requireUnannotated(final TypeMirror type) throws Unsupported {
+        // only annotations on the field's type itself are written out
+        if (!this.runtimeAnnotations(type.getAnnotationMirrors()).isEmpty()) {
+            throw new Unsupported();
+        }
+    }
+
+    private String classLiteral(final TypeMirror type) throws Unsupported {
+        final TypeMirror erased = this.types.erasure(type);
+        if (erased.getKind().isPrimitive() || erased.getKind() == TypeKind.VOID) {
+            return erased.getKind().name().toLowerCase(Locale.ROOT) + ".class";
+        } else if (erased.getKind() == TypeKind.ARRAY) {
+            final String component = this.classLiteral(((ArrayType) erased).getComponentType());
+            return component.substring(0, component.length() - ".class".length()) + "[].class";
+        } else if (erased.getKind() == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+            this.requireAccessible(element);
+            return rawName(element) + ".class";
+        }
+        throw new Unsupported();
+    }
+
+    private void requireAccessible(final TypeElement type) throws Unsupported {
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            final TypeElement current = (TypeElement) enclosing;
+            final Set<Modifier> modifiers = current.getModifiers();
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS
+                || modifiers.contains(Modifier.PRIVATE)
+                || !modifiers.contains(Modifier.PUBLIC) && !this.elements.getPackageOf(current).equals(this.pkg)) {
+                throw new Unsupported();
+            }
+        }
+    }
+
+    // Annotations
+
+    private List<? extends AnnotationMirror> runtimeAnnotations(final List<? extends AnnotationMirror> annotations) {
+        final List<AnnotationMirror> result = new ArrayList<>(annotations.size());
+        for (final AnnotationMirror annotation : annotations) {
+            final @Nullable Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+            if (retention != null && retention.value() == RetentionPolicy.RUNTIME) {
+                result.add(annotation);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get an expression creating an implementation of an annotation, with
+     * the same values, equality, and hash code as the one reflection
+     * would return.
+     *
+     * @param annotation the annotation
+     * @return the source of an expression
+     * @throws Unsupported if the annotation names a type that cannot
+     *     be accessed
+     */
+    private String annotation(final AnnotationMirror annotation) throws Unsupported {
+        final TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+        this.requireAccessible(annotationType);
+        final String name = rawName(annotationType);
+        final Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.elements.getElementValuesWithDefaults(annotation);
+
+        final StringBuilder members = new StringBuilder();
+        final StringBuilder equals = new StringBuilder("other instanceof ").append(name);
+        final StringBuilder hashCode = new StringBuilder("0");
+        final StringBuilder toString = new StringBuilder("\"@").append(name).append("(\"");
+        boolean first = true;
+        for (final ExecutableElement member : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+            final @Nullable AnnotationValue value = values.get(member);
+            if (value == null) {
+                throw new Unsupported();
+            }
+            final TypeMirror returnType = member.getReturnType();
+            final String memberName = member.getSimpleName().toString();
+            final String self = "this." + memberName + "()";
+            final String other = "((" + name + ") other)." + memberName + "()";
+            members.append("    @Override\n")
+                .append("    public ").append(returnType).append(' ').append(memberName).append("() {\n")
+                .append("        return ").append(indent(this.value(value, returnType), "        ")).append(";\n")
+                .append("    }\n\n");
+
+            final String memberHash;
+            switch (returnType.getKind()) {
+                case FLOAT:
+                    equals.append("\n            && Float.floatToIntBits(").append(self)
+                        .append(") == Float.floatToIntBits(").append(other).append(')');
+                    memberHash = "Float.hashCode(" + self + ")";
+                    break;
+                case DOUBLE:
+                    equals.append("\n            && Double.doubleToLongBits(").append(self)
+                        .append(") == Double.doubleToLongBits(").append(other).append(')');
+                    memberHash = "Double.hashCode(" + self + ")";
+                    break;
+                case ARRAY:
+                    equals.append("\n            && java.util.Arrays.equals(").append(self).append(", ").append(other).append(')');
+                    memberHash = "java.util.Arrays.hashCode(" + self + ")";
+                    break;
+                case DECLARED:
+                    equals.append("\n            && ").append(self).append(".equals(").append(other).append(')');
+                    memberHash = self + ".hashCode()";
+                    break;
+                default:
+                    equals.append("\n            && ").append(self).append(" == ").append(other);
+                    memberHash = rawName(this.types.boxedClass((PrimitiveType) returnType)) + ".hashCode(" + self + ")";
+            }
+            hashCode.append("\n            + (127 * \"").append(memberName).append("\".hashCode() ^ ").append(memberHash).append(')');
+            toString.append("\n            + \"").append(first ? "" : ", ").append(memberName).append("=\" + ")
+                .append(returnType.getKind() == TypeKind.ARRAY ? "java.util.Arrays.toString(" + self + ")" : self);
+            first = false;
+        }
+        toString.append("\n            + \")\"");
+
+        return "new " + name + "() {\n"
+            + "    @Override\n"
+            + "    public Class<? extends " + ANNOTATION + "> annotationType() {\n"
+            + "        return " + name + ".class;\n"
+            + "    }\n\n"
+            + members
+            + "    @Override\n"
+            + "    public boolean equals(final Object other) {\n"
+            + "        return " + equals + ";\n"
+            + "    }\n\n"
+            + "    @Override\n"
+            + "    public int hashCode() {\n"
+            + "        return " + hashCode + ";\n"
+            + "    }\n\n"
+            + "    @Override\n"
+            + "    public String toString() {\n"
+            + "        return " + toString + ";\n"
+            + "    }\n"
+            + "}";
+    }
+
+    private String value(final AnnotationValue value, final TypeMirror type) throws Unsupported {
+        final Object raw = value.getValue();
+        if (raw instanceof TypeMirror) {
+            return this.classLiteral((TypeMirror) raw);
+        } else if (raw instanceof VariableElement) {
+            final TypeElement enumType = (TypeElement) ((VariableElement) raw).getEnclosingElement();
+            this.requireAccessible(enumType);
+            return rawName(enumType) + "." + ((VariableElement) raw).getSimpleName();
+        } else if (raw instanceof AnnotationMirror) {
+            return this.annotation((AnnotationMirror) raw);
+        } else if (raw instanceof List<?>) {
+            final TypeMirror component = ((ArrayType) type).getComponentType();
+            final String componentLiteral = this.classLiteral(component);
+            final StringBuilder result = new StringBuilder("new ")
+                .append(componentLiteral, 0, componentLiteral.length() - ".class".length()).append("[] {");
+            boolean first = true;
+            for (final Object element : (List<?>) raw) {
+                result.append(first ? "" : ", ").append(this.value((AnnotationValue) element, component));
+                first = false;
+            }
+            return result.append('}').toString();
+        }
+        return this.elements.getConstantExpression(raw);
+    }
+
+    private static String indent(final String block, final String prefix) {
+        final StringBuilder result = new StringBuilder(block.length());
+        for (final String line : block.split("\n", -1)) {
+            // blank lines are left without trailing whitespace
+            result.append(result.length() == 0 || line.isEmpty() ? "" : prefix).append(line).append('\n');
+        }
+        return result.substring(0, result.length() - 1);
+    }
+
+    private static String rawName(final TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+}
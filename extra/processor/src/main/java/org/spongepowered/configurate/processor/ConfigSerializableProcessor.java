@@ -0,0 +1,171 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code GeneratedAccessor} for each
+ * {@code @ConfigSerializable} class.
+ *
+ * <p>The generated accessor lives in the same package as its class. Fields
+ * and constructors it can reach are accessed directly, while private or
+ * final fields and private constructors are accessed through method handles
+ * created once, when first used. The type and annotations of each field are
+ * written out as source too.</p>
+ *
+ * <p>Classes the accessor cannot name, such as private, inner and local
+ * classes, or classes without a no-argument constructor, are reported with
+ * a note and keep being mapped through reflection.</p>
+ *
+ * @since 4.2.0
+ */
+public final class ConfigSerializableProcessor extends AbstractProcessor {
+
+    private static final String CONFIG_SERIALIZABLE = "org.spongepowered.configurate.objectmapping.ConfigSerializable";
+    // matches GeneratedAccessor.CLASS_SUFFIX
+    private static final String CLASS_SUFFIX = "_ConfigurateAccessor";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(CONFIG_SERIALIZABLE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                // records and other kinds have their own discoverers
+                if (type.getKind() == ElementKind.CLASS) {
+                    this.process(type);
+                }
+            }
+        }
+        // other processors may handle the annotation too
+        return false;
+    }
+
+    private void process(final TypeElement type) {
+        final List<AccessorWriter.MappedField> fields = new ArrayList<>();
+        final @Nullable String problem = this.collect(type, fields);
+        if (problem != null) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "No accessor generated, fields will be accessed through reflection: " + problem, type);
+            return;
+        }
+
+        final PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+        // the binary name keeps nested classes apart from top-level classes with underscores in their names
+        final String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        final String packagePrefix = pkg.isUnnamed() ? "" : pkg.getQualifiedName() + ".";
+        final String simpleName = binaryName.substring(packagePrefix.length()) + CLASS_SUFFIX;
+
+        try {
+            final JavaFileObject file = this.processingEnv.getFiler().createSourceFile(packagePrefix + simpleName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(new AccessorWriter(this.processingEnv, pkg, type, fields).write(simpleName));
+            }
+        } catch (final IOException ex) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write accessor: " + ex.getMessage(), type);
+        }
+    }
+
+    /**
+     * Collect the mapped fields of a type and its superclasses, in the order
+     * the object mapper discovers them.
+     *
+     * @param type the annotated type
+     * @param fields the list to collect into
+     * @return why an accessor cannot be generated, if it cannot
+     */
+    private @Nullable String collect(final TypeElement type, final List<AccessorWriter.MappedField> fields) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "the class is abstract";
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            final TypeElement current = (TypeElement) enclosing;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return current.getSimpleName() + " is private";
+            }
+            if (current.getNestingKind() == NestingKind.MEMBER && !current.getModifiers().contains(Modifier.STATIC)) {
+                return current.getSimpleName() + " is an inner class";
+            } else if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return current.getSimpleName() + " is a local class";
+            }
+        }
+
+        boolean constructor = false;
+        for (final ExecutableElement method : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (method.getParameters().isEmpty()) {
+                constructor = true;
+            }
+        }
+        if (!constructor) {
+            return "there is no no-argument constructor";
+        }
+
+        TypeElement current = type;
+        int depth = 0;
+        while (!current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)) {
+                    fields.add(new AccessorWriter.MappedField(field, depth));
+                }
+            }
+
+            final TypeMirror superclass = current.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) {
+                break;
+            }
+            current = (TypeElement) ((DeclaredType) superclass).asElement();
+            depth++;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.leangen.geantyref.TypeFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.objectmapping.FieldDiscoverer;
+import org.spongepowered.configurate.objectmapping.GeneratedAccessor;
+import org.spongepowered.configurate.objectmapping.ObjectMapper;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+import org.spongepowered.configurate.objectmapping.meta.NodeResolver;
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.util.NamingSchemes;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+class ConfigSerializableProcessorTest {
+
+    private static final String SOURCE = String.join("\n",
+        "package test;",
+        "import org.spongepowered.configurate.objectmapping.ConfigSerializable;",
+        "import org.spongepowered.configurate.objectmapping.meta.Comment;",
+        "import org.spongepowered.configurate.objectmapping.meta.Setting;",
+        "import java.lang.annotation.ElementType;",
+        "import java.lang.annotation.Retention;",
+        "import java.lang.annotation.RetentionPolicy;",
+        "import java.util.List;",
+        "public class Holder {",
+        "    @Retention(RetentionPolicy.RUNTIME)",
+        "    @interface Tagged {",
+        "        String[] names();",
+        "        Class<?>[] types() default {String.class, int[].class};",
+        "        float weight() default 1.5f;",
+        "        char mark() default 'x';",
+        "        ElementType kind() default ElementType.FIELD;",
+        "        Retention retention() default @Retention(RetentionPolicy.CLASS);",
+        "    }",
+        "    @ConfigSerializable",
+        "    public static class Annotated {",
+        "        @Tagged(names = {\"a\", \"b\"}) String value;",
+        "    }",
+        "    @ConfigSerializable",
+        "    public static class Base {",
+        "        int count = 3;",
+        "    }",
+        "    @ConfigSerializable",
+        "    public static class Mapped extends Base {",
+        "        @Setting(\"display-name\") @Comment(\"Shown to players\") String name = \"default\";",
+        "        List<String> tags;",
+        "        transient boolean ignored;",
+        "    }",
+        "    @ConfigSerializable",
+        "    public static class Hidden {",
+        "        private String secret;",
+        "        private final int fixed = 1;",
+        "        private Hidden() {",
+        "        }",
+        "    }",
+        "    @ConfigSerializable",
+        "    public static class Generic<T> {",
+        "        T value;",
+        "    }",
+        "    @ConfigSerializable",
+        "    private static class Secret {",
+        "        String value;",
+        "    }",
+        "}",
+        "@ConfigSerializable",
+        "class Holder_Mapped {",
+        "    String other;",
+        "}"
+    );
+
+    private ClassLoader compile(final Path dir) throws IOException {
+        final Path source = dir.resolve("test/Holder.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final List<String> options = Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", dir.toString(),
+                "-s", dir.toString()
+            );
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, files, null, options, null,
+                files.getJavaFileObjects(source.toFile()));
+            task.setProcessors(Collections.singleton(new ConfigSerializableProcessor()));
+            assertTrue(task.call(), "compilation failed");
+        }
+        return new URLClassLoader(new URL[] {dir.toUri().toURL()}, this.getClass().getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneratedAccessor<Object> accessor(final ClassLoader loader, final String binaryName) throws Exception {
+        return (GeneratedAccessor<Object>) Class.forName(binaryName + GeneratedAccessor.CLASS_SUFFIX, true, loader)
+            .getDeclaredConstructor().newInstance();
+    }
+
+    private static ObjectMapper.Factory generatedOnly() {
+        // without other discoverers, mapping fails unless the accessor is used
+        return ObjectMapper.emptyFactoryBuilder()
+            .defaultNamingScheme(NamingSchemes.LOWER_CASE_DASHED)
+            .addNodeResolver(NodeResolver.keyFromSetting())
+            .addNodeResolver(NodeResolver.nodeFromParent())
+            .addDiscoverer(FieldDiscoverer.generated())
+            .build();
+    }
+
+    @Test
+    void testGeneratesAccessors(final @TempDir Path dir) throws Exception {
+        final ClassLoader loader = this.compile(dir);
+
+        final GeneratedAccessor<Object> accessor = accessor(loader, "test.Holder$Mapped");
+        assertEquals(3, accessor.fieldCount());
+        assertEquals("name", accessor.fieldName(0));
+        assertEquals("tags", accessor.fieldName(1));
+        assertEquals("count", accessor.fieldName(2));
+        assertEquals(Class.forName("test.Holder$Base", false, loader), accessor.declaringClass(2));
+
+        // a nested class and a top-level class with the same flattened name get separate accessors
+        assertEquals("other", accessor(loader, "test.Holder_Mapped").fieldName(0));
+        assertTrue(Files.exists(dir.resolve("test/Holder$Hidden" + GeneratedAccessor.CLASS_SUFFIX + ".java")));
+        assertFalse(Files.exists(dir.resolve("test/Holder$Secret" + GeneratedAccessor.CLASS_SUFFIX + ".java")));
+    }
+
+    @Test
+    void testGeneratesMetadata(final @TempDir Path dir) throws Exception {
+        final ClassLoader loader = this.compile(dir);
+        final GeneratedAccessor<Object> accessor = accessor(loader, "test.Holder$Mapped");
+
+        assertEquals(String.class, accessor.fieldType(0).getType());
+        assertEquals(TypeFactory.parameterizedClass(List.class, String.class), accessor.fieldType(1).getType());
+        assertEquals(int.class, accessor.fieldType(2).getType());
+
+        final Field name = Class.forName("test.Holder$Mapped", false, loader).getDeclaredField("name");
+        final Annotation[] annotations = accessor.fieldAnnotations(0);
+        assertEquals(2, annotations.length);
+        assertEquals(name.getAnnotation(Setting.class), annotations[0]);
+        assertEquals(annotations[0], name.getAnnotation(Setting.class));
+        assertEquals(name.getAnnotation(Setting.class).hashCode(), annotations[0].hashCode());
+        assertEquals("Shown to players", ((Comment) annotations[1]).value());
+
+        final Annotation tagged = Class.forName("test.Holder$Annotated", false, loader).getDeclaredField("value").getAnnotations()[0];
+        final Annotation generated = accessor(loader, "test.Holder$Annotated").fieldAnnotations(0)[0];
+        assertEquals(tagged, generated);
+        assertEquals(generated, tagged);
+        assertEquals(tagged.hashCode(), generated.hashCode());
+
+        // type variables are resolved against the mapped type through reflection
+        assertNull(accessor(loader, "test.Holder$Generic").fieldType(0));
+    }
+
+    @Test
+    void testMapsThroughAccessor(final @TempDir Path dir) throws Exception {
+        final ClassLoader loader = this.compile(dir);
+        final ObjectMapper.Factory factory = generatedOnly();
+        assertThrows(SerializationException.class, () -> factory.get(Class.forName("test.Holder$Secret", true, loader)));
+        final ObjectMapper<?> mapper = factory.get(Class.forName("test.Holder$Mapped", true, loader));
+        final GeneratedAccessor<Object> accessor = accessor(loader, "test.Holder$Mapped");
+
+        final BasicConfigurationNode source = BasicConfigurationNode.root(n -> {
+            n.node("display-name").raw("example");
+            n.node("tags").appendListNode().raw("a");
+            n.node("count").raw(7);
+        });
+        final Object loaded = mapper.load(source);
+        assertEquals("example", accessor.get(loaded, 0));
+        assertEquals(Collections.singletonList("a"), accessor.get(loaded, 1));
+        assertEquals(7, accessor.get(loaded, 2));
+
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        save(mapper, loaded, target);
+        assertEquals("example", target.node("display-name").getString());
+        assertEquals(7, target.node("count").getInt());
+    }
+
+    @Test
+    void testMapsPrivateMembers(final @TempDir Path dir) throws Exception {
+        final ClassLoader loader = this.compile(dir);
+        final ObjectMapper<?> mapper = generatedOnly().get(Class.forName("test.Holder$Hidden", true, loader));
+        final GeneratedAccessor<Object> accessor = accessor(loader, "test.Holder$Hidden");
+
+        final Object loaded = mapper.load(BasicConfigurationNode.root(n -> {
+            n.node("secret").raw("hidden");
+            n.node("fixed").raw(5);
+        }));
+        assertEquals("hidden", accessor.get(loaded, 0));
+        assertEquals(5, accessor.get(loaded, 1));
+
+        final BasicConfigurationNode target = BasicConfigurationNode.root();
+        save(mapper, loaded, target);
+        assertEquals("hidden", target.node("secret").getString());
+        assertEquals(5, target.node("fixed").getInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void save(final ObjectMapper<V> mapper, final Object value, final BasicConfigurationNode target) throws Exception {
+        mapper.save((V) value, target);
+    }
+
+}
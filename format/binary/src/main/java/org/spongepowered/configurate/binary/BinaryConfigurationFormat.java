@@ -0,0 +1,76 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.ConfigurationFormat;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.LoaderOptionSource;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * A {@link ConfigurationFormat} for the binary snapshot loader.
+ *
+ * <p>This format should not be used directly, but instead accessed
+ * through methods on {@link ConfigurationFormat}.</p>
+ *
+ * @since 4.2.0
+ */
+public final class BinaryConfigurationFormat implements ConfigurationFormat {
+
+    private static final Set<String> SUPPORTED_EXTENSIONS = UnmodifiableCollections.toSet("cfgbin");
+
+    /**
+     * For use by service loader only.
+     *
+     * @since 4.2.0
+     */
+    public BinaryConfigurationFormat() {
+    }
+
+    @Override
+    public String id() {
+        return "binary";
+    }
+
+    @Override
+    public Set<String> supportedExtensions() {
+        return SUPPORTED_EXTENSIONS;
+    }
+
+    @Override
+    public ConfigurationLoader<? extends @NonNull Object> create(final Path file, final ConfigurationNode options) {
+        return BinaryConfigurationLoader.builder()
+            .from(LoaderOptionSource.node(options))
+            .path(file)
+            .build();
+    }
+
+    @Override
+    public ConfigurationLoader<? extends @NonNull Object> create(final URL url, final ConfigurationNode options) {
+        return BinaryConfigurationLoader.builder()
+            .from(LoaderOptionSource.node(options))
+            .url(url)
+            .build();
+    }
+
+}
@@ -0,0 +1,433 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static java.util.Objects.requireNonNull;
+import static org.spongepowered.configurate.loader.ParsingException.UNKNOWN_POS;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNodeFactory;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.AtomicFiles;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.LoaderOptionSource;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.reference.ConfigurationReference;
+import org.spongepowered.configurate.util.UnmodifiableCollections;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * A loader for compact binary snapshots of a node tree.
+ *
+ * <p>A snapshot stores values, comments, tag names and attributes exactly as
+ * they appear in the saved tree, and each distinct string only once. It is
+ * meant to be produced from a configuration maintained in a text format,
+ * then loaded far faster than the original could be parsed.</p>
+ *
+ * <p>Supported scalar values are strings, booleans, characters, the
+ * primitive wrapper numbers, {@link java.math.BigInteger},
+ * {@link java.math.BigDecimal}, byte arrays, and {@link Date},
+ * {@link java.sql.Date} and {@link Timestamp} values. Map keys may be any of
+ * these. Saving a tree containing any other value fails before anything is
+ * written.</p>
+ *
+ * @param <N> the node type
+ * @since 4.2.0
+ */
+public final class BinaryConfigurationLoader<N extends CommentedConfigurationNodeIntermediary<N>> implements ConfigurationLoader<N> {
+
+    private static final LoaderOptionSource DEFAULT_OPTIONS_SOURCE = LoaderOptionSource.composite(
+        LoaderOptionSource.systemProperties(),
+        LoaderOptionSource.environmentVariables()
+    );
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private static final Set<Class<?>> NATIVE_TYPES = UnmodifiableCollections.toSet(
+            Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, // numeric
+            BigInteger.class, BigDecimal.class, Character.class, String.class, byte[].class,
+            Date.class, java.sql.Date.class, Timestamp.class); // dates
+
+    /**
+     * Creates a new builder for loaders producing
+     * {@link CommentedConfigurationNode}s.
+     *
+     * @return a new builder
+     * @since 4.2.0
+     */
+    public static Builder<CommentedConfigurationNode> builder() {
+        return new Builder<>(CommentedConfigurationNode.factory());
+    }
+
+    /**
+     * Creates a new builder for loaders producing
+     * {@link AttributedConfigurationNode}s.
+     *
+     * @return a new builder
+     * @since 4.2.0
+     */
+    public static Builder<AttributedConfigurationNode> attributedBuilder() {
+        return new Builder<>(AttributedConfigurationNode.factory());
+    }
+
+    /**
+     * Builds a {@link BinaryConfigurationLoader}.
+     *
+     * <p>This builder supports the following options:</p>
+     * <dl>
+     *     <dt>&lt;prefix&gt;.binary.write-comments</dt>
+     *     <dd>Equivalent to {@link #writesComments(boolean)}</dd>
+     *     <dt>&lt;prefix&gt;.binary.write-hints</dt>
+     *     <dd>Equivalent to {@link #writesHints(boolean)}</dd>
+     * </dl>
+     *
+     * @param <N> the node type
+     * @since 4.2.0
+     */
+    public static final class Builder<N extends CommentedConfigurationNodeIntermediary<N>> {
+        private final ConfigurationNodeFactory<N> nodeFactory;
+        private @Nullable Callable<InputStream> source;
+        private @Nullable Callable<OutputStream> sink;
+        private ConfigurationOptions defaultOptions = ConfigurationOptions.defaults().nativeTypes(NATIVE_TYPES);
+        private boolean writesComments = true;
+        private boolean writesHints = true;
+        private final Map<String, RepresentationHint<?>> knownHints = new HashMap<>();
+
+        Builder(final ConfigurationNodeFactory<N> nodeFactory) {
+            this.nodeFactory = nodeFactory;
+            this.from(DEFAULT_OPTIONS_SOURCE);
+        }
+
+        /**
+         * Populate this builder by reading options from the provided source.
+         *
+         * @param source the source to read
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> from(final LoaderOptionSource source) {
+            requireNonNull(source, "source");
+            this.writesComments = source.getBoolean(this.writesComments, "binary", "write-comments");
+            this.writesHints = source.getBoolean(this.writesHints, "binary", "write-hints");
+            return this;
+        }
+
+        /**
+         * Sets the sink and source of the resultant loader to the given path.
+         *
+         * <p>The {@link #sink() sink} writes atomically,
+         * using {@link AtomicFiles}.</p>
+         *
+         * @param path the path of the snapshot file
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> path(final Path path) {
+            final Path absPath = requireNonNull(path, "path").toAbsolutePath();
+            this.source = () -> Files.newInputStream(absPath);
+            this.sink = AtomicFiles.atomicOutputStreamFactory(absPath);
+            return this;
+        }
+
+        /**
+         * Sets the source of the resultant loader to the given URL.
+         *
+         * @param url the URL of the source
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> url(final URL url) {
+            requireNonNull(url, "url");
+            this.source = () -> url.openConnection().getInputStream();
+            return this;
+        }
+
+        /**
+         * Sets the source of the resultant loader.
+         *
+         * @param source the source
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> source(final @Nullable Callable<InputStream> source) {
+            this.source = source;
+            return this;
+        }
+
+        /**
+         * Gets the source to be used by the resultant loader.
+         *
+         * @return the source
+         * @since 4.2.0
+         */
+        public @Nullable Callable<InputStream> source() {
+            return this.source;
+        }
+
+        /**
+         * Sets the sink of the resultant loader.
+         *
+         * @param sink the sink
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> sink(final @Nullable Callable<OutputStream> sink) {
+            this.sink = sink;
+            return this;
+        }
+
+        /**
+         * Gets the sink to be used by the resultant loader.
+         *
+         * @return the sink
+         * @since 4.2.0
+         */
+        public @Nullable Callable<OutputStream> sink() {
+            return this.sink;
+        }
+
+        /**
+         * Sets the default configuration options to be used by the
+         * resultant loader.
+         *
+         * @param defaultOptions the options
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> defaultOptions(final ConfigurationOptions defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions, "defaultOptions");
+            return this;
+        }
+
+        /**
+         * Sets the default configuration options to be used by the resultant
+         * loader by providing a function which takes the current default
+         * options and applies any desired changes.
+         *
+         * @param defaultOptions to transform the existing default options
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> defaultOptions(final UnaryOperator<ConfigurationOptions> defaultOptions) {
+            this.defaultOptions = requireNonNull(defaultOptions.apply(this.defaultOptions), "defaultOptions (updated)");
+            return this;
+        }
+
+        /**
+         * Gets the default configuration options to be used by the resultant
+         * loader.
+         *
+         * @return the options
+         * @since 4.2.0
+         */
+        public ConfigurationOptions defaultOptions() {
+            return this.defaultOptions;
+        }
+
+        /**
+         * Set whether comments should be written to snapshots.
+         *
+         * <p>Comments are always read if present.</p>
+         *
+         * @param writesComments whether to write comments
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> writesComments(final boolean writesComments) {
+            this.writesComments = writesComments;
+            return this;
+        }
+
+        /**
+         * Get whether comments should be written to snapshots.
+         *
+         * @return whether to write comments
+         * @since 4.2.0
+         */
+        public boolean writesComments() {
+            return this.writesComments;
+        }
+
+        /**
+         * Set whether representation hints should be written to snapshots.
+         *
+         * <p>Only hints with values that are strings, enum constants, or one
+         * of the other supported scalar types are written.</p>
+         *
+         * @param writesHints whether to write hints
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> writesHints(final boolean writesHints) {
+            this.writesHints = writesHints;
+            return this;
+        }
+
+        /**
+         * Get whether representation hints should be written to snapshots.
+         *
+         * @return whether to write hints
+         * @since 4.2.0
+         */
+        public boolean writesHints() {
+            return this.writesHints;
+        }
+
+        /**
+         * Register hints that should be restored when loading.
+         *
+         * <p>Snapshots only record the identifiers of hints, so any hint not
+         * registered here is ignored when loading.</p>
+         *
+         * @param hints the hints to restore
+         * @return this builder (for chaining)
+         * @since 4.2.0
+         */
+        public Builder<N> knownHints(final RepresentationHint<?>... hints) {
+            for (final RepresentationHint<?> hint : hints) {
+                this.knownHints.put(hint.identifier(), hint);
+            }
+            return this;
+        }
+
+        /**
+         * Builds the loader.
+         *
+         * @return a new loader
+         * @since 4.2.0
+         */
+        public BinaryConfigurationLoader<N> build() {
+            return new BinaryConfigurationLoader<>(this);
+        }
+    }
+
+    private final ConfigurationNodeFactory<N> nodeFactory;
+    private final @Nullable Callable<InputStream> source;
+    private final @Nullable Callable<OutputStream> sink;
+    private final ConfigurationOptions defaultOptions;
+    private final boolean writesComments;
+    private final boolean writesHints;
+    private final Map<String, RepresentationHint<?>> knownHints;
+
+    private BinaryConfigurationLoader(final Builder<N> builder) {
+        this.nodeFactory = builder.nodeFactory;
+        this.source = builder.source;
+        this.sink = builder.sink;
+        this.defaultOptions = builder.defaultOptions;
+        this.writesComments = builder.writesComments;
+        this.writesHints = builder.writesHints;
+        this.knownHints = UnmodifiableCollections.copyOf(builder.knownHints);
+    }
+
+    @Override
+    public N load(final ConfigurationOptions options) throws ParsingException {
+        if (this.source == null) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, "", "No source present to read from!", null);
+        }
+        final byte[] data;
+        try (InputStream input = this.source.call()) {
+            data = readFully(input);
+        } catch (final FileNotFoundException | NoSuchFileException e) {
+            // Squash -- there's nothing to read
+            return this.createNode(options);
+        } catch (final IOException e) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, options.header(), null, e);
+        } catch (final Exception e) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, options.header(), "Unknown error occurred while loading", e);
+        }
+
+        final SnapshotReader reader = new SnapshotReader(data, this.knownHints);
+        final @Nullable String header = reader.readPreamble();
+        final N node = this.createNode(header == null ? options : options.header(header));
+        reader.readRoot(node);
+        return node;
+    }
+
+    private static byte[] readFully(final InputStream input) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(input.available(), READ_BUFFER_SIZE));
+        final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public ConfigurationReference<N> loadToReference() throws ConfigurateException {
+        return ConfigurationReference.fixed(this);
+    }
+
+    @Override
+    public void save(final ConfigurationNode node) throws ConfigurateException {
+        if (this.sink == null) {
+            throw new ConfigurateException(node, "No sink present to write to!");
+        }
+        final SnapshotWriter writer = new SnapshotWriter(this.writesComments, this.writesHints);
+        writer.prepare(node);
+        try (OutputStream output = this.sink.call()) {
+            writer.write(node, output);
+        } catch (final Exception ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public N createNode(final ConfigurationOptions options) {
+        return this.nodeFactory.createNode(options.nativeTypes(NATIVE_TYPES));
+    }
+
+    @Override
+    public ConfigurationOptions defaultOptions() {
+        return this.defaultOptions;
+    }
+
+    @Override
+    public boolean canLoad() {
+        return this.source != null;
+    }
+
+    @Override
+    public boolean canSave() {
+        return this.sink != null;
+    }
+
+}
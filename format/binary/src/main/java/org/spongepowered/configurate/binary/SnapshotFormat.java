@@ -0,0 +1,81 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+/**
+ * Constants describing the layout of a snapshot.
+ *
+ * <p>A snapshot starts with {@link #MAGIC} and a {@link #VERSION} byte,
+ * followed by the string table: a count, then each distinct string as its
+ * UTF-8 length and bytes. All later strings are indices into this table.
+ * The string table is followed by the header, as a string index plus one or
+ * {@link #NO_STRING} if there is none, and then the root node.</p>
+ *
+ * <p>Each node starts with a byte combining its value type and the flags of
+ * the metadata that follows: a comment, a tag name and attributes, and
+ * representation hints. The value comes last: nothing for null and boolean
+ * values, entry or element counts followed by children for collections, and
+ * the value itself for other scalars. Map keys are written as scalars without
+ * any metadata.</p>
+ *
+ * <p>Lengths, counts and string indices are unsigned variable-length
+ * integers, seven bits per byte with the high bit set on all but the last
+ * byte. Integral values are zigzag-encoded first, so small negative numbers
+ * stay small. Dates are their epoch milliseconds, and timestamps are followed
+ * by their nanoseconds.</p>
+ */
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = {'C', 'F', 'G', 'B'};
+    static final int VERSION = 2;
+
+    // value types, in the low five bits
+    static final int TYPE_MASK = 0x1F;
+    static final int TYPE_NULL = 0;
+    static final int TYPE_MAP = 1;
+    static final int TYPE_LIST = 2;
+    static final int TYPE_STRING = 3;
+    static final int TYPE_FALSE = 4;
+    static final int TYPE_TRUE = 5;
+    static final int TYPE_INT = 6;
+    static final int TYPE_LONG = 7;
+    static final int TYPE_FLOAT = 8;
+    static final int TYPE_DOUBLE = 9;
+    static final int TYPE_BIG_INTEGER = 10;
+    static final int TYPE_BIG_DECIMAL = 11;
+    static final int TYPE_BYTES = 12;
+    static final int TYPE_SHORT = 13;
+    static final int TYPE_BYTE = 14;
+    static final int TYPE_CHAR = 15;
+    static final int TYPE_DATE = 16;
+    static final int TYPE_SQL_DATE = 17;
+    static final int TYPE_TIMESTAMP = 18;
+
+    // node metadata flags
+    static final int FLAG_COMMENT = 0x20;
+    static final int FLAG_ATTRIBUTES = 0x40;
+    static final int FLAG_HINTS = 0x80;
+
+    /**
+     * Written in place of the header when there is none.
+     */
+    static final int NO_STRING = 0;
+
+    private SnapshotFormat() {
+    }
+
+}
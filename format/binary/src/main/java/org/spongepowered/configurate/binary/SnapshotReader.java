@@ -0,0 +1,331 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static org.spongepowered.configurate.binary.SnapshotFormat.FLAG_ATTRIBUTES;
+import static org.spongepowered.configurate.binary.SnapshotFormat.FLAG_COMMENT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.FLAG_HINTS;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BIG_DECIMAL;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BIG_INTEGER;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BYTE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BYTES;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_CHAR;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_DATE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_DOUBLE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_FALSE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_FLOAT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_INT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_LIST;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_LONG;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_MAP;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_MASK;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_NULL;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_SHORT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_SQL_DATE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_STRING;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_TIMESTAMP;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_TRUE;
+import static org.spongepowered.configurate.loader.ParsingException.UNKNOWN_POS;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes a snapshot into a node tree.
+ */
+final class SnapshotReader {
+
+    private final byte[] data;
+    private final Map<String, RepresentationHint<?>> knownHints;
+    private String[] strings = new String[0];
+    private int position;
+
+    SnapshotReader(final byte[] data, final Map<String, RepresentationHint<?>> knownHints) {
+        this.data = data;
+        this.knownHints = knownHints;
+    }
+
+    /**
+     * Read everything before the root node.
+     *
+     * @return the header of the snapshot, if any
+     * @throws ParsingException if the snapshot is malformed
+     */
+    @Nullable String readPreamble() throws ParsingException {
+        final byte[] magic = SnapshotFormat.MAGIC;
+        if (this.data.length < magic.length || !Arrays.equals(magic, Arrays.copyOf(this.data, magic.length))) {
+            throw this.error("Not a configuration snapshot");
+        }
+        this.position = magic.length;
+        final int version = this.readByte();
+        if (version != SnapshotFormat.VERSION) {
+            throw this.error("Unsupported snapshot version " + version + ", expected " + SnapshotFormat.VERSION);
+        }
+
+        final int count = this.readLength();
+        this.strings = new String[count];
+        for (int i = 0; i < count; ++i) {
+            final int length = this.readLength();
+            this.strings[i] = new String(this.data, this.position, length, StandardCharsets.UTF_8);
+            this.position += length;
+        }
+
+        final int header = this.readVarInt();
+        return header == SnapshotFormat.NO_STRING ? null : this.string(header - 1);
+    }
+
+    /**
+     * Read the root node into {@code node}.
+     *
+     * @param node the node to populate
+     * @throws ParsingException if the snapshot is malformed
+     */
+    void readRoot(final ConfigurationNode node) throws ParsingException {
+        this.readNode(node);
+        if (this.position != this.data.length) {
+            throw this.error("Unexpected data after the root node");
+        }
+    }
+
+    private void readNode(final ConfigurationNode node) throws ParsingException {
+        final int head = this.readByte();
+        final @Nullable String comment = (head & FLAG_COMMENT) != 0 ? this.readString() : null;
+
+        @Nullable String tagName = null;
+        Map<String, String> attributes = Collections.emptyMap();
+        if ((head & FLAG_ATTRIBUTES) != 0) {
+            tagName = this.readString();
+            final int count = this.readLength();
+            if (count > 0) {
+                attributes = new LinkedHashMap<>();
+                for (int i = 0; i < count; ++i) {
+                    attributes.put(this.readString(), this.readString());
+                }
+            }
+        }
+
+        Map<RepresentationHint<?>, Object> hints = Collections.emptyMap();
+        if ((head & FLAG_HINTS) != 0) {
+            final int count = this.readLength();
+            for (int i = 0; i < count; ++i) {
+                final String identifier = this.readString();
+                final Object value = this.readScalar();
+                final @Nullable RepresentationHint<?> hint = this.knownHints.get(identifier);
+                if (hint != null) {
+                    if (hints.isEmpty()) {
+                        hints = new LinkedHashMap<>();
+                    }
+                    hints.put(hint, value);
+                }
+            }
+        }
+
+        final int type = head & TYPE_MASK;
+        switch (type) {
+            case TYPE_NULL:
+                node.raw(null);
+                break;
+            case TYPE_MAP:
+                node.raw(Collections.emptyMap());
+                final int entries = this.readLength();
+                for (int i = 0; i < entries; ++i) {
+                    final Object key = this.readScalar();
+                    this.readNode(node.node(key));
+                }
+                break;
+            case TYPE_LIST:
+                node.raw(Collections.emptyList());
+                final int elements = this.readLength();
+                for (int i = 0; i < elements; ++i) {
+                    this.readNode(node.appendListNode());
+                }
+                break;
+            default:
+                node.raw(this.readScalarValue(type));
+                break;
+        }
+
+        if (comment != null && node instanceof CommentedConfigurationNodeIntermediary<?>) {
+            ((CommentedConfigurationNodeIntermediary<?>) node).comment(comment);
+        }
+        if (tagName != null && node instanceof AttributedConfigurationNode) {
+            ((AttributedConfigurationNode) node).tagName(tagName).attributes(attributes);
+        }
+        for (final Map.Entry<RepresentationHint<?>, Object> hint : hints.entrySet()) {
+            applyHint(node, hint.getKey(), hint.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void applyHint(final ConfigurationNode node, final RepresentationHint<V> hint, final Object value) {
+        final Class<?> type = GenericTypeReflector.erase(GenericTypeReflector.box(hint.valueType().getType()));
+        if (type.isEnum() && value instanceof String) {
+            node.hint(hint, (V) enumValue(type.asSubclass(Enum.class), (String) value));
+        } else if (type.isInstance(value)) {
+            node.hint(hint, (V) value);
+        }
+        // values of an unexpected type are ignored, like unknown hints
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static @Nullable Object enumValue(final Class<? extends Enum> type, final String name) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (final IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private Object readScalar() throws ParsingException {
+        return this.readScalarValue(this.readByte());
+    }
+
+    private Object readScalarValue(final int type) throws ParsingException {
+        switch (type) {
+            case TYPE_STRING:
+                return this.readString();
+            case TYPE_FALSE:
+                return false;
+            case TYPE_TRUE:
+                return true;
+            case TYPE_INT:
+                final int zigzagInt = this.readVarInt();
+                return (zigzagInt >>> 1) ^ -(zigzagInt & 1);
+            case TYPE_LONG:
+                return this.readZigzagLong();
+            case TYPE_FLOAT:
+                return Float.intBitsToFloat((int) this.readFixed(Integer.BYTES));
+            case TYPE_DOUBLE:
+                return Double.longBitsToDouble(this.readFixed(Long.BYTES));
+            case TYPE_BIG_INTEGER:
+                return new BigInteger(this.readByteArray());
+            case TYPE_BIG_DECIMAL:
+                final int scale = this.readVarInt();
+                return new BigDecimal(new BigInteger(this.readByteArray()), (scale >>> 1) ^ -(scale & 1));
+            case TYPE_BYTES:
+                return this.readByteArray();
+            case TYPE_SHORT:
+                final int zigzagShort = this.readVarInt();
+                return (short) ((zigzagShort >>> 1) ^ -(zigzagShort & 1));
+            case TYPE_BYTE:
+                return (byte) this.readByte();
+            case TYPE_CHAR:
+                return (char) this.readVarInt();
+            case TYPE_DATE:
+                return new Date(this.readZigzagLong());
+            case TYPE_SQL_DATE:
+                return new java.sql.Date(this.readZigzagLong());
+            case TYPE_TIMESTAMP:
+                final Timestamp timestamp = new Timestamp(this.readZigzagLong());
+                timestamp.setNanos(this.readVarInt());
+                return timestamp;
+            default:
+                throw this.error("Unknown value type " + type);
+        }
+    }
+
+    private String readString() throws ParsingException {
+        return this.string(this.readVarInt());
+    }
+
+    private String string(final int index) throws ParsingException {
+        if (index < 0 || index >= this.strings.length) {
+            throw this.error("String index " + index + " is out of bounds");
+        }
+        return this.strings[index];
+    }
+
+    private int readLength() throws ParsingException {
+        final int length = this.readVarInt();
+        // every element takes at least one byte, so this also bounds counts
+        if (length < 0 || length > this.data.length - this.position) {
+            throw this.error("Length " + length + " exceeds the remaining input");
+        }
+        return length;
+    }
+
+    private int readVarInt() throws ParsingException {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = this.readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw this.error("Malformed variable-length integer");
+    }
+
+    private long readVarLong() throws ParsingException {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = this.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw this.error("Malformed variable-length integer");
+    }
+
+    private long readZigzagLong() throws ParsingException {
+        final long zigzag = this.readVarLong();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private long readFixed(final int bytes) throws ParsingException {
+        long result = 0;
+        for (int i = 0; i < bytes; ++i) {
+            result = (result << Byte.SIZE) | this.readByte();
+        }
+        return result;
+    }
+
+    private byte[] readByteArray() throws ParsingException {
+        final int length = this.readLength();
+        final byte[] result = Arrays.copyOfRange(this.data, this.position, this.position + length);
+        this.position += length;
+        return result;
+    }
+
+    private int readByte() throws ParsingException {
+        if (this.position >= this.data.length) {
+            throw this.error("Unexpected end of snapshot");
+        }
+        return this.data[this.position++] & 0xFF;
+    }
+
+    private ParsingException error(final String message) {
+        return new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, message + " (at byte " + this.position + ")", null);
+    }
+
+}
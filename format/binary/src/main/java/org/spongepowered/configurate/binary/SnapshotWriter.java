@@ -0,0 +1,441 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static org.spongepowered.configurate.binary.SnapshotFormat.FLAG_ATTRIBUTES;
+import static org.spongepowered.configurate.binary.SnapshotFormat.FLAG_COMMENT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.FLAG_HINTS;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BIG_DECIMAL;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BIG_INTEGER;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BYTE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_BYTES;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_CHAR;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_DATE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_DOUBLE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_FALSE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_FLOAT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_INT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_LIST;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_LONG;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_MAP;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_NULL;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_SHORT;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_SQL_DATE;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_STRING;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_TIMESTAMP;
+import static org.spongepowered.configurate.binary.SnapshotFormat.TYPE_TRUE;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.RepresentationHint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a node tree as a snapshot.
+ *
+ * <p>Writing happens in two passes. {@link #prepare(ConfigurationNode)}
+ * collects every string into the string table and validates all values, so
+ * that unsupported values are reported before any output is opened. Then
+ * {@link #write(ConfigurationNode, OutputStream)} encodes the tree.</p>
+ */
+final class SnapshotWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean writeComments;
+    private final boolean writeHints;
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private @Nullable OutputStream out;
+
+    SnapshotWriter(final boolean writeComments, final boolean writeHints) {
+        this.writeComments = writeComments;
+        this.writeHints = writeHints;
+    }
+
+    /**
+     * Collect strings from and validate the tree rooted at {@code node}.
+     *
+     * @param node the root node
+     * @throws ConfigurateException if a value cannot be stored
+     */
+    void prepare(final ConfigurationNode node) throws ConfigurateException {
+        final @Nullable String header = node.options().header();
+        if (header != null) {
+            this.intern(header);
+        }
+        this.collect(node);
+    }
+
+    private void collect(final ConfigurationNode node) throws ConfigurateException {
+        final @Nullable String comment = this.comment(node);
+        if (comment != null) {
+            this.intern(comment);
+        }
+        if (node instanceof AttributedConfigurationNode) {
+            final AttributedConfigurationNode attributed = (AttributedConfigurationNode) node;
+            this.intern(attributed.tagName());
+            for (final Map.Entry<String, String> attribute : attributed.attributes().entrySet()) {
+                this.intern(attribute.getKey());
+                this.intern(attribute.getValue());
+            }
+        }
+        for (final Map.Entry<RepresentationHint<?>, ?> hint : this.hints(node).entrySet()) {
+            this.intern(hint.getKey().identifier());
+            this.collectScalar(node, hintValue(hint.getValue()));
+        }
+
+        if (node.isMap()) {
+            for (final Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
+                this.collectScalar(child.getValue(), child.getKey());
+                this.collect(child.getValue());
+            }
+        } else if (node.isList()) {
+            for (final ConfigurationNode child : node.childrenList()) {
+                this.collect(child);
+            }
+        } else {
+            final @Nullable Object value = node.rawScalar();
+            if (value != null) {
+                this.collectScalar(node, value);
+            }
+        }
+    }
+
+    private void collectScalar(final ConfigurationNode node, final Object value) throws ConfigurateException {
+        if (value instanceof String) {
+            this.intern((String) value);
+        } else if (scalarType(value) == TYPE_NULL) {
+            throw new ConfigurateException(node, "Values of type " + value.getClass().getName() + " cannot be stored in a snapshot");
+        }
+    }
+
+    private void intern(final String value) {
+        this.strings.putIfAbsent(value, this.strings.size());
+    }
+
+    /**
+     * Write the tree rooted at {@code node}, which must have been
+     * {@link #prepare(ConfigurationNode) prepared} first.
+     *
+     * @param node the root node
+     * @param out the output to write to
+     * @throws IOException if unable to write
+     */
+    void write(final ConfigurationNode node, final OutputStream out) throws IOException {
+        this.out = out;
+        this.writeBytes(SnapshotFormat.MAGIC);
+        this.writeByte(SnapshotFormat.VERSION);
+
+        this.writeVarInt(this.strings.size());
+        for (final String string : this.strings.keySet()) {
+            final byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+            this.writeVarInt(encoded.length);
+            this.writeBytes(encoded);
+        }
+
+        final @Nullable String header = node.options().header();
+        this.writeVarInt(header == null ? SnapshotFormat.NO_STRING : this.stringIndex(header) + 1);
+        this.writeNode(node);
+        this.flush();
+    }
+
+    private void writeNode(final ConfigurationNode node) throws IOException {
+        final @Nullable String comment = this.comment(node);
+        final @Nullable AttributedConfigurationNode attributed = node instanceof AttributedConfigurationNode
+            ? (AttributedConfigurationNode) node : null;
+        final Map<RepresentationHint<?>, ?> hints = this.hints(node);
+        final @Nullable Object scalar = node.isMap() || node.isList() ? null : node.rawScalar();
+
+        int head;
+        if (node.isMap()) {
+            head = TYPE_MAP;
+        } else if (node.isList()) {
+            head = TYPE_LIST;
+        } else {
+            head = scalar == null ? TYPE_NULL : scalarType(scalar);
+        }
+        if (comment != null) {
+            head |= FLAG_COMMENT;
+        }
+        if (attributed != null) {
+            head |= FLAG_ATTRIBUTES;
+        }
+        if (!hints.isEmpty()) {
+            head |= FLAG_HINTS;
+        }
+        this.writeByte(head);
+
+        if (comment != null) {
+            this.writeString(comment);
+        }
+        if (attributed != null) {
+            this.writeString(attributed.tagName());
+            final Map<String, String> attributes = attributed.attributes();
+            this.writeVarInt(attributes.size());
+            for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+                this.writeString(attribute.getKey());
+                this.writeString(attribute.getValue());
+            }
+        }
+        if (!hints.isEmpty()) {
+            this.writeVarInt(hints.size());
+            for (final Map.Entry<RepresentationHint<?>, ?> hint : hints.entrySet()) {
+                this.writeString(hint.getKey().identifier());
+                this.writeScalar(hintValue(hint.getValue()));
+            }
+        }
+
+        if (node.isMap()) {
+            final Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+            this.writeVarInt(children.size());
+            for (final Map.Entry<Object, ? extends ConfigurationNode> child : children.entrySet()) {
+                this.writeScalar(child.getKey());
+                this.writeNode(child.getValue());
+            }
+        } else if (node.isList()) {
+            final List<? extends ConfigurationNode> children = node.childrenList();
+            this.writeVarInt(children.size());
+            for (final ConfigurationNode child : children) {
+                this.writeNode(child);
+            }
+        } else if (scalar != null) {
+            this.writeScalarValue(scalar);
+        }
+    }
+
+    private void writeScalar(final Object value) throws IOException {
+        this.writeByte(scalarType(value));
+        this.writeScalarValue(value);
+    }
+
+    private void writeScalarValue(final Object value) throws IOException {
+        switch (scalarType(value)) {
+            case TYPE_STRING:
+                this.writeString((String) value);
+                break;
+            case TYPE_INT:
+                this.writeVarInt(zigzag((Integer) value));
+                break;
+            case TYPE_LONG:
+                this.writeVarLong(zigzag((Long) value));
+                break;
+            case TYPE_FLOAT:
+                this.writeFixed(Float.floatToRawIntBits((Float) value), Integer.BYTES);
+                break;
+            case TYPE_DOUBLE:
+                this.writeFixed(Double.doubleToRawLongBits((Double) value), Long.BYTES);
+                break;
+            case TYPE_BIG_INTEGER:
+                this.writeByteArray(((BigInteger) value).toByteArray());
+                break;
+            case TYPE_BIG_DECIMAL:
+                final BigDecimal decimal = (BigDecimal) value;
+                this.writeVarInt(zigzag(decimal.scale()));
+                this.writeByteArray(decimal.unscaledValue().toByteArray());
+                break;
+            case TYPE_BYTES:
+                this.writeByteArray((byte[]) value);
+                break;
+            case TYPE_SHORT:
+                this.writeVarInt(zigzag((Short) value));
+                break;
+            case TYPE_BYTE:
+                this.writeByte((Byte) value);
+                break;
+            case TYPE_CHAR:
+                this.writeVarInt((Character) value);
+                break;
+            case TYPE_DATE:
+            case TYPE_SQL_DATE:
+                this.writeVarLong(zigzag(((Date) value).getTime()));
+                break;
+            case TYPE_TIMESTAMP:
+                final Timestamp timestamp = (Timestamp) value;
+                this.writeVarLong(zigzag(timestamp.getTime()));
+                this.writeVarInt(timestamp.getNanos());
+                break;
+            default: // booleans have no payload
+                break;
+        }
+    }
+
+    private @Nullable String comment(final ConfigurationNode node) {
+        if (this.writeComments && node instanceof CommentedConfigurationNodeIntermediary<?>) {
+            return ((CommentedConfigurationNodeIntermediary<?>) node).comment();
+        }
+        return null;
+    }
+
+    private Map<RepresentationHint<?>, ?> hints(final ConfigurationNode node) {
+        if (!this.writeHints || node.ownHints().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<RepresentationHint<?>, Object> hints = new LinkedHashMap<>();
+        for (final Map.Entry<RepresentationHint<?>, ?> hint : node.ownHints().entrySet()) {
+            final @Nullable Object value = hint.getValue();
+            // hints with values that can't be stored are optional, so they are skipped
+            if (value != null && scalarType(hintValue(value)) != TYPE_NULL) {
+                hints.put(hint.getKey(), value);
+            }
+        }
+        return hints;
+    }
+
+    private static Object hintValue(final Object value) {
+        return value instanceof Enum<?> ? ((Enum<?>) value).name() : value;
+    }
+
+    /**
+     * Get the type tag for a scalar value.
+     *
+     * @param value the value
+     * @return the type tag, or {@link SnapshotFormat#TYPE_NULL} if values of
+     *     this type cannot be stored
+     */
+    static int scalarType(final Object value) {
+        if (value instanceof String) {
+            return TYPE_STRING;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? TYPE_TRUE : TYPE_FALSE;
+        } else if (value instanceof Integer) {
+            return TYPE_INT;
+        } else if (value instanceof Long) {
+            return TYPE_LONG;
+        } else if (value instanceof Float) {
+            return TYPE_FLOAT;
+        } else if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        } else if (value instanceof BigInteger) {
+            return TYPE_BIG_INTEGER;
+        } else if (value instanceof BigDecimal) {
+            return TYPE_BIG_DECIMAL;
+        } else if (value instanceof byte[]) {
+            return TYPE_BYTES;
+        } else if (value instanceof Short) {
+            return TYPE_SHORT;
+        } else if (value instanceof Byte) {
+            return TYPE_BYTE;
+        } else if (value instanceof Character) {
+            return TYPE_CHAR;
+        } else if (value.getClass() == Date.class) {
+            // exact types, other subclasses would not be restored as themselves
+            return TYPE_DATE;
+        } else if (value.getClass() == java.sql.Date.class) {
+            return TYPE_SQL_DATE;
+        } else if (value.getClass() == Timestamp.class) {
+            return TYPE_TIMESTAMP;
+        } else {
+            return TYPE_NULL;
+        }
+    }
+
+    private static int zigzag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private int stringIndex(final String value) {
+        final @Nullable Integer index = this.strings.get(value);
+        if (index == null) {
+            throw new IllegalStateException("String '" + value + "' was not collected while preparing the snapshot");
+        }
+        return index;
+    }
+
+    private void writeString(final String value) throws IOException {
+        this.writeVarInt(this.stringIndex(value));
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            this.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.writeByte(value);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            this.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.writeByte((int) value);
+    }
+
+    private void writeFixed(final long value, final int bytes) throws IOException {
+        for (int shift = (bytes - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            this.writeByte((int) (value >>> shift));
+        }
+    }
+
+    private void writeByteArray(final byte[] value) throws IOException {
+        this.writeVarInt(value.length);
+        this.writeBytes(value);
+    }
+
+    private void writeByte(final int value) throws IOException {
+        if (this.position == this.buffer.length) {
+            this.flush();
+        }
+        this.buffer[this.position++] = (byte) value;
+    }
+
+    private void writeBytes(final byte[] value) throws IOException {
+        if (value.length > this.buffer.length - this.position) {
+            this.flush();
+            if (value.length > this.buffer.length) {
+                this.output().write(value);
+                return;
+            }
+        }
+        System.arraycopy(value, 0, this.buffer, this.position, value.length);
+        this.position += value.length;
+    }
+
+    private void flush() throws IOException {
+        this.output().write(this.buffer, 0, this.position);
+        this.position = 0;
+    }
+
+    private OutputStream output() {
+        final @Nullable OutputStream out = this.out;
+        if (out == null) {
+            throw new IllegalStateException("Not writing");
+        }
+        return out;
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.binary;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.RepresentationHint;
+import org.spongepowered.configurate.loader.ParsingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+class BinaryConfigurationLoaderTest {
+
+    enum Style {
+        BLOCK,
+        FLOW
+    }
+
+    private static final RepresentationHint<Style> STYLE = RepresentationHint.of("test:style", Style.class);
+    private static final RepresentationHint<Integer> WIDTH = RepresentationHint.of("test:width", Integer.class);
+
+    @Test
+    void testRoundtrip(final @TempDir Path tempDir) throws ConfigurateException {
+        final BinaryConfigurationLoader<CommentedConfigurationNode> loader = BinaryConfigurationLoader.builder()
+            .path(tempDir.resolve("snapshot.cfgbin"))
+            .build();
+        final Timestamp timestamp = new Timestamp(1_000_000L);
+        timestamp.setNanos(123_456_789);
+
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(ConfigurationOptions.defaults().header("a header"), n -> {
+            n.node("string").raw("hello").comment("a comment");
+            n.node("int").raw(-42);
+            n.node("long").raw(Long.MIN_VALUE);
+            n.node("float").raw(1.5f);
+            n.node("double").raw(Math.PI);
+            n.node("boolean").raw(true);
+            n.node("big-integer").raw(BigInteger.TEN.pow(40).negate());
+            n.node("big-decimal").raw(new BigDecimal("-12.3400"));
+            n.node("short").raw((short) -300);
+            n.node("byte").raw((byte) -1);
+            n.node("char").raw('\u00e9');
+            n.node("date").raw(new Date(-1234L));
+            n.node("sql-date").raw(new java.sql.Date(86_400_000L));
+            n.node("timestamp").raw(timestamp);
+            n.node("empty-map").raw(Collections.emptyMap());
+            n.node("empty-list").raw(Collections.emptyList()).comment("still here");
+            n.node("numbered", 1).raw("first");
+            n.node("numbered", 20L).raw("second");
+            n.node("nested").act(list -> {
+                list.appendListNode().node("name").raw("one");
+                list.appendListNode().appendListNode().raw(false);
+            });
+        });
+
+        loader.save(node);
+        final CommentedConfigurationNode loaded = loader.load();
+
+        assertEquals(node, loaded);
+        assertEquals("a header", loaded.options().header());
+        assertEquals("a comment", loaded.node("string").comment());
+        assertEquals("still here", loaded.node("empty-list").comment());
+        assertTrue(loaded.node("empty-map").isMap());
+        assertTrue(loaded.node("empty-list").isList());
+        assertEquals(-42, loaded.node("int").raw());
+        assertEquals(1.5f, loaded.node("float").raw());
+        assertEquals(new BigDecimal("-12.3400"), loaded.node("big-decimal").raw());
+        assertEquals("second", loaded.node("numbered", 20L).raw());
+        assertEquals((short) -300, loaded.node("short").raw());
+        assertEquals((byte) -1, loaded.node("byte").raw());
+        assertEquals('\u00e9', loaded.node("char").raw());
+        assertEquals(java.sql.Date.class, loaded.node("sql-date").raw().getClass());
+        assertEquals(timestamp, loaded.node("timestamp").raw());
+    }
+
+    @Test
+    void testSerializedValuesUseSupportedTypes() throws ConfigurateException {
+        final CommentedConfigurationNode node = BinaryConfigurationLoader.builder().build().createNode();
+        node.node("short").set((short) 5);
+        node.node("char").set('x');
+        node.node("uuid").set(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+
+        final CommentedConfigurationNode loaded = roundtrip(BinaryConfigurationLoader.builder(), node);
+        assertEquals((short) 5, loaded.node("short").raw());
+        assertEquals('x', loaded.node("char").raw());
+        assertEquals("00000000-0000-0000-0000-000000000001", loaded.node("uuid").raw());
+    }
+
+    @Test
+    void testRoundtripAttributed() throws ConfigurateException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final AttributedConfigurationNode node = AttributedConfigurationNode.root("document", n -> {
+            n.addAttribute("version", "2");
+            n.node("entries").act(entries -> {
+                entries.appendListNode().tagName("entry").addAttribute("id", "1").raw("first");
+                entries.appendListNode().tagName("entry").raw(new byte[] {1, 2, 3});
+            });
+        });
+
+        BinaryConfigurationLoader.attributedBuilder()
+            .sink(() -> output)
+            .build()
+            .save(node);
+        final AttributedConfigurationNode loaded = BinaryConfigurationLoader.attributedBuilder()
+            .source(() -> new ByteArrayInputStream(output.toByteArray()))
+            .build()
+            .load();
+
+        assertEquals("document", loaded.tagName());
+        assertEquals(Collections.singletonMap("version", "2"), loaded.attributes());
+        assertEquals("entry", loaded.node("entries", 0).tagName());
+        assertEquals("1", loaded.node("entries", 0).attribute("id"));
+        assertEquals("first", loaded.node("entries", 0).raw());
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) loaded.node("entries", 1).raw());
+    }
+
+    @Test
+    void testHintsAndComments() throws ConfigurateException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            n.node("styled").hint(STYLE, Style.FLOW).hint(WIDTH, 80).raw("value").comment("comment");
+        });
+
+        final CommentedConfigurationNode loaded = roundtrip(BinaryConfigurationLoader.builder().knownHints(STYLE), node);
+        assertEquals(Style.FLOW, loaded.node("styled").hint(STYLE));
+        assertNull(loaded.node("styled").ownHints().get(WIDTH));
+        assertEquals("comment", loaded.node("styled").comment());
+
+        final CommentedConfigurationNode withoutExtras = roundtrip(BinaryConfigurationLoader.builder()
+            .knownHints(STYLE)
+            .writesComments(false)
+            .writesHints(false), node);
+        assertNull(withoutExtras.node("styled").hint(STYLE));
+        assertNull(withoutExtras.node("styled").comment());
+        assertEquals("value", withoutExtras.node("styled").raw());
+    }
+
+    @Test
+    void testStringsAreShared() throws ConfigurateException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root(n -> {
+            for (int i = 0; i < 3; ++i) {
+                n.appendListNode().node("rarity").raw("legendary");
+            }
+        });
+
+        final CommentedConfigurationNode loaded = roundtrip(BinaryConfigurationLoader.builder(), node);
+        assertSame(loaded.node(0, "rarity").raw(), loaded.node(2, "rarity").raw());
+        assertSame(loaded.node(0).childrenMap().keySet().iterator().next(), loaded.node(1).childrenMap().keySet().iterator().next());
+    }
+
+    @Test
+    void testUnsupportedValueWritesNothing(final @TempDir Path tempDir) {
+        final Path target = tempDir.resolve("snapshot.cfgbin");
+        final BinaryConfigurationLoader<CommentedConfigurationNode> loader = BinaryConfigurationLoader.builder()
+            .path(target)
+            .build();
+
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root();
+        node.node("id").raw(UUID.randomUUID());
+
+        assertThrows(ConfigurateException.class, () -> loader.save(node));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    void testRejectsMalformedInput() {
+        final byte[] truncated = {'C', 'F', 'G', 'B', 2, 1, 5, 'h'};
+        assertThrows(ParsingException.class, () -> BinaryConfigurationLoader.builder()
+            .source(() -> new ByteArrayInputStream(truncated))
+            .build()
+            .load());
+
+        final byte[] text = "{\"json\": true}".getBytes(StandardCharsets.UTF_8);
+        assertThrows(ParsingException.class, () -> BinaryConfigurationLoader.builder()
+            .source(() -> new ByteArrayInputStream(text))
+            .build()
+            .load());
+    }
+
+    @Test
+    void testMissingFileLoadsEmpty(final @TempDir Path tempDir) throws ConfigurateException {
+        final CommentedConfigurationNode loaded = BinaryConfigurationLoader.builder()
+            .path(tempDir.resolve("missing.cfgbin"))
+            .build()
+            .load();
+        assertTrue(loaded.empty());
+    }
+
+    private static CommentedConfigurationNode roundtrip(
+        final BinaryConfigurationLoader.Builder<CommentedConfigurationNode> builder,
+        final CommentedConfigurationNode node
+    ) throws ConfigurateException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.sink(() -> output).build().save(node);
+        return builder.source(() -> new ByteArrayInputStream(output.toByteArray())).build().load();
+    }
+
+}
@@ -36,7 +36,9 @@ import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.LoaderOptionSource;
+import org.spongepowered.configurate.loader.NodeEventReader;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.StringPool;
 import org.spongepowered.configurate.serialize.TypeSerializerCollection;
 import org.spongepowered.configurate.util.Strings;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
@@ -202,13 +204,31 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
 
         try (JsonReader parser = new JsonReader(reader)) {
             parser.setLenient(this.lenient);
-            this.parseValue(parser, node);
+            this.parseValue(parser, node, this.newStringPool());
         } catch (final IOException ex) {
             throw ParsingException.wrap(node, ex);
         }
     }
 
-    private void parseValue(final JsonReader parser, final BasicConfigurationNode node) throws ParsingException {
+    @Override
+    protected NodeEventReader readEventsInternal(final BufferedReader reader) throws ParsingException {
+        try {
+            reader.mark(1);
+            if (reader.read() == -1) {
+                reader.close();
+                return NodeEventReader.of(this.createNode());
+            }
+            reader.reset();
+        } catch (final IOException ex) {
+            throw new ParsingException(0, 0, null, "peeking file size", ex);
+        }
+
+        final JsonReader parser = new JsonReader(reader);
+        parser.setLenient(this.lenient);
+        return new GsonEventReader(parser, this.newStringPool());
+    }
+
+    private void parseValue(final JsonReader parser, final BasicConfigurationNode node, final StringPool strings) throws ParsingException {
         final JsonToken token;
         try {
             token = parser.peek();
@@ -219,19 +239,19 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         try {
             switch (token) {
                 case BEGIN_OBJECT:
-                    this.parseObject(parser, node);
+                    this.parseObject(parser, node, strings);
                     break;
                 case BEGIN_ARRAY:
-                    this.parseArray(parser, node);
+                    this.parseArray(parser, node, strings);
                     break;
                 case NUMBER:
-                    node.raw(this.readNumber(parser));
+                    this.readNumber(parser, node);
                     break;
                 case STRING:
-                    node.raw(parser.nextString());
+                    node.raw(strings.scalar(parser.nextString()));
                     break;
                 case BOOLEAN:
-                    node.raw(parser.nextBoolean());
+                    node.rawBoolean(parser.nextBoolean());
                     break;
                 case NULL: // Ignored values
                     parser.nextNull();
@@ -257,20 +277,22 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
         return new ParsingException(node, JsonReaderAccess.lineNumber(reader), JsonReaderAccess.column(reader), null, message, cause);
     }
 
-    private Number readNumber(final JsonReader reader) throws IOException {
+    private void readNumber(final JsonReader reader, final BasicConfigurationNode node) throws IOException {
         final String number = reader.nextString();
         if (number.contains(".")) {
-            return Double.parseDouble(number);
+            node.rawDouble(Double.parseDouble(number));
+            return;
         }
         final long nextLong = Long.parseLong(number);
         final int nextInt = (int) nextLong;
         if (nextInt == nextLong) {
-            return nextInt;
+            node.rawInt(nextInt);
+        } else {
+            node.rawLong(nextLong);
         }
-        return nextLong;
     }
 
-    private void parseArray(final JsonReader parser, final BasicConfigurationNode node) throws IOException {
+    private void parseArray(final JsonReader parser, final BasicConfigurationNode node, final StringPool strings) throws IOException {
         parser.beginArray();
 
         boolean written = false;
@@ -284,14 +306,15 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
                 }
                 return;
             } else {
-                this.parseValue(parser, node.appendListNode());
+                this.parseValue(parser, node.appendListNode(), strings);
                 written = true;
             }
         }
         throw this.newException(parser, node, "Reached end of stream with unclosed array!", null);
     }
 
-    private void parseObject(final JsonReader parser, final BasicConfigurationNode node) throws ParsingException, IOException {
+    private void parseObject(final JsonReader parser, final BasicConfigurationNode node, final StringPool strings)
+            throws ParsingException, IOException {
         parser.beginObject();
 
         boolean written = false;
@@ -307,7 +330,7 @@ public final class GsonConfigurationLoader extends AbstractConfigurationLoader<B
                     }
                     return;
                 case NAME:
-                    this.parseValue(parser, node.node(parser.nextName()));
+                    this.parseValue(parser, node.node(strings.key(parser.nextName())), strings);
                     written = true;
                     break;
                 default:
@@ -0,0 +1,179 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.gson;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.loader.NodeEventReader;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.StringPool;
+
+import java.io.IOException;
+
+/**
+ * An event reader backed by a Gson {@link JsonReader}.
+ */
+final class GsonEventReader implements NodeEventReader {
+
+    private final JsonReader parser;
+    private final StringPool strings;
+    private @Nullable Event current;
+    private @Nullable Object key;
+    private @Nullable Object scalar;
+
+    GsonEventReader(final JsonReader parser, final StringPool strings) {
+        this.parser = parser;
+        this.strings = strings;
+    }
+
+    @Override
+    public @Nullable Event next() throws ParsingException {
+        try {
+            final JsonToken token = this.parser.peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    this.parser.beginObject();
+                    return this.current = Event.BEGIN_MAP;
+                case END_OBJECT:
+                    this.parser.endObject();
+                    return this.current = Event.END_MAP;
+                case BEGIN_ARRAY:
+                    this.parser.beginArray();
+                    return this.current = Event.BEGIN_LIST;
+                case END_ARRAY:
+                    this.parser.endArray();
+                    return this.current = Event.END_LIST;
+                case NAME:
+                    this.key = this.strings.key(this.parser.nextName());
+                    return this.current = Event.KEY;
+                case NUMBER:
+                    this.scalar = readNumber(this.parser.nextString());
+                    return this.current = Event.SCALAR;
+                case STRING:
+                    this.scalar = this.strings.scalar(this.parser.nextString());
+                    return this.current = Event.SCALAR;
+                case BOOLEAN:
+                    this.scalar = this.parser.nextBoolean();
+                    return this.current = Event.SCALAR;
+                case NULL:
+                    this.parser.nextNull();
+                    this.scalar = null;
+                    return this.current = Event.SCALAR;
+                case END_DOCUMENT:
+                    return this.current = null;
+                default:
+                    throw this.newException("Unsupported token type: " + token, null);
+            }
+        } catch (final ParsingException ex) {
+            throw ex;
+        } catch (final JsonParseException ex) {
+            throw this.newException(ex.getMessage(), ex.getCause());
+        } catch (final IOException ex) {
+            throw this.newException(ex.getMessage(), ex);
+        }
+    }
+
+    private static Object readNumber(final String number) {
+        if (number.contains(".")) {
+            return Double.parseDouble(number);
+        }
+        final long nextLong = Long.parseLong(number);
+        final int nextInt = (int) nextLong;
+        if (nextInt == nextLong) {
+            return nextInt;
+        } else {
+            return nextLong;
+        }
+    }
+
+    @Override
+    public @Nullable Event current() {
+        return this.current;
+    }
+
+    @Override
+    public Object key() {
+        final @Nullable Object key = this.key;
+        if (this.current != Event.KEY || key == null) {
+            throw new IllegalStateException("Current event is not a key, but " + this.current);
+        }
+        return key;
+    }
+
+    @Override
+    public @Nullable Object scalar() {
+        if (this.current != Event.SCALAR) {
+            throw new IllegalStateException("Current event is not a scalar, but " + this.current);
+        }
+        return this.scalar;
+    }
+
+    @Override
+    public void skipValue() throws ParsingException {
+        final @Nullable Event start = this.current;
+        try {
+            if (start == null || start == Event.KEY) {
+                final JsonToken token = this.parser.peek();
+                if (token == JsonToken.BEGIN_OBJECT) {
+                    this.parser.skipValue();
+                    this.current = Event.END_MAP;
+                } else if (token == JsonToken.BEGIN_ARRAY) {
+                    this.parser.skipValue();
+                    this.current = Event.END_LIST;
+                } else if (token == JsonToken.END_DOCUMENT && start == Event.KEY) {
+                    throw this.newException("Reached end of document while reading a map value", null);
+                } else {
+                    this.next();
+                }
+            } else if (start == Event.BEGIN_MAP) {
+                while (this.parser.hasNext()) {
+                    this.parser.nextName();
+                    this.parser.skipValue();
+                }
+                this.parser.endObject();
+                this.current = Event.END_MAP;
+            } else if (start == Event.BEGIN_LIST) {
+                while (this.parser.hasNext()) {
+                    this.parser.skipValue();
+                }
+                this.parser.endArray();
+                this.current = Event.END_LIST;
+            } else {
+                throw new IllegalStateException("A value can only be skipped at the start of a document, after a key, or at the start "
+                    + "of a map or list, but the current event is " + start);
+            }
+        } catch (final ParsingException ex) {
+            throw ex;
+        } catch (final JsonParseException ex) {
+            throw this.newException(ex.getMessage(), ex.getCause());
+        } catch (final IOException ex) {
+            throw this.newException(ex.getMessage(), ex);
+        }
+    }
+
+    private ParsingException newException(final @Nullable String message, final @Nullable Throwable cause) {
+        return new ParsingException(JsonReaderAccess.lineNumber(this.parser), JsonReaderAccess.column(this.parser), null, message, cause);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.parser.close();
+    }
+
+}
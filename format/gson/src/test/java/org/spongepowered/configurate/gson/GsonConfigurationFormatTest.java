@@ -16,14 +16,29 @@
  */
 package org.spongepowered.configurate.gson;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.loader.ConfigurationFormat;
+import org.spongepowered.configurate.loader.ConfigurationLoaders;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 class GsonConfigurationFormatTest {
 
@@ -40,4 +55,29 @@ class GsonConfigurationFormatTest {
         assertTrue(node.node("test").getBoolean());
     }
 
+    @Test
+    void testLoadAllMergesInOrder(final @TempDir Path tempDir) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 16; ++i) {
+            final Path file = tempDir.resolve("plugin-" + i + ".json");
+            final String contents = "{\"shared\": " + i + ", \"plugin-" + i + "\": {\"enabled\": true}}";
+            Files.write(file, Collections.singletonList(contents), StandardCharsets.UTF_8);
+            files.add(file);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ConfigurationNode merged = ConfigurationLoaders.loadAll(files, executor);
+            assertEquals(0, merged.node("shared").getInt());
+            for (int i = 0; i < 16; ++i) {
+                assertTrue(merged.node("plugin-" + i, "enabled").getBoolean());
+            }
+
+            final List<Path> unknown = Arrays.asList(files.get(0), tempDir.resolve("unknown.ext"));
+            assertThrows(ConfigurateException.class, () -> ConfigurationLoaders.loadAll(unknown, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
 }
@@ -17,6 +17,8 @@
 package org.spongepowered.configurate.gson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -31,6 +33,8 @@ import org.spongepowered.configurate.NodePath;
 import org.spongepowered.configurate.loader.AtomicFiles;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.loader.HeaderMode;
+import org.spongepowered.configurate.loader.LoaderOptionSource;
+import org.spongepowered.configurate.loader.NodeEventReader;
 import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.util.MapFactories;
 
@@ -68,6 +72,29 @@ class GsonConfigurationLoaderTest {
         assertEquals(Resources.readLines(url, StandardCharsets.UTF_8), Files.readAllLines(tempFile, StandardCharsets.UTF_8));
     }
 
+    @Test
+    void testInternedKeys() throws ConfigurateException {
+        final ConfigurationNode node = GsonConfigurationLoader.builder()
+            .internKeys(true)
+            .internScalarLength(8)
+            .buildAndLoadString("[{\"name\": \"first\", \"tag\": \"shared\"}, {\"name\": \"second\", \"tag\": \"shared\"}]");
+
+        final Object firstKey = node.node(0).childrenMap().keySet().iterator().next();
+        final Object secondKey = node.node(1).childrenMap().keySet().iterator().next();
+        assertEquals("name", firstKey);
+        assertSame(firstKey, secondKey);
+        assertSame(node.node(0, "tag").raw(), node.node(1, "tag").raw());
+    }
+
+    @Test
+    void testNegativeInternLengthRejected() throws ConfigurateException {
+        final BasicConfigurationNode options = BasicConfigurationNode.root();
+        options.node("intern-scalar-length").set(-1);
+
+        assertThrows(IllegalArgumentException.class, () -> GsonConfigurationLoader.builder().internScalarLength(-1));
+        assertThrows(IllegalArgumentException.class, () -> GsonConfigurationLoader.builder().from(LoaderOptionSource.node(options)));
+    }
+
     @Test
     void testSavingEmptyFile(final @TempDir Path tempDir) throws IOException, ConfigurateException {
         final File tempFile = tempDir.resolve("text2.txt").toFile();
@@ -187,4 +214,36 @@ class GsonConfigurationLoaderTest {
         assertTrue(ex.rawMessage().contains("Unterminated string"));
     }
 
+    @Test
+    void testReadEvents() throws IOException {
+        final String json = "{\"name\": \"example\", \"big\": 12345678901, \"tags\": [\"a\", 2.5, true, null], \"empty\": {}}";
+        final GsonConfigurationLoader loader = GsonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(json)))
+            .build();
+
+        final BasicConfigurationNode streamed = loader.createNode();
+        try (NodeEventReader reader = loader.readEvents()) {
+            reader.readValue(streamed);
+            assertNull(reader.next());
+        }
+        assertEquals(loader.load(), streamed);
+    }
+
+    @Test
+    void testSkipEvents() throws IOException {
+        final GsonConfigurationLoader loader = GsonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("{\"skipped\": {\"a\": [1, {\"b\": 2}]}, \"wanted\": 5}")))
+            .build();
+
+        try (NodeEventReader reader = loader.readEvents()) {
+            assertEquals(NodeEventReader.Event.BEGIN_MAP, reader.next());
+            assertEquals(NodeEventReader.Event.KEY, reader.next());
+            reader.skipValue();
+            assertEquals(NodeEventReader.Event.KEY, reader.next());
+            assertEquals("wanted", reader.key());
+            assertEquals(NodeEventReader.Event.SCALAR, reader.next());
+            assertEquals(5, reader.scalar());
+        }
+    }
+
 }
@@ -25,11 +25,7 @@ import com.typesafe.config.ConfigOrigin;
 import com.typesafe.config.ConfigOriginFactory;
 import com.typesafe.config.ConfigRenderOptions;
 import com.typesafe.config.ConfigValue;
-import com.typesafe.config.ConfigValueFactory;
-import com.typesafe.config.impl.ConfigNodeComment;
-import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.CommentedConfigurationNode;
-import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
@@ -45,7 +41,6 @@ import java.io.IOException;
 import java.io.Writer;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -74,7 +69,7 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
     /**
      * An instance of {@link ConfigOrigin} for configurate.
      */
-    private static final ConfigOrigin CONFIGURATE_ORIGIN = ConfigOriginFactory.newSimple("configurate-hocon");
+    static final ConfigOrigin CONFIGURATE_ORIGIN = ConfigOriginFactory.newSimple("configurate-hocon");
 
     /**
      * Creates a new {@link HoconConfigurationLoader} builder.
@@ -264,51 +259,12 @@ public final class HoconConfigurationLoader extends AbstractConfigurationLoader<
                 writer.write(SYSTEM_LINE_SEPARATOR);
                 return;
             }
-            final ConfigValue value = fromValue(node);
-            final String renderedValue = value.render(this.render);
-            writer.write(renderedValue);
+            node.visit(HoconVisitor.INSTANCE, new HoconVisitor.State(writer, this.render));
         } catch (final IOException io) {
             throw new ConfigurateException(node, io);
         }
     }
 
-    private static ConfigValue fromValue(final ConfigurationNode node) {
-        ConfigValue ret;
-        if (node.isMap()) {
-            final Map<String, ConfigValue> children = node.options().mapFactory().create();
-            for (Map.Entry<Object, ? extends ConfigurationNode> ent : node.childrenMap().entrySet()) {
-                children.put(String.valueOf(ent.getKey()), fromValue(ent.getValue()));
-            }
-            ret = newConfigObject(children);
-        } else if (node.isList()) {
-            final List<ConfigValue> children = new ArrayList<>();
-            for (ConfigurationNode ent : node.childrenList()) {
-                children.add(fromValue(ent));
-            }
-            ret = newConfigList(children);
-
-        } else {
-            ret = ConfigValueFactory.fromAnyRef(node.rawScalar(), CONFIGURATE_ORIGIN.description());
-        }
-        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
-            final CommentedConfigurationNodeIntermediary<?> commentedNode = (CommentedConfigurationNodeIntermediary<?>) node;
-            final @Nullable String origComment = commentedNode.comment();
-            if (origComment != null) {
-                final List<ConfigNodeComment> nodes = new ArrayList<>();
-                for (final String line : CONFIGURATE_LINE_PATTERN.split(origComment, -1)) {
-                    if (line.length() != 0 && line.charAt(0) == '#') {
-                        // allow lines that are only the comment character, for box drawing
-                        nodes.add(ConfigNodeComment.hashComment(line));
-                    } else {
-                        nodes.add(ConfigNodeComment.hashComment(' ' + line));
-                    }
-                }
-                ret = ret.withOrigin(ret.origin().withComments(nodes));
-            }
-        }
-        return ret;
-    }
-
     static ConfigValue newConfigObject(final Map<String, ConfigValue> vals) {
         try {
             return CONFIG_OBJECT_CONSTRUCTOR.newInstance(CONFIGURATE_ORIGIN, vals);
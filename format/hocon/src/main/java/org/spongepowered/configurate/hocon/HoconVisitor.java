@@ -0,0 +1,350 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.hocon;
+
+import static org.spongepowered.configurate.loader.AbstractConfigurationLoader.CONFIGURATE_LINE_PATTERN;
+
+import com.typesafe.config.ConfigRenderOptions;
+import com.typesafe.config.ConfigValueFactory;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A visitor writing HOCON directly to a {@link Writer}.
+ *
+ * <p>This produces the same output the Typesafe renderer would for a
+ * {@code ConfigValue} tree built from the node, without building that
+ * tree first. Origin comments are not supported, as the loader never
+ * enables them.</p>
+ */
+final class HoconVisitor implements ConfigurationVisitor<HoconVisitor.State, Void, ConfigurateException> {
+
+    static final HoconVisitor INSTANCE = new HoconVisitor();
+
+    private HoconVisitor() {
+    }
+
+    @Override
+    public State newState() {
+        throw new UnsupportedOperationException("Writer must be provided");
+    }
+
+    @Override
+    public void beginVisit(final ConfigurationNode node, final State state) {
+        state.start = node;
+    }
+
+    @Override
+    public void enterNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final @Nullable Frame parent = state.frames.peek();
+        if (node == state.start || parent == null) {
+            return;
+        }
+
+        try {
+            if (parent.written) {
+                if (!state.options.getFormatted()) {
+                    state.writer.write(',');
+                } else if (parent.map && !state.options.getJson()) {
+                    state.writer.write('\n');
+                } else {
+                    state.writer.write(",\n");
+                }
+            }
+            parent.written = true;
+
+            if (state.options.getComments() && node instanceof CommentedConfigurationNodeIntermediary<?>) {
+                final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
+                if (comment != null) {
+                    for (final String line : CONFIGURATE_LINE_PATTERN.split(comment, -1)) {
+                        state.indent(parent.indent);
+                        // allow lines that are only the comment character, for box drawing
+                        state.writer.write(line.length() != 0 && line.charAt(0) == '#' ? "#" : "# ");
+                        state.writer.write(line);
+                        state.writer.write('\n');
+                    }
+                }
+            }
+
+            state.indent(parent.indent);
+            if (parent.map) {
+                state.writeString(String.valueOf(node.key()));
+                if (state.options.getJson()) {
+                    state.writer.write(state.options.getFormatted() ? " : " : ":");
+                } else if (node.isMap()) {
+                    // the separator can be omitted before an object
+                    if (state.options.getFormatted()) {
+                        state.writer.write(' ');
+                    }
+                } else {
+                    state.writer.write('=');
+                }
+            }
+
+            if (node.isNull()) {
+                state.writer.write("null");
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterMappingNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final boolean atRoot = node == state.start;
+        final int indent = state.indent();
+        try {
+            if (node.empty()) {
+                state.writer.write("{}");
+                state.frames.push(new Frame(true, indent, indent, false));
+                return;
+            }
+
+            final boolean outerBraces = state.options.getJson() || !atRoot;
+            if (outerBraces) {
+                state.writer.write('{');
+                if (state.options.getFormatted()) {
+                    state.writer.write('\n');
+                }
+            }
+            state.frames.push(new Frame(true, indent, outerBraces ? indent + 1 : indent, outerBraces));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterListNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final int indent = state.indent();
+        try {
+            if (node.empty()) {
+                state.writer.write("[]");
+                state.frames.push(new Frame(false, indent, indent, false));
+                return;
+            }
+
+            state.writer.write('[');
+            if (state.options.getFormatted()) {
+                state.writer.write('\n');
+            }
+            state.frames.push(new Frame(false, indent, indent + 1, true));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterScalarNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final @Nullable Object value = node.rawScalar();
+        try {
+            if (value instanceof String) {
+                state.writeString((String) value);
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean) {
+                state.writer.write(value.toString());
+            } else if (value instanceof Number) {
+                // Typesafe narrows other numbers to the smallest type able to hold them
+                final double number = ((Number) value).doubleValue();
+                final long asLong = (long) number;
+                if (asLong == number) {
+                    state.writer.write(asLong <= Integer.MAX_VALUE && asLong >= Integer.MIN_VALUE ? Integer.toString((int) asLong)
+                        : Long.toString(asLong));
+                } else {
+                    state.writer.write(Double.toString(number));
+                }
+            } else if (value == null) {
+                state.writer.write("null");
+            } else {
+                state.writer.write(ConfigValueFactory.fromAnyRef(value, HoconConfigurationLoader.CONFIGURATE_ORIGIN.description())
+                    .render(state.options));
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void exitMappingNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        this.exitCollection(node, state, '}');
+        if (node == state.start && state.options.getFormatted()) {
+            try {
+                state.writer.write('\n');
+            } catch (final IOException ex) {
+                throw new ConfigurateException(node, ex);
+            }
+        }
+    }
+
+    @Override
+    public void exitListNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        this.exitCollection(node, state, ']');
+    }
+
+    private void exitCollection(final ConfigurationNode node, final State state, final char close) throws ConfigurateException {
+        final Frame frame = state.frames.pop();
+        if (!frame.braces) {
+            return;
+        }
+
+        try {
+            if (state.options.getFormatted()) {
+                state.writer.write('\n');
+                state.indent(frame.outerIndent);
+            }
+            state.writer.write(close);
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public Void endVisit(final State state) {
+        state.start = null;
+        state.frames.clear();
+        return null;
+    }
+
+    /**
+     * Output and position for a single write.
+     */
+    static final class State {
+        final Writer writer;
+        final ConfigRenderOptions options;
+        final Deque<Frame> frames = new ArrayDeque<>();
+        @Nullable ConfigurationNode start;
+
+        State(final Writer writer, final ConfigRenderOptions options) {
+            this.writer = writer;
+            this.options = options;
+        }
+
+        int indent() {
+            final @Nullable Frame parent = this.frames.peek();
+            return parent == null ? 0 : parent.indent;
+        }
+
+        void indent(final int level) throws IOException {
+            if (this.options.getFormatted()) {
+                for (int i = level * this.options.getIndent(); i > 0; --i) {
+                    this.writer.write(' ');
+                }
+            }
+        }
+
+        /**
+         * Write a string, quoting only when required to keep it a string.
+         *
+         * <p>This matches the rules Typesafe config uses for both keys
+         * and values.</p>
+         *
+         * @param value the string to write
+         * @throws IOException if unable to write
+         */
+        void writeString(final String value) throws IOException {
+            if (this.options.getJson() || needsQuotes(value)) {
+                this.writer.write('"');
+                for (int i = 0; i < value.length(); ++i) {
+                    final char c = value.charAt(i);
+                    switch (c) {
+                        case '"':
+                            this.writer.write("\\\"");
+                            break;
+                        case '\\':
+                            this.writer.write("\\\\");
+                            break;
+                        case '\n':
+                            this.writer.write("\\n");
+                            break;
+                        case '\b':
+                            this.writer.write("\\b");
+                            break;
+                        case '\f':
+                            this.writer.write("\\f");
+                            break;
+                        case '\r':
+                            this.writer.write("\\r");
+                            break;
+                        case '\t':
+                            this.writer.write("\\t");
+                            break;
+                        default:
+                            if (Character.isISOControl(c)) {
+                                this.writer.write(String.format("\\u%04x", (int) c));
+                            } else {
+                                this.writer.write(c);
+                            }
+                            break;
+                    }
+                }
+                this.writer.write('"');
+            } else {
+                this.writer.write(value);
+            }
+        }
+
+        private static boolean needsQuotes(final String value) {
+            if (value.isEmpty()) {
+                return true;
+            }
+
+            // a leading hyphen or digit would read back as a number
+            final int first = value.codePointAt(0);
+            if (Character.isDigit(first) || first == '-') {
+                return true;
+            }
+
+            if (value.startsWith("include") || value.startsWith("true") || value.startsWith("false")
+                || value.startsWith("null") || value.contains("//")) {
+                return true;
+            }
+
+            for (int i = 0; i < value.length(); ++i) {
+                final char c = value.charAt(i);
+                if (!(Character.isLetter(c) || Character.isDigit(c) || c == '-')) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * An open map or list.
+     */
+    static final class Frame {
+        final boolean map;
+        final int outerIndent;
+        final int indent;
+        final boolean braces;
+        boolean written;
+
+        Frame(final boolean map, final int outerIndent, final int indent, final boolean braces) {
+            this.map = map;
+            this.outerIndent = outerIndent;
+            this.indent = indent;
+            this.braces = braces;
+        }
+    }
+
+}
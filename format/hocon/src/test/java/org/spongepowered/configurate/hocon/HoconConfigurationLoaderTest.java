@@ -265,6 +265,45 @@ class HoconConfigurationLoaderTest {
         assertEquals(expectedOut, out);
     }
 
+    @Test
+    void testSaveQuotesOnlyWhereRequired() throws IOException {
+        final CommentedConfigurationNode node = CommentedConfigurationNode.root();
+        node.node("plain").raw("hello");
+        node.node("spaced").raw("two words");
+        node.node("numeric").raw("10");
+        node.node("keyword").raw("trueish");
+        node.node("dotted.key").raw(1.5);
+        node.node("list").raw(Arrays.asList(1, "a\tb"));
+
+        final String expectedHocon = "plain=hello\n"
+                + "spaced=\"two words\"\n"
+                + "numeric=\"10\"\n"
+                + "keyword=\"trueish\"\n"
+                + "\"dotted.key\"=1.5\n"
+                + "list=[\n"
+                + "    1,\n"
+                + "    \"a\\tb\"\n"
+                + "]\n";
+        final String expectedJson = "{\"plain\":\"hello\",\"spaced\":\"two words\",\"numeric\":\"10\",\"keyword\":\"trueish\","
+                + "\"dotted.key\":1.5,\"list\":[1,\"a\\tb\"]}";
+
+        final ByteArrayOutputStream s = new ByteArrayOutputStream();
+        HoconConfigurationLoader.builder()
+                .sink(() -> new BufferedWriter(new OutputStreamWriter(s, StandardCharsets.UTF_8)))
+                .build()
+                .save(node);
+        assertEquals(expectedHocon, s.toString(StandardCharsets.UTF_8.name()));
+
+        s.reset();
+        HoconConfigurationLoader.builder()
+                .emitJsonCompatible(true)
+                .prettyPrinting(false)
+                .sink(() -> new BufferedWriter(new OutputStreamWriter(s, StandardCharsets.UTF_8)))
+                .build()
+                .save(node);
+        assertEquals(expectedJson, s.toString(StandardCharsets.UTF_8.name()));
+    }
+
     private URL requireResource(final String path) {
         final @Nullable URL resource = this.getClass().getResource('/' + path);
         assertNotNull(resource, () -> "Resource " + path + " was not present when expected to be!");
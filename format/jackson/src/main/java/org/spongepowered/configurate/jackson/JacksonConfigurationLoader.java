@@ -16,6 +16,8 @@
  */
 package org.spongepowered.configurate.jackson;
 
+import static org.spongepowered.configurate.loader.ParsingException.UNKNOWN_POS;
+
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonFactoryBuilder;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -34,11 +36,14 @@ import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.LoaderOptionSource;
+import org.spongepowered.configurate.loader.NodeEventReader;
 import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.StringPool;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
@@ -183,9 +188,48 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
 
     @Override
     protected void loadInternal(final BasicConfigurationNode node, final BufferedReader reader) throws ParsingException {
-        try (JsonParser parser = this.factory.createParser(reader)) {
+        final JsonParser parser;
+        try {
+            parser = this.factory.createParser(reader);
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+        this.readDocument(node, parser);
+    }
+
+    @Override
+    protected boolean readsBytes() {
+        return true;
+    }
+
+    @Override
+    protected void loadInternal(final BasicConfigurationNode node, final InputStream input) throws ParsingException {
+        final JsonParser parser;
+        try {
+            // parse UTF-8 directly, without decoding to characters first
+            parser = this.factory.createParser(input);
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+        this.readDocument(node, parser);
+    }
+
+    @Override
+    protected void loadInternal(final BasicConfigurationNode node, final byte[] data, final int offset, final int length) throws ParsingException {
+        final JsonParser parser;
+        try {
+            // read straight from the array, without a stream in between
+            parser = this.factory.createParser(data, offset, length);
+        } catch (final IOException ex) {
+            throw ParsingException.wrap(node, ex);
+        }
+        this.readDocument(node, parser);
+    }
+
+    private void readDocument(final BasicConfigurationNode node, final JsonParser source) throws ParsingException {
+        try (JsonParser parser = source) {
             parser.nextToken();
-            parseValue(parser, node);
+            parseValue(parser, node, this.newStringPool());
         } catch (final StreamReadException ex) {
             throw newException(node, ex.getLocation(), ex.getRequestPayloadAsString(), ex.getMessage(), ex.getCause());
         } catch (final IOException ex) {
@@ -193,20 +237,29 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         }
     }
 
-    private static void parseValue(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    @Override
+    protected NodeEventReader readEventsInternal(final BufferedReader reader) throws ParsingException {
+        try {
+            return new JacksonEventReader(this.factory.createParser(reader), reader, this.newStringPool());
+        } catch (final IOException ex) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, null, ex);
+        }
+    }
+
+    private static void parseValue(final JsonParser parser, final ConfigurationNode node, final StringPool strings) throws IOException {
         try {
             final JsonToken token = parser.getCurrentToken();
             switch (token) {
                 case START_OBJECT:
-                    parseObject(parser, node);
+                    parseObject(parser, node, strings);
                     break;
                 case START_ARRAY:
-                    parseArray(parser, node);
+                    parseArray(parser, node, strings);
                     break;
                 case VALUE_NUMBER_FLOAT:
                     final double doubleVal = parser.getDoubleValue();
                     if ((float) doubleVal != doubleVal) {
-                        node.raw(parser.getDoubleValue());
+                        node.rawDouble(doubleVal);
                     } else {
                         node.raw(parser.getFloatValue());
                     }
@@ -214,17 +267,17 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
                 case VALUE_NUMBER_INT:
                     final long longVal = parser.getLongValue();
                     if ((int) longVal != longVal) {
-                        node.raw(parser.getLongValue());
+                        node.rawLong(longVal);
                     } else {
-                        node.raw(parser.getIntValue());
+                        node.rawInt((int) longVal);
                     }
                     break;
                 case VALUE_STRING:
-                    node.raw(parser.getText());
+                    node.raw(strings.scalar(parser.getText()));
                     break;
                 case VALUE_TRUE:
                 case VALUE_FALSE:
-                    node.raw(parser.getBooleanValue());
+                    node.rawBoolean(parser.getBooleanValue());
                     break;
                 case VALUE_NULL: // Ignored values
                 case FIELD_NAME:
@@ -238,7 +291,7 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         }
     }
 
-    private static void parseArray(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private static void parseArray(final JsonParser parser, final ConfigurationNode node, final StringPool strings) throws IOException {
         boolean written = false;
         JsonToken token;
         while ((token = parser.nextToken()) != null) {
@@ -248,14 +301,14 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
                 }
                 return;
             } else {
-                parseValue(parser, node.appendListNode());
+                parseValue(parser, node.appendListNode(), strings);
                 written = true;
             }
         }
         throw newException(node, parser.getCurrentLocation(), null, "Reached end of stream with unclosed array!", null);
     }
 
-    private static void parseObject(final JsonParser parser, final ConfigurationNode node) throws IOException {
+    private static void parseObject(final JsonParser parser, final ConfigurationNode node, final StringPool strings) throws IOException {
         boolean written = false;
         JsonToken token;
         while ((token = parser.nextToken()) != null) {
@@ -265,7 +318,7 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
                 }
                 return;
             } else {
-                parseValue(parser, node.node(parser.getCurrentName()));
+                parseValue(parser, node.node(strings.key(parser.getCurrentName())), strings);
                 written = true;
             }
         }
@@ -288,7 +341,7 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         return BasicConfigurationNode.root(options.nativeTypes(NATIVE_TYPES));
     }
 
-    private static ParsingException newException(final ConfigurationNode node,
+    static ParsingException newException(final @Nullable ConfigurationNode node,
             final JsonLocation position,
             final @Nullable String content,
             final @Nullable String message,
@@ -311,6 +364,9 @@ public final class JacksonConfigurationLoader extends AbstractConfigurationLoade
         // no newline: set to length
         // too long: truncate
         // otherwise: trim to position of next newline
+        if (node == null) {
+            return new ParsingException(position.getLineNr(), position.getColumnNr(), context, message, cause);
+        }
         return new ParsingException(node, position.getLineNr(), position.getColumnNr(), context, message, cause);
     }
 
@@ -0,0 +1,173 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.jackson;
+
+import static org.spongepowered.configurate.loader.ParsingException.UNKNOWN_POS;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.loader.NodeEventReader;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.StringPool;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * An event reader backed by a Jackson {@link JsonParser}.
+ */
+final class JacksonEventReader implements NodeEventReader {
+
+    private final JsonParser parser;
+    private final Reader source;
+    private final StringPool strings;
+    private @Nullable Event current;
+    private @Nullable Object key;
+    private @Nullable Object scalar;
+
+    JacksonEventReader(final JsonParser parser, final Reader source, final StringPool strings) {
+        this.parser = parser;
+        this.source = source;
+        this.strings = strings;
+    }
+
+    @Override
+    public @Nullable Event next() throws ParsingException {
+        try {
+            final @Nullable JsonToken token = this.parser.nextToken();
+            if (token == null) {
+                return this.current = null;
+            }
+            switch (token) {
+                case START_OBJECT:
+                    return this.current = Event.BEGIN_MAP;
+                case END_OBJECT:
+                    return this.current = Event.END_MAP;
+                case START_ARRAY:
+                    return this.current = Event.BEGIN_LIST;
+                case END_ARRAY:
+                    return this.current = Event.END_LIST;
+                case FIELD_NAME:
+                    this.key = this.strings.key(this.parser.getCurrentName());
+                    return this.current = Event.KEY;
+                case VALUE_NUMBER_FLOAT:
+                    final double doubleVal = this.parser.getDoubleValue();
+                    if ((float) doubleVal != doubleVal) {
+                        this.scalar = doubleVal;
+                    } else {
+                        this.scalar = this.parser.getFloatValue();
+                    }
+                    return this.current = Event.SCALAR;
+                case VALUE_NUMBER_INT:
+                    final long longVal = this.parser.getLongValue();
+                    if ((int) longVal != longVal) {
+                        this.scalar = longVal;
+                    } else {
+                        this.scalar = (int) longVal;
+                    }
+                    return this.current = Event.SCALAR;
+                case VALUE_STRING:
+                    this.scalar = this.strings.scalar(this.parser.getText());
+                    return this.current = Event.SCALAR;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    this.scalar = this.parser.getBooleanValue();
+                    return this.current = Event.SCALAR;
+                case VALUE_NULL:
+                    this.scalar = null;
+                    return this.current = Event.SCALAR;
+                default:
+                    final JsonLocation loc = this.parser.getTokenLocation();
+                    throw new ParsingException(loc.getLineNr(), loc.getColumnNr(), this.parser.getText(), "Unsupported token type: " + token, null);
+            }
+        } catch (final StreamReadException ex) {
+            throw JacksonConfigurationLoader.newException(null, ex.getLocation(), ex.getRequestPayloadAsString(), ex.getMessage(), ex.getCause());
+        } catch (final ParsingException ex) {
+            throw ex;
+        } catch (final IOException ex) {
+            throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, null, ex);
+        }
+    }
+
+    @Override
+    public @Nullable Event current() {
+        return this.current;
+    }
+
+    @Override
+    public Object key() {
+        final @Nullable Object key = this.key;
+        if (this.current != Event.KEY || key == null) {
+            throw new IllegalStateException("Current event is not a key, but " + this.current);
+        }
+        return key;
+    }
+
+    @Override
+    public @Nullable Object scalar() {
+        if (this.current != Event.SCALAR) {
+            throw new IllegalStateException("Current event is not a scalar, but " + this.current);
+        }
+        return this.scalar;
+    }
+
+    @Override
+    public void skipValue() throws ParsingException {
+        final @Nullable Event start = this.current;
+        if (start == null || start == Event.KEY) {
+            if (this.next() == null) {
+                if (start == Event.KEY) {
+                    final JsonLocation loc = this.parser.getCurrentLocation();
+                    throw new ParsingException(loc.getLineNr(), loc.getColumnNr(), null, "Reached end of document while reading a map value", null);
+                }
+                return;
+            }
+        } else if (!start.begins()) {
+            throw new IllegalStateException("A value can only be skipped at the start of a document, after a key, or at the start "
+                + "of a map or list, but the current event is " + start);
+        }
+
+        final @Nullable Event begin = this.current;
+        if (begin != null && begin.begins()) {
+            // let Jackson skip without decoding any values
+            try {
+                if (this.parser.skipChildren().currentToken() == null) {
+                    final JsonLocation loc = this.parser.getCurrentLocation();
+                    throw new ParsingException(loc.getLineNr(), loc.getColumnNr(), null, "Reached end of document while skipping a value", null);
+                }
+            } catch (final ParsingException ex) {
+                throw ex;
+            } catch (final StreamReadException ex) {
+                throw JacksonConfigurationLoader.newException(null, ex.getLocation(), ex.getRequestPayloadAsString(), ex.getMessage(), ex.getCause());
+            } catch (final IOException ex) {
+                throw new ParsingException(UNKNOWN_POS, UNKNOWN_POS, null, null, ex);
+            }
+            this.current = begin == Event.BEGIN_MAP ? Event.END_MAP : Event.END_LIST;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (Reader ignored = this.source) {
+            this.parser.close();
+        }
+    }
+
+}
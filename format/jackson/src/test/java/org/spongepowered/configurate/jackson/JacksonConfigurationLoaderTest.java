@@ -17,6 +17,7 @@
 package org.spongepowered.configurate.jackson;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -31,10 +32,12 @@ import org.spongepowered.configurate.NodePath;
 import org.spongepowered.configurate.loader.AtomicFiles;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
 import org.spongepowered.configurate.loader.HeaderMode;
+import org.spongepowered.configurate.loader.NodeEventReader;
 import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.util.MapFactories;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -129,4 +132,83 @@ class JacksonConfigurationLoaderTest {
         assertTrue(ex.rawMessage().contains("Unexpected end-of-input"));
     }
 
+    @Test
+    void testLoadFromBytes() throws ConfigurateException {
+        final String json = "{\"name\": \"caf\u00e9\", \"list\": [1, 12345678901, 2.5]}";
+        final String withHeader = "// a header\n\n" + json;
+        final ConfigurationNode expected = JacksonConfigurationLoader.builder().buildAndLoadString(json);
+
+        final ConfigurationNode fromBytes = JacksonConfigurationLoader.builder()
+            .byteSource(() -> new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+            .build()
+            .load();
+        assertEquals(expected, fromBytes);
+        assertNull(fromBytes.options().header());
+
+        final ConfigurationNode fromBytesWithHeader = JacksonConfigurationLoader.builder()
+            .byteSource(() -> new ByteArrayInputStream(withHeader.getBytes(StandardCharsets.UTF_8)))
+            .build()
+            .load();
+        assertEquals(expected, fromBytesWithHeader);
+        assertEquals("a header", fromBytesWithHeader.options().header());
+    }
+
+    @Test
+    void testLoadFromArray() throws ConfigurateException {
+        final String json = "{\"name\": \"caf\u00e9\", \"list\": [1, 12345678901, 2.5]}";
+        final ConfigurationNode expected = JacksonConfigurationLoader.builder().buildAndLoadString(json);
+
+        final ConfigurationNode fromArray = JacksonConfigurationLoader.builder()
+            .bytes(json.getBytes(StandardCharsets.UTF_8))
+            .build()
+            .load();
+        assertEquals(expected, fromArray);
+
+        final ConfigurationNode fromArrayWithHeader = JacksonConfigurationLoader.builder()
+            .bytes(("// a header\n\n" + json).getBytes(StandardCharsets.UTF_8))
+            .build()
+            .load();
+        assertEquals(expected, fromArrayWithHeader);
+        assertEquals("a header", fromArrayWithHeader.options().header());
+    }
+
+    @Test
+    void testByteExceptionContainsInformation() {
+        final JacksonConfigurationLoader loader = JacksonConfigurationLoader.builder()
+                .byteSource(() -> new ByteArrayInputStream("{\n\n\"hello\": \"wo}".getBytes(StandardCharsets.UTF_8)))
+                .build();
+
+        final ParsingException ex = assertThrows(ParsingException.class, loader::load);
+        assertEquals(3, ex.line());
+        assertEquals(NodePath.path("hello"), ex.path());
+    }
+
+    @Test
+    void testReadEvents() throws IOException {
+        final String json = "{\"name\": \"example\", \"big\": 12345678901, \"tags\": [\"a\", 2.5, true], \"empty\": []}";
+        final JacksonConfigurationLoader loader = JacksonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader(json)))
+            .build();
+
+        final BasicConfigurationNode streamed = loader.createNode();
+        try (NodeEventReader reader = loader.readEvents()) {
+            reader.readValue(streamed);
+            assertNull(reader.next());
+        }
+        assertEquals(loader.load(), streamed);
+    }
+
+    @Test
+    void testEventExceptionContainsPosition() throws IOException {
+        final JacksonConfigurationLoader loader = JacksonConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("{\n\n\"hello\": [1, 2")))
+            .build();
+
+        try (NodeEventReader reader = loader.readEvents()) {
+            assertEquals(NodeEventReader.Event.BEGIN_MAP, reader.next());
+            final ParsingException ex = assertThrows(ParsingException.class, reader::skipValue);
+            assertEquals(3, ex.line());
+        }
+    }
+
 }
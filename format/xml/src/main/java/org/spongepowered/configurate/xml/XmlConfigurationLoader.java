@@ -19,7 +19,6 @@ package org.spongepowered.configurate.xml;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.AttributedConfigurationNode;
-import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
@@ -30,7 +29,6 @@ import org.spongepowered.configurate.loader.LoaderOptionSource;
 import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -48,21 +46,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 import javax.xml.validation.Schema;
 
 /**
@@ -88,11 +77,6 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
      */
     private static final String USER_DATA_COMMENT = "configurate-comment";
 
-    /**
-     * The property used to mark how many spaces should be used to indent.
-     */
-    private static final String INDENT_PROPERTY = "{http://xml.apache.org/xslt}indent-amount";
-
     private static final String FEATURE_EXTERNAL_GENERAL_ENTITIES = "http://xml.org/sax/features/external-general-entities";
 
     private static final String FEATURE_EXTERNAL_PARAMETER_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
@@ -353,28 +337,6 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
         }
     }
 
-    private Transformer newTransformer() throws ConfigurateException {
-        final TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        if (!this.resolvesExternalContent) {
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            transformerFactory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
-        }
-        try {
-            final Transformer transformer = transformerFactory.newTransformer();
-
-            // we write the header ourselves.
-            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-
-            if (this.indent > 0) {
-                transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-                transformer.setOutputProperty(INDENT_PROPERTY, Integer.toString(this.indent));
-            }
-            return transformer;
-        } catch (final TransformerConfigurationException e) {
-            throw new ConfigurateException(e);
-        }
-    }
-
     @Override
     public @NonNull AttributedConfigurationNode load(@NonNull ConfigurationOptions options) throws ParsingException {
         if (this.source == null) {
@@ -557,75 +519,7 @@ public final class XmlConfigurationLoader extends AbstractConfigurationLoader<At
 
     @Override
     protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
-        final DocumentBuilder documentBuilder = this.newDocumentBuilder();
-        final Document document = documentBuilder.newDocument();
-
-        final @Nullable Node comment = this.createCommentNode(document, node);
-        if (comment != null) {
-            document.appendChild(comment);
-        }
-
-        document.appendChild(this.writeNode(document, node, null));
-
-        final Transformer transformer = this.newTransformer();
-        final DOMSource source = new DOMSource(document);
-        try {
-            transformer.transform(source, new StreamResult(writer));
-        } catch (final TransformerException e) {
-            throw new ConfigurateException(node, e);
-        }
-    }
-
-    private void appendCommentIfNecessary(final Element parent, final ConfigurationNode node) {
-        final @Nullable Node possibleComment = this.createCommentNode(parent.getOwnerDocument(), node);
-        if (possibleComment != null) {
-            parent.appendChild(possibleComment);
-        }
-    }
-
-    private @Nullable Node createCommentNode(final Document doc, final ConfigurationNode node) {
-        if (node instanceof CommentedConfigurationNodeIntermediary<?>) {
-            final @Nullable String comment = ((CommentedConfigurationNodeIntermediary<?>) node).comment();
-            if (comment != null) {
-                return doc.createComment(" " + comment.trim() + " ");
-            }
-        }
-        return null;
-    }
-
-    private Element writeNode(final Document document, final ConfigurationNode node, final @Nullable String forcedTag) {
-        String tag = this.defaultTagName;
-        Map<String, String> attributes = Collections.emptyMap();
-
-        if (node instanceof AttributedConfigurationNode) {
-            final AttributedConfigurationNode attributedNode = (AttributedConfigurationNode) node;
-            tag = attributedNode.tagName();
-            attributes = attributedNode.attributes();
-        }
-
-        final Element element = document.createElement(forcedTag == null ? tag : forcedTag);
-        for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
-            element.setAttribute(attribute.getKey(), attribute.getValue());
-        }
-
-        if (node.isMap()) {
-            for (final Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
-                this.appendCommentIfNecessary(element, child.getValue());
-                element.appendChild(this.writeNode(document, child.getValue(), child.getKey().toString()));
-            }
-        } else if (node.isList()) {
-            if (this.writeExplicitType) {
-                element.setAttribute(ATTRIBUTE_TYPE, "list");
-            }
-            for (final ConfigurationNode child : node.childrenList()) {
-                this.appendCommentIfNecessary(element, child);
-                element.appendChild(this.writeNode(document, child, null));
-            }
-        } else {
-            element.appendChild(document.createTextNode(Objects.toString(node.rawScalar())));
-        }
-
-        return element;
+        node.visit(XmlVisitor.INSTANCE, new XmlVisitor.State(writer, this.indent, this.writeExplicitType, this.defaultTagName));
     }
 
     @Override
@@ -0,0 +1,315 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.xml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.AttributedConfigurationNode;
+import org.spongepowered.configurate.CommentedConfigurationNodeIntermediary;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A visitor writing XML directly to a {@link Writer}.
+ *
+ * <p>This produces the same output the JDK's {@code Transformer} would for
+ * a DOM document built from the node, without building that document
+ * first.</p>
+ */
+final class XmlVisitor implements ConfigurationVisitor<XmlVisitor.State, Void, ConfigurateException> {
+
+    static final XmlVisitor INSTANCE = new XmlVisitor();
+
+    private static final String ATTRIBUTE_TYPE = "configurate-type";
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private XmlVisitor() {
+    }
+
+    @Override
+    public State newState() {
+        throw new UnsupportedOperationException("Writer must be provided");
+    }
+
+    @Override
+    public void beginVisit(final ConfigurationNode node, final State state) throws ConfigurateException {
+        if (node.isNull()) {
+            // the root is not entered when it has no value
+            this.enterNode(node, state);
+        }
+    }
+
+    @Override
+    public void enterNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final String tag = tagName(node, state);
+        requireName(node, tag);
+
+        try {
+            final @Nullable Frame parent = state.frames.peek();
+            if (parent != null && !parent.open) {
+                // the start tag is only closed once we know there are children
+                state.writer.write('>');
+                parent.open = true;
+            }
+
+            final @Nullable String comment = node instanceof CommentedConfigurationNodeIntermediary<?>
+                ? ((CommentedConfigurationNodeIntermediary<?>) node).comment() : null;
+            if (comment != null) {
+                // comments before the document element are not followed by a line break
+                state.childLine();
+                state.writer.write("<!-- ");
+                state.writer.write(comment.trim());
+                state.writer.write(" -->");
+            }
+
+            state.childLine();
+            state.writer.write('<');
+            state.writer.write(tag);
+
+            final Map<String, String> attributes = new TreeMap<>();
+            if (node instanceof AttributedConfigurationNode) {
+                attributes.putAll(((AttributedConfigurationNode) node).attributes());
+            }
+            if (node.isList() && state.writeExplicitType) {
+                attributes.put(ATTRIBUTE_TYPE, "list");
+            }
+            for (final Map.Entry<String, String> attribute : attributes.entrySet()) {
+                requireName(node, attribute.getKey());
+                state.writer.write(' ');
+                state.writer.write(attribute.getKey());
+                state.writer.write("=\"");
+                state.writeEscaped(attribute.getValue(), true);
+                state.writer.write('"');
+            }
+
+            if (node.isNull()) {
+                state.writer.write(">null</");
+                state.writer.write(tag);
+                state.writer.write('>');
+                exitElement(state);
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterMappingNode(final ConfigurationNode node, final State state) {
+        this.enterCollection(state, true);
+    }
+
+    @Override
+    public void enterListNode(final ConfigurationNode node, final State state) {
+        this.enterCollection(state, false);
+    }
+
+    private void enterCollection(final State state, final boolean map) {
+        state.frames.push(new Frame(map));
+    }
+
+    @Override
+    public void enterScalarNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final String value = String.valueOf(node.rawScalar());
+        try {
+            if (value.isEmpty()) {
+                state.writer.write("/>");
+            } else {
+                state.writer.write('>');
+                state.writeEscaped(value, false);
+                state.writer.write("</");
+                state.writer.write(tagName(node, state));
+                state.writer.write('>');
+            }
+            exitElement(state);
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void exitMappingNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        this.exitCollection(node, state);
+    }
+
+    @Override
+    public void exitListNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        this.exitCollection(node, state);
+    }
+
+    private void exitCollection(final ConfigurationNode node, final State state) throws ConfigurateException {
+        final Frame frame = state.frames.pop();
+        try {
+            if (frame.open) {
+                state.newLine(state.frames.size());
+                state.writer.write("</");
+                state.writer.write(tagName(node, state));
+                state.writer.write('>');
+            } else {
+                state.writer.write("/>");
+            }
+            exitElement(state);
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    private static void exitElement(final State state) throws IOException {
+        // the document element is followed by a line break
+        if (state.frames.isEmpty() && state.indent > 0) {
+            state.writer.write(LINE_SEPARATOR);
+        }
+    }
+
+    @Override
+    public Void endVisit(final State state) {
+        state.frames.clear();
+        return null;
+    }
+
+    private static String tagName(final ConfigurationNode node, final State state) {
+        final @Nullable Frame parent = state.frames.peek();
+        if (parent != null && parent.map) {
+            return String.valueOf(node.key());
+        } else if (node instanceof AttributedConfigurationNode) {
+            return ((AttributedConfigurationNode) node).tagName();
+        } else {
+            return state.defaultTagName;
+        }
+    }
+
+    private static void requireName(final ConfigurationNode node, final String name) throws ConfigurateException {
+        boolean valid = !name.isEmpty();
+        for (int i = 0; valid && i < name.length(); ++i) {
+            final char c = name.charAt(i);
+            valid = Character.isLetter(c) || c == '_' || c == ':'
+                || (i > 0 && (Character.isDigit(c) || c == '-' || c == '.'));
+        }
+        if (!valid) {
+            throw new ConfigurateException(node, "'" + name + "' is not a valid XML name");
+        }
+    }
+
+    /**
+     * Output and position for a single write.
+     */
+    static final class State {
+        final Writer writer;
+        final int indent;
+        final boolean writeExplicitType;
+        final String defaultTagName;
+        final Deque<Frame> frames = new ArrayDeque<>();
+
+        State(final Writer writer, final int indent, final boolean writeExplicitType, final String defaultTagName) {
+            this.writer = writer;
+            this.indent = indent;
+            this.writeExplicitType = writeExplicitType;
+            this.defaultTagName = defaultTagName;
+        }
+
+        /**
+         * Start a new line for a child of the innermost open element.
+         *
+         * <p>Nothing is written at document level.</p>
+         *
+         * @throws IOException if unable to write
+         */
+        void childLine() throws IOException {
+            if (!this.frames.isEmpty()) {
+                this.newLine(this.frames.size());
+            }
+        }
+
+        /**
+         * Start a new line at the given depth, if indenting.
+         *
+         * @param depth the number of enclosing elements
+         * @throws IOException if unable to write
+         */
+        void newLine(final int depth) throws IOException {
+            if (this.indent <= 0) {
+                return;
+            }
+            this.writer.write(LINE_SEPARATOR);
+            for (int i = depth * this.indent; i > 0; --i) {
+                this.writer.write(' ');
+            }
+        }
+
+        /**
+         * Write character data, escaping markup characters.
+         *
+         * @param value the text to write
+         * @param attribute whether the text is an attribute value
+         * @throws IOException if unable to write
+         */
+        void writeEscaped(final String value, final boolean attribute) throws IOException {
+            for (int i = 0; i < value.length(); ++i) {
+                final char c = value.charAt(i);
+                switch (c) {
+                    case '&':
+                        this.writer.write("&amp;");
+                        break;
+                    case '<':
+                        this.writer.write("&lt;");
+                        break;
+                    case '>':
+                        this.writer.write("&gt;");
+                        break;
+                    case '"':
+                        this.writer.write(attribute ? "&quot;" : "\"");
+                        break;
+                    case '\n':
+                        this.writer.write(attribute ? "&#10;" : LINE_SEPARATOR);
+                        break;
+                    case '\t':
+                        this.writer.write(attribute ? "&#9;" : "\t");
+                        break;
+                    default:
+                        if (c < 0x20 || !attribute && c >= 0x7F && c <= 0x9F) {
+                            this.writer.write("&#");
+                            this.writer.write(Integer.toString(c));
+                            this.writer.write(';');
+                        } else {
+                            this.writer.write(c);
+                        }
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * An element that may have child elements.
+     */
+    static final class Frame {
+        final boolean map;
+        boolean open;
+
+        Frame(final boolean map) {
+            this.map = map;
+        }
+    }
+
+}
@@ -29,11 +29,15 @@ import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.loader.AtomicFiles;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringWriter;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -161,4 +165,32 @@ class XmlConfigurationLoaderTest {
         assertEquals(Resources.readLines(original, UTF_8), Files.readAllLines(destination, UTF_8));
     }
 
+    @Test
+    void testSaveEscapingAndEmptyElements() throws ConfigurateException {
+        final StringWriter output = new StringWriter();
+        final XmlConfigurationLoader loader = XmlConfigurationLoader.builder()
+                .includesXmlDeclaration(false)
+                .indent(2)
+                .sink(() -> new BufferedWriter(output))
+                .build();
+
+        final AttributedConfigurationNode node = loader.createNode().tagName("data");
+        node.node("text").raw("a < b & \"c\"").addAttribute("note", "say \"hi\"\n");
+        node.node("blank").raw("");
+        node.node("flagged").raw(Collections.emptyMap()).addAttribute("enabled", "true");
+        node.node("list").appendListNode().raw(1);
+
+        loader.save(node);
+        assertEquals(Arrays.asList(
+            "<data>",
+            "  <text note=\"say &quot;hi&quot;&#10;\">a &lt; b &amp; \"c\"</text>",
+            "  <blank/>",
+            "  <flagged enabled=\"true\"/>",
+            "  <list configurate-type=\"list\">",
+            "    <element>1</element>",
+            "  </list>",
+            "</data>"
+        ), Arrays.asList(output.toString().split(System.lineSeparator())));
+    }
+
 }
@@ -18,18 +18,23 @@ package org.spongepowered.configurate.yaml;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 import org.spongepowered.configurate.loader.CommentHandler;
 import org.spongepowered.configurate.loader.CommentHandlers;
 import org.spongepowered.configurate.loader.LoaderOptionSource;
+import org.spongepowered.configurate.loader.NodeEventReader;
+import org.spongepowered.configurate.loader.ParsingException;
 import org.spongepowered.configurate.util.UnmodifiableCollections;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.emitter.Emitter;
 import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
 
 import java.io.BufferedReader;
 import java.io.Writer;
@@ -164,7 +169,11 @@ public final class YamlConfigurationLoader extends AbstractConfigurationLoader<C
         }
     }
 
+    private final LoaderOptions loaderOptions;
+    private final DumperOptions dumperOptions;
+    private final Resolver resolver = new Resolver();
     private final ThreadLocal<Yaml> yaml;
+    private final ThreadLocal<Representer> representer;
 
     private YamlConfigurationLoader(final Builder builder) {
         super(builder, new CommentHandler[] {CommentHandlers.HASH});
@@ -172,20 +181,37 @@ public final class YamlConfigurationLoader extends AbstractConfigurationLoader<C
             .setAcceptTabs(true)
             .setProcessComments(false);
         loaderOpts.setCodePointLimit(Integer.MAX_VALUE);
+        this.loaderOptions = loaderOpts;
 
         final DumperOptions opts = builder.options;
         opts.setDefaultFlowStyle(NodeStyle.asSnakeYaml(builder.style));
+        this.dumperOptions = opts;
         this.yaml = ThreadLocal.withInitial(() -> new Yaml(new Constructor(loaderOpts), new Representer(opts), opts, loaderOpts));
+        this.representer = ThreadLocal.withInitial(() -> {
+            // configured the same way the Yaml instance configures its own
+            final Representer representer = new Representer(opts);
+            representer.setDefaultFlowStyle(opts.getDefaultFlowStyle());
+            representer.setDefaultScalarStyle(opts.getDefaultScalarStyle());
+            representer.getPropertyUtils().setAllowReadOnlyProperties(opts.isAllowReadOnlyProperties());
+            representer.setTimeZone(opts.getTimeZone());
+            return representer;
+        });
     }
 
     @Override
-    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) {
-        node.raw(this.yaml.get().load(reader));
+    protected void loadInternal(final CommentedConfigurationNode node, final BufferedReader reader) throws ParsingException {
+        new YamlNodeReader(this.yaml.get().parse(reader), this.newStringPool(), this.loaderOptions).read(node);
     }
 
     @Override
-    protected void saveInternal(final ConfigurationNode node, final Writer writer) {
-        this.yaml.get().dump(node.raw(), writer);
+    protected NodeEventReader readEventsInternal(final BufferedReader reader) {
+        return new YamlEventReader(this.yaml.get().parse(reader), reader, this.newStringPool(), this.loaderOptions);
+    }
+
+    @Override
+    protected void saveInternal(final ConfigurationNode node, final Writer writer) throws ConfigurateException {
+        node.visit(YamlVisitor.INSTANCE, new YamlVisitor.State(new Emitter(writer, this.dumperOptions), this.representer.get(), this.resolver,
+            this.dumperOptions));
     }
 
     @Override
@@ -0,0 +1,64 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+
+/**
+ * A constructor exposing construction of individual nodes, for loading
+ * without building the whole document's object graph.
+ *
+ * <p>Objects constructed with {@link #construct(Node)} are cached by node, so
+ * a new constructor should be used for each document.</p>
+ */
+final class YamlConstructor extends Constructor {
+
+    YamlConstructor(final LoaderOptions options) {
+        super(options);
+    }
+
+    @Nullable Object construct(final Node node) {
+        return this.constructObject(node);
+    }
+
+    /**
+     * Construct a scalar without caching the result, so neither the node nor
+     * its value are retained once read.
+     *
+     * @param node the scalar node
+     * @return the constructed value
+     */
+    @Nullable Object constructUncached(final ScalarNode node) {
+        return this.getConstructor(node).construct(node);
+    }
+
+    /**
+     * Resolve merge keys and duplicate keys in a mapping, the same way they
+     * would be when constructing a map.
+     *
+     * @param node the mapping node
+     */
+    void flatten(final MappingNode node) {
+        this.flattenMapping(node);
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.loader.NodeEventReader;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.StringPool;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event.ID;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * An event reader backed by the SnakeYAML parser.
+ *
+ * <p>Scalars are resolved and constructed the same way a loaded document's
+ * would be. Aliases to scalars are supported, but aliases to maps and lists
+ * would require retaining the aliased collection, so they are rejected.</p>
+ */
+final class YamlEventReader implements NodeEventReader {
+
+    private static final Object COLLECTION_ANCHOR = new Object();
+
+    private final Iterator<org.yaml.snakeyaml.events.Event> events;
+    private final Reader source;
+    private final StringPool strings;
+    private final YamlConstructor constructor;
+    private final Resolver resolver = new Resolver();
+    private final Map<String, Object> anchors = new HashMap<>();
+    // one bit per open collection: set if a map expecting a key next
+    private final BitSet expectingKey = new BitSet();
+    private final ArrayDeque<Event> open = new ArrayDeque<>();
+    private @Nullable Event current;
+    private @Nullable Object key;
+    private @Nullable Object scalar;
+    private boolean ended;
+
+    YamlEventReader(
+        final Iterable<org.yaml.snakeyaml.events.Event> events,
+        final Reader source,
+        final StringPool strings,
+        final LoaderOptions options
+    ) {
+        this.events = events.iterator();
+        this.source = source;
+        this.strings = strings;
+        this.constructor = new YamlConstructor(options);
+    }
+
+    @Override
+    public @Nullable Event next() throws ParsingException {
+        if (this.ended) {
+            return this.current = null;
+        }
+
+        try {
+            while (this.events.hasNext()) {
+                final org.yaml.snakeyaml.events.Event event = this.events.next();
+                if (event.is(ID.StreamStart) || event.is(ID.DocumentStart)) {
+                    continue;
+                } else if (event.is(ID.DocumentEnd) || event.is(ID.StreamEnd)) {
+                    this.ended = true;
+                    return this.current = null;
+                }
+
+                final boolean keyPosition = this.expectingKey.get(this.open.size());
+                if (keyPosition) {
+                    this.expectingKey.clear(this.open.size());
+                } else if (!this.open.isEmpty() && this.open.peek() == Event.BEGIN_MAP && !event.is(ID.MappingEnd)) {
+                    // a value completes the entry, the next event is a key
+                    this.expectingKey.set(this.open.size());
+                }
+
+                if (event.is(ID.MappingStart) || event.is(ID.SequenceStart)) {
+                    if (keyPosition) {
+                        throw newException(event.getStartMark(), "Complex keys are not supported when streaming", null);
+                    }
+                    this.anchor((NodeEvent) event, COLLECTION_ANCHOR);
+                    final Event begin = event.is(ID.MappingStart) ? Event.BEGIN_MAP : Event.BEGIN_LIST;
+                    this.open.push(begin);
+                    this.expectingKey.set(this.open.size(), begin == Event.BEGIN_MAP);
+                    return this.current = begin;
+                } else if (event.is(ID.MappingEnd) || event.is(ID.SequenceEnd)) {
+                    this.expectingKey.clear(this.open.size());
+                    return this.current = this.open.pop() == Event.BEGIN_MAP ? Event.END_MAP : Event.END_LIST;
+                } else if (event.is(ID.Scalar)) {
+                    final ScalarEvent scalarEvent = (ScalarEvent) event;
+                    final @Nullable Object value = this.construct(scalarEvent, keyPosition);
+                    this.anchor(scalarEvent, value);
+                    return this.emit(event, value, keyPosition);
+                } else if (event.is(ID.Alias)) {
+                    final @Nullable String anchor = ((AliasEvent) event).getAnchor();
+                    if (anchor == null || !this.anchors.containsKey(anchor)) {
+                        throw newException(event.getStartMark(), "Found undefined alias " + anchor, null);
+                    }
+                    final @Nullable Object value = this.anchors.get(anchor);
+                    if (value == COLLECTION_ANCHOR) {
+                        throw newException(event.getStartMark(), "Aliases to maps and lists are not supported when streaming", null);
+                    }
+                    return this.emit(event, value, keyPosition);
+                }
+            }
+            this.ended = true;
+            return this.current = null;
+        } catch (final MarkedYAMLException ex) {
+            throw newException(ex.getProblemMark(), ex.getProblem(), ex);
+        } catch (final YAMLException ex) {
+            throw new ParsingException(ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null, ex.getMessage(), ex);
+        }
+    }
+
+    private Event emit(final org.yaml.snakeyaml.events.Event event, final @Nullable Object value, final boolean key) throws ParsingException {
+        if (key) {
+            if (value == null) {
+                throw newException(event.getStartMark(), "Null keys are not supported", null);
+            }
+            this.key = value instanceof String ? this.strings.key((String) value) : value;
+            return this.current = Event.KEY;
+        } else {
+            this.scalar = value;
+            return this.current = Event.SCALAR;
+        }
+    }
+
+    private void anchor(final NodeEvent event, final @Nullable Object value) {
+        final @Nullable String anchor = event.getAnchor();
+        if (anchor != null) {
+            this.anchors.put(anchor, value);
+        }
+    }
+
+    private @Nullable Object construct(final ScalarEvent event, final boolean key) {
+        final @Nullable String tag = event.getTag();
+        final Tag resolved;
+        if (tag == null || tag.equals("!")) {
+            resolved = this.resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        } else {
+            resolved = new Tag(tag);
+        }
+        final @Nullable Object value = this.constructor.constructUncached(
+            new ScalarNode(resolved, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle())
+        );
+        return !key && value instanceof String ? this.strings.scalar((String) value) : value;
+    }
+
+    private static ParsingException newException(final @Nullable Mark mark, final @Nullable String message, final @Nullable Throwable cause) {
+        if (mark == null) {
+            return new ParsingException(ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null, message, cause);
+        }
+        return new ParsingException(mark.getLine() + 1, mark.getColumn() + 1, null, message, cause);
+    }
+
+    @Override
+    public @Nullable Event current() {
+        return this.current;
+    }
+
+    @Override
+    public Object key() {
+        final @Nullable Object key = this.key;
+        if (this.current != Event.KEY || key == null) {
+            throw new IllegalStateException("Current event is not a key, but " + this.current);
+        }
+        return key;
+    }
+
+    @Override
+    public @Nullable Object scalar() {
+        if (this.current != Event.SCALAR) {
+            throw new IllegalStateException("Current event is not a scalar, but " + this.current);
+        }
+        return this.scalar;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.ended = true;
+        this.anchors.clear();
+        this.source.close();
+    }
+
+}
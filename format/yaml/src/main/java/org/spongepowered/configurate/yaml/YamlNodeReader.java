@@ -0,0 +1,332 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.ParsingException;
+import org.spongepowered.configurate.loader.StringPool;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.Event.ID;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a document from the SnakeYAML parser's events directly into a
+ * configuration node.
+ *
+ * <p>Most of a document is never held as YAML nodes. Only anchored nodes,
+ * which may be aliased later in the document, are composed and retained,
+ * along with the few values that must be constructed as a whole: collections
+ * with an explicit tag, complex keys, and the values of merge keys.</p>
+ */
+final class YamlNodeReader {
+
+    private final Iterator<Event> events;
+    private final StringPool strings;
+    private final int maxCollectionAliases;
+    private final YamlConstructor constructor;
+    private final Resolver resolver = new Resolver();
+    private final Map<String, Node> anchors = new HashMap<>();
+    private final Set<Node> open = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int collectionAliases;
+
+    YamlNodeReader(final Iterable<Event> events, final StringPool strings, final LoaderOptions options) {
+        this.events = events.iterator();
+        this.strings = strings;
+        this.maxCollectionAliases = options.getMaxAliasesForCollections();
+        this.constructor = new YamlConstructor(options);
+    }
+
+    /**
+     * Read the single document in the stream into a node.
+     *
+     * <p>The node is left untouched if the stream contains no document.</p>
+     *
+     * @param node the destination node
+     * @throws ParsingException if the stream is not a single valid document
+     */
+    void read(final ConfigurationNode node) throws ParsingException {
+        this.next(); // stream start
+        if (this.next().is(ID.StreamEnd)) {
+            return;
+        }
+        // after the document start
+        this.readValue(this.next(), node);
+        this.next(); // document end
+        final Event end = this.next();
+        if (!end.is(ID.StreamEnd)) {
+            throw newException(end.getStartMark(), "Expected a single document in the stream");
+        }
+    }
+
+    private Event next() throws ParsingException {
+        while (this.events.hasNext()) {
+            final Event event = this.events.next();
+            if (!event.is(ID.Comment)) {
+                return event;
+            }
+        }
+        throw newException(null, "Unexpected end of stream");
+    }
+
+    private void readValue(final Event event, final ConfigurationNode to) throws ParsingException {
+        if (event.is(ID.Alias)) {
+            this.copy(this.alias((AliasEvent) event), to);
+        } else if (((NodeEvent) event).getAnchor() != null || !this.isPlain(event)) {
+            // retained for aliases, or constructed as a whole by its tag
+            this.copy(this.compose(event), to);
+        } else if (event.is(ID.MappingStart)) {
+            this.readMapping(to);
+        } else if (event.is(ID.SequenceStart)) {
+            to.raw(Collections.emptyList());
+            for (Event item = this.next(); !item.is(ID.SequenceEnd); item = this.next()) {
+                this.readValue(item, to.appendListNode());
+            }
+        } else {
+            final @Nullable Object value = this.constructor.constructUncached(this.scalar((ScalarEvent) event));
+            to.raw(value instanceof String ? this.strings.scalar((String) value) : value);
+        }
+    }
+
+    private void readMapping(final ConfigurationNode to) throws ParsingException {
+        // set the type first, integer keys would otherwise create a list
+        to.raw(Collections.emptyMap());
+        for (Event keyEvent = this.next(); !keyEvent.is(ID.MappingEnd); keyEvent = this.next()) {
+            final @Nullable Object key;
+            if (keyEvent.is(ID.Scalar) && ((ScalarEvent) keyEvent).getAnchor() == null) {
+                final ScalarNode keyNode = this.scalar((ScalarEvent) keyEvent);
+                if (keyNode.getTag().equals(Tag.MERGE)) {
+                    this.merge(keyNode, this.compose(this.next()), to);
+                    continue;
+                }
+                key = this.constructor.constructUncached(keyNode);
+            } else {
+                key = this.construct(keyEvent.is(ID.Alias) ? this.alias((AliasEvent) keyEvent) : this.compose(keyEvent));
+            }
+
+            final Object child = this.key(key, keyEvent.getStartMark());
+            // later entries replace earlier and merged ones
+            if (to.hasChild(child)) {
+                to.removeChild(child);
+            }
+            this.readValue(this.next(), to.node(child));
+        }
+    }
+
+    /**
+     * Merge the entries of a merge key's value into a mapping.
+     *
+     * <p>Entries already present in the mapping take precedence, and are
+     * replaced by entries that follow the merge key, so the result is the
+     * same as when the mapping is constructed as a whole.</p>
+     *
+     * @param keyNode the merge key
+     * @param value the mapping or list of mappings to merge
+     * @param to the mapping being read
+     * @throws ParsingException if a merged key is null
+     */
+    private void merge(final ScalarNode keyNode, final Node value, final ConfigurationNode to) throws ParsingException {
+        final List<NodeTuple> entries = new ArrayList<>(1);
+        entries.add(new NodeTuple(keyNode, value));
+        final MappingNode merged = new MappingNode(Tag.MAP, entries, DumperOptions.FlowStyle.AUTO);
+        merged.setMerged(true);
+        this.constructor.flatten(merged);
+        for (final NodeTuple entry : merged.getValue()) {
+            final Object child = this.key(this.construct(entry.getKeyNode()), entry.getKeyNode().getStartMark());
+            if (!to.hasChild(child)) {
+                this.copy(entry.getValueNode(), to.node(child));
+            }
+        }
+    }
+
+    private Object key(final @Nullable Object key, final @Nullable Mark mark) throws ParsingException {
+        if (key == null) {
+            throw newException(mark, "Null keys are not supported");
+        }
+        return key instanceof String ? this.strings.key((String) key) : key;
+    }
+
+    /**
+     * Copy a composed YAML node into a configuration node.
+     *
+     * @param from the composed node
+     * @param to the destination node
+     * @throws ParsingException if a collection contains itself
+     */
+    private void copy(final Node from, final ConfigurationNode to) throws ParsingException {
+        if (from instanceof MappingNode && from.getTag().equals(Tag.MAP)) {
+            final MappingNode mapping = (MappingNode) from;
+            this.enterCollection(mapping);
+            this.constructor.flatten(mapping);
+            to.raw(Collections.emptyMap());
+            for (final NodeTuple entry : mapping.getValue()) {
+                this.copy(entry.getValueNode(), to.node(this.key(this.construct(entry.getKeyNode()), entry.getKeyNode().getStartMark())));
+            }
+            this.open.remove(mapping);
+        } else if (from instanceof SequenceNode && from.getTag().equals(Tag.SEQ)) {
+            final SequenceNode sequence = (SequenceNode) from;
+            this.enterCollection(sequence);
+            to.raw(Collections.emptyList());
+            for (final Node item : sequence.getValue()) {
+                this.copy(item, to.appendListNode());
+            }
+            this.open.remove(sequence);
+        } else {
+            // scalars, and collections with tags for other types
+            final @Nullable Object value = this.construct(from);
+            to.raw(value instanceof String ? this.strings.scalar((String) value) : value);
+        }
+    }
+
+    private @Nullable Object construct(final Node node) {
+        return node instanceof ScalarNode ? this.constructor.constructUncached((ScalarNode) node) : this.constructor.construct(node);
+    }
+
+    private void enterCollection(final Node node) throws ParsingException {
+        if (!this.open.add(node)) {
+            throw newException(node.getStartMark(), "Recursive aliases are not supported");
+        }
+    }
+
+    /**
+     * Compose the node starting with an event, reading the rest of its
+     * events from the stream.
+     *
+     * @param event the first event of the node
+     * @return the composed node
+     * @throws ParsingException if an alias is undefined
+     */
+    private Node compose(final Event event) throws ParsingException {
+        if (event.is(ID.Alias)) {
+            return this.alias((AliasEvent) event);
+        }
+
+        final @Nullable String anchor = ((NodeEvent) event).getAnchor();
+        if (event.is(ID.MappingStart)) {
+            final CollectionStartEvent start = (CollectionStartEvent) event;
+            final List<NodeTuple> entries = new ArrayList<>();
+            final MappingNode mapping = new MappingNode(this.tag(start, NodeId.mapping), entries, start.getFlowStyle());
+            this.anchor(anchor, mapping);
+            Event keyEvent = this.next();
+            while (!keyEvent.is(ID.MappingEnd)) {
+                final Node key = this.compose(keyEvent);
+                if (key.getTag().equals(Tag.MERGE)) {
+                    mapping.setMerged(true);
+                }
+                entries.add(new NodeTuple(key, this.compose(this.next())));
+                keyEvent = this.next();
+            }
+            mapping.setEndMark(keyEvent.getEndMark());
+            return mapping;
+        } else if (event.is(ID.SequenceStart)) {
+            final CollectionStartEvent start = (CollectionStartEvent) event;
+            final List<Node> items = new ArrayList<>();
+            final SequenceNode sequence = new SequenceNode(this.tag(start, NodeId.sequence), items, start.getFlowStyle());
+            this.anchor(anchor, sequence);
+            Event item = this.next();
+            while (!item.is(ID.SequenceEnd)) {
+                items.add(this.compose(item));
+                item = this.next();
+            }
+            sequence.setEndMark(item.getEndMark());
+            return sequence;
+        } else {
+            final ScalarNode scalar = this.scalar((ScalarEvent) event);
+            this.anchor(anchor, scalar);
+            return scalar;
+        }
+    }
+
+    private void anchor(final @Nullable String anchor, final Node node) {
+        // registered before children are composed, so recursive aliases are detected when copied
+        if (anchor != null) {
+            this.anchors.put(anchor, node);
+        }
+    }
+
+    private Node alias(final AliasEvent event) throws ParsingException {
+        final @Nullable String anchor = event.getAnchor();
+        final @Nullable Node node = anchor == null ? null : this.anchors.get(anchor);
+        if (node == null) {
+            throw newException(event.getStartMark(), "Found undefined alias " + anchor);
+        }
+        if (!(node instanceof ScalarNode) && ++this.collectionAliases > this.maxCollectionAliases) {
+            throw newException(event.getStartMark(), "Number of aliases for non-scalar nodes exceeds the specified max=" + this.maxCollectionAliases);
+        }
+        return node;
+    }
+
+    private boolean isPlain(final Event event) {
+        if (event.is(ID.MappingStart)) {
+            return this.tag((CollectionStartEvent) event, NodeId.mapping).equals(Tag.MAP);
+        } else if (event.is(ID.SequenceStart)) {
+            return this.tag((CollectionStartEvent) event, NodeId.sequence).equals(Tag.SEQ);
+        }
+        // scalar tags are handled by the constructor
+        return true;
+    }
+
+    private Tag tag(final CollectionStartEvent event, final NodeId kind) {
+        final @Nullable String tag = event.getTag();
+        if (tag == null || tag.equals("!")) {
+            return this.resolver.resolve(kind, null, event.getImplicit());
+        }
+        return new Tag(tag);
+    }
+
+    private ScalarNode scalar(final ScalarEvent event) {
+        final @Nullable String tag = event.getTag();
+        final Tag resolved;
+        if (tag == null || tag.equals("!")) {
+            resolved = this.resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+        } else {
+            resolved = new Tag(tag);
+        }
+        return new ScalarNode(resolved, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle());
+    }
+
+    private static ParsingException newException(final @Nullable Mark mark, final String message) {
+        if (mark == null) {
+            return new ParsingException(ParsingException.UNKNOWN_POS, ParsingException.UNKNOWN_POS, null, message, null);
+        }
+        return new ParsingException(mark.getLine() + 1, mark.getColumn() + 1, null, message, null);
+    }
+
+}
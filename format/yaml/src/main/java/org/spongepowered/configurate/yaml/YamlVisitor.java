@@ -0,0 +1,263 @@
+/*
+ * Configurate
+ * Copyright (C) zml and Configurate contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.spongepowered.configurate.yaml;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationVisitor;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitable;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.AnchorNode;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * A visitor emitting YAML events for a node tree.
+ *
+ * <p>Only scalar values are passed through the representer, so the
+ * events are the same ones SnakeYAML would serialize for the node's raw
+ * value, without first copying the tree into maps and lists.</p>
+ */
+final class YamlVisitor implements ConfigurationVisitor<YamlVisitor.State, Void, ConfigurateException> {
+
+    static final YamlVisitor INSTANCE = new YamlVisitor();
+
+    private YamlVisitor() {
+    }
+
+    @Override
+    public State newState() {
+        throw new UnsupportedOperationException("Emitter must be provided");
+    }
+
+    @Override
+    public void beginVisit(final ConfigurationNode node, final State state) throws ConfigurateException {
+        try {
+            state.emitter.emit(new StreamStartEvent(null, null));
+            state.emitter.emit(new DocumentStartEvent(null, null, state.options.isExplicitStart(), state.options.getVersion(),
+                state.options.getTags()));
+            if (node.isNull()) {
+                // the root is not entered when it has no value
+                state.emit(state.representer.represent(null));
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        try {
+            final @Nullable Boolean map = state.maps.peek();
+            if (map != null && map) {
+                state.emit(state.representer.represent(node.key()));
+            }
+            if (node.isNull()) {
+                state.emit(state.representer.represent(null));
+            }
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void enterMappingNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        try {
+            state.emitter.emit(new MappingStartEvent(null, Tag.MAP.getValue(), true, null, null, state.flowStyle(node)));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+        state.maps.push(true);
+    }
+
+    @Override
+    public void enterListNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        try {
+            state.emitter.emit(new SequenceStartEvent(null, Tag.SEQ.getValue(), true, null, null, state.flowStyle(node)));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+        state.maps.push(false);
+    }
+
+    @Override
+    public void enterScalarNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        try {
+            state.emit(state.representer.represent(node.rawScalar()));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void exitMappingNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        state.maps.pop();
+        try {
+            state.emitter.emit(new MappingEndEvent(null, null));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public void exitListNode(final ConfigurationNode node, final State state) throws ConfigurateException {
+        state.maps.pop();
+        try {
+            state.emitter.emit(new SequenceEndEvent(null, null));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(node, ex);
+        }
+    }
+
+    @Override
+    public Void endVisit(final State state) throws ConfigurateException {
+        state.maps.clear();
+        try {
+            state.emitter.emit(new DocumentEndEvent(null, null, state.options.isExplicitEnd()));
+            state.emitter.emit(new StreamEndEvent(null, null));
+        } catch (final IOException ex) {
+            throw new ConfigurateException(ex);
+        }
+        return null;
+    }
+
+    /**
+     * Output and position for a single write.
+     */
+    static final class State {
+        final Emitable emitter;
+        final Representer representer;
+        final Resolver resolver;
+        final DumperOptions options;
+        // whether each open collection is a map
+        final Deque<Boolean> maps = new ArrayDeque<>();
+
+        State(final Emitable emitter, final Representer representer, final Resolver resolver, final DumperOptions options) {
+            this.emitter = emitter;
+            this.representer = representer;
+            this.resolver = resolver;
+            this.options = options;
+        }
+
+        /**
+         * Choose the flow style for a collection.
+         *
+         * <p>When none is configured, collections containing only plain
+         * scalars are written in flow style, as the representer does.</p>
+         *
+         * @param node the map or list node
+         * @return the flow style
+         */
+        DumperOptions.FlowStyle flowStyle(final ConfigurationNode node) {
+            final DumperOptions.FlowStyle configured = this.options.getDefaultFlowStyle();
+            if (configured != DumperOptions.FlowStyle.AUTO) {
+                return configured;
+            }
+
+            if (node.isMap()) {
+                for (final Map.Entry<Object, ? extends ConfigurationNode> child : node.childrenMap().entrySet()) {
+                    if (!this.isPlain(child.getKey()) || !this.isPlain(child.getValue())) {
+                        return DumperOptions.FlowStyle.BLOCK;
+                    }
+                }
+            } else {
+                for (final ConfigurationNode child : node.childrenList()) {
+                    if (!this.isPlain(child)) {
+                        return DumperOptions.FlowStyle.BLOCK;
+                    }
+                }
+            }
+            return DumperOptions.FlowStyle.FLOW;
+        }
+
+        private boolean isPlain(final ConfigurationNode node) {
+            return !node.isMap() && !node.isList() && this.isPlain(node.rawScalar());
+        }
+
+        private boolean isPlain(final @Nullable Object value) {
+            final Node represented = this.representer.represent(value);
+            return represented instanceof ScalarNode && ((ScalarNode) represented).isPlain();
+        }
+
+        /**
+         * Emit the events for a represented value.
+         *
+         * @param node the represented value
+         * @throws IOException if unable to write
+         */
+        void emit(final Node node) throws IOException {
+            switch (node.getNodeId()) {
+                case scalar:
+                    final ScalarNode scalar = (ScalarNode) node;
+                    final Tag detected = this.resolver.resolve(NodeId.scalar, scalar.getValue(), true);
+                    final Tag resolved = this.resolver.resolve(NodeId.scalar, scalar.getValue(), false);
+                    final ImplicitTuple implicit = new ImplicitTuple(node.getTag().equals(detected), node.getTag().equals(resolved));
+                    this.emitter.emit(new ScalarEvent(null, node.getTag().getValue(), implicit, scalar.getValue(), null, null,
+                        scalar.getScalarStyle()));
+                    break;
+                case sequence:
+                    final SequenceNode sequence = (SequenceNode) node;
+                    this.emitter.emit(new SequenceStartEvent(null, node.getTag().getValue(), node.getTag().equals(Tag.SEQ), null, null,
+                        sequence.getFlowStyle()));
+                    for (final Node item : sequence.getValue()) {
+                        this.emit(item);
+                    }
+                    this.emitter.emit(new SequenceEndEvent(null, null));
+                    break;
+                case mapping:
+                    final MappingNode mapping = (MappingNode) node;
+                    this.emitter.emit(new MappingStartEvent(null, node.getTag().getValue(), node.getTag().equals(Tag.MAP), null, null,
+                        mapping.getFlowStyle()));
+                    for (final NodeTuple entry : mapping.getValue()) {
+                        this.emit(entry.getKeyNode());
+                        this.emit(entry.getValueNode());
+                    }
+                    this.emitter.emit(new MappingEndEvent(null, null));
+                    break;
+                case anchor:
+                    this.emit(((AnchorNode) node).getRealNode());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown node type " + node.getNodeId());
+            }
+        }
+    }
+
+}
@@ -17,6 +17,8 @@
 package org.spongepowered.configurate.yaml;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.leangen.geantyref.TypeToken;
 import org.junit.jupiter.api.Test;
@@ -26,15 +28,19 @@ import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.loader.NodeEventReader;
+import org.spongepowered.configurate.loader.ParsingException;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -105,10 +111,92 @@ class YamlConfigurationLoaderTest {
         assertEquals(readLines(this.getClass().getResource("write-expected.yml")), Files.readAllLines(target, StandardCharsets.UTF_8));
     }
 
+    @Test
+    void testLoadAliasesAndMergeKeys() throws ConfigurateException {
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("base: &base {x: 1, y: 2}\n"
+                + "derived:\n"
+                + "  <<: *base\n"
+                + "  y: 3\n"
+                + "list: &list [a, b]\n"
+                + "copy: *list\n")))
+            .build();
+
+        final CommentedConfigurationNode node = loader.load();
+        assertEquals(1, node.node("derived", "x").raw());
+        assertEquals(3, node.node("derived", "y").raw());
+        assertEquals(Arrays.asList("a", "b"), node.node("copy").raw());
+
+        // aliased collections are copied
+        node.node("copy").appendListNode().raw("c");
+        assertEquals(Arrays.asList("a", "b"), node.node("list").raw());
+    }
+
+    @Test
+    void testLoadMergeKeyPrecedence() throws ConfigurateException {
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("base: &base {x: 1, y: 2, w: 3}\n"
+                + "derived:\n"
+                + "  y: 0\n"
+                + "  <<: [*base, {y: 6, z: 7, w: 8}]\n"
+                + "  x: 9\n")))
+            .build();
+
+        final CommentedConfigurationNode derived = loader.load().node("derived");
+        assertEquals(0, derived.node("y").raw());
+        assertEquals(9, derived.node("x").raw());
+        assertEquals(3, derived.node("w").raw());
+        assertEquals(7, derived.node("z").raw());
+    }
+
+    @Test
+    void testLoadRejectsMultipleDocuments() {
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("a: 1\n---\nb: 2\n")))
+            .build();
+
+        assertThrows(ParsingException.class, loader::load);
+    }
+
+    @Test
+    void testLoadRejectsRecursiveAliases() {
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("list: &list [a, *list]\n")))
+            .build();
+
+        assertThrows(ParsingException.class, loader::load);
+    }
+
     private static List<String> readLines(final URL source) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.openStream(), StandardCharsets.UTF_8))) {
             return reader.lines().collect(Collectors.toList());
         }
     }
 
+    @Test
+    void testReadEvents() throws IOException {
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("first: &shared hello\nsecond: *shared\nlist: [1, 2.5, true]\n")))
+            .build();
+
+        final CommentedConfigurationNode streamed = loader.createNode();
+        try (NodeEventReader reader = loader.readEvents()) {
+            reader.readValue(streamed);
+            assertNull(reader.next());
+        }
+        assertEquals(loader.load(), streamed);
+        assertEquals("hello", streamed.node("second").raw());
+    }
+
+    @Test
+    void testReadEventsRejectsCollectionAliases() throws IOException {
+        final YamlConfigurationLoader loader = YamlConfigurationLoader.builder()
+            .source(() -> new BufferedReader(new StringReader("first: &shared [a, b]\nsecond: *shared\n")))
+            .build();
+
+        try (NodeEventReader reader = loader.readEvents()) {
+            assertThrows(ParsingException.class, () -> reader.readValue(loader.createNode()));
+        }
+    }
+
 }